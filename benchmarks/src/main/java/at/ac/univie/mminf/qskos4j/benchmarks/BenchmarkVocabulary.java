@@ -0,0 +1,40 @@
+package at.ac.univie.mminf.qskos4j.benchmarks;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator.Defect;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes the synthetic SKOS vocabularies used as benchmark fixtures. A small share of the concepts is given each
+ * quality problem so that the issues have something to report.
+ */
+public class BenchmarkVocabulary {
+
+    public final static String BASE_IRI = SkosVocabularyGenerator.DEFAULT_BASE_IRI;
+
+    private final static double DEFECT_RATE = 0.01;
+
+    private int conceptCount;
+
+    public BenchmarkVocabulary(int conceptCount) {
+        this.conceptCount = conceptCount;
+    }
+
+    public File writeToTempFile() throws IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(conceptCount);
+        generator.setHierarchyDepth(5);
+        generator.setSchemeCount(Math.max(1, conceptCount / 10000));
+        for (Defect defect : Defect.values()) {
+            generator.setDefectRate(defect, DEFECT_RATE);
+        }
+
+        File file = File.createTempFile("qskos-benchmark-" +conceptCount+ "-", ".nt");
+        file.deleteOnExit();
+        generator.write(file);
+        return file;
+    }
+
+}
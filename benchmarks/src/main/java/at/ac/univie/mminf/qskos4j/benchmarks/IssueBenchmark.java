@@ -0,0 +1,81 @@
+package at.ac.univie.mminf.qskos4j.benchmarks;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.IssueScheduler;
+import at.ac.univie.mminf.qskos4j.result.Result;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation time of each issue registered in {@link QSkos} on its own. The issues it depends on and the
+ * state it shares with other issues (e.g., the label index) are computed once per trial and are not part of the
+ * measurement, only the result of the issue itself is discarded before each invocation. Broken links and missing
+ * in-links are left out by default because they access the network; add their ids to the issueId parameter to
+ * measure them anyway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IssueBenchmark {
+
+    @Param({"1000", "10000"})
+    public int conceptCount;
+
+    @Param({"c", "ac", "clb", "sr", "ar", "cs", "cc", "huc", "el", "oilt", "ilc", "uc", "ncl", "ml", "ol", "oc",
+        "dcc", "chr", "var", "strc", "otc", "tchbc", "hr", "mri", "rrc", "anr", "ucil", "mol", "usr", "urc", "husv",
+        "rc", "mc", "ipl", "dlv"})
+    public String issueId;
+
+    private Repository repository;
+    private RepositoryConnection repCon;
+    private QSkos qSkos;
+    private Issue issue;
+
+    @Setup(Level.Trial)
+    public void loadVocabulary() throws RDF4JException, IOException {
+        File vocabulary = new BenchmarkVocabulary(conceptCount).writeToTempFile();
+        repository = new RepositoryBuilder().setUpFromFile(
+            vocabulary,
+            BenchmarkVocabulary.BASE_IRI,
+            RDFFormat.NTRIPLES);
+        repCon = repository.getConnection();
+
+        qSkos = new QSkos();
+        qSkos.setAuthResourceIdentifier(BenchmarkVocabulary.BASE_IRI);
+        issue = qSkos.getIssues(issueId).iterator().next();
+        qSkos.setRepositoryConnection(repCon);
+
+        new IssueScheduler(1).evaluate(issue.getIssueDescriptor().getDependentIssues());
+        // fills the shared state
+        issue.getResult();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetIssue() {
+        issue.reset();
+    }
+
+    @Benchmark
+    public Result<?> evaluateIssue() throws RDF4JException {
+        return issue.getResult();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeRepository() throws RDF4JException {
+        repCon.close();
+        repository.shutDown();
+    }
+
+}
@@ -0,0 +1,49 @@
+package at.ac.univie.mminf.qskos4j.benchmarks;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a vocabulary into the evaluation repository, including the SKOS ontology and RDFS inferencing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepositoryBuilderBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int conceptCount;
+
+    private File vocabulary;
+    private Repository repository;
+
+    @Setup(Level.Trial)
+    public void writeVocabulary() throws IOException {
+        vocabulary = new BenchmarkVocabulary(conceptCount).writeToTempFile();
+    }
+
+    @Benchmark
+    public Repository setUpFromFile() throws RDF4JException, IOException {
+        repository = new RepositoryBuilder().setUpFromFile(vocabulary, BenchmarkVocabulary.BASE_IRI, RDFFormat.NTRIPLES);
+        return repository;
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutDownRepository() throws RDF4JException {
+        if (repository != null) {
+            repository.shutDown();
+            repository = null;
+        }
+    }
+
+}
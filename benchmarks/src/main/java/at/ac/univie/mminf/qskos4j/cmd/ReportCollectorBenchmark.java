@@ -0,0 +1,84 @@
+package at.ac.univie.mminf.qskos4j.cmd;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.benchmarks.BenchmarkVocabulary;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.IssueScheduler;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing the text report (and optionally the DQV report) of already evaluated issues. This benchmark lives
+ * in the cmd package because {@link ReportCollector} is not part of the public API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportCollectorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int conceptCount;
+
+    @Param({"false", "true"})
+    public boolean inDQV;
+
+    private Repository repository;
+    private RepositoryConnection repCon;
+    private Collection<Issue> issues;
+    private File reportFile;
+
+    @Setup(Level.Trial)
+    public void evaluateIssues() throws RDF4JException, IOException {
+        File vocabulary = new BenchmarkVocabulary(conceptCount).writeToTempFile();
+        repository = new RepositoryBuilder().setUpFromFile(vocabulary, BenchmarkVocabulary.BASE_IRI, RDFFormat.NTRIPLES);
+        repCon = repository.getConnection();
+
+        QSkos qSkos = new QSkos();
+        qSkos.setAuthResourceIdentifier(BenchmarkVocabulary.BASE_IRI);
+        qSkos.setRepositoryConnection(repCon);
+
+        issues = new ArrayList<>();
+        for (Issue issue : qSkos.getAllIssues()) {
+            String issueId = issue.getIssueDescriptor().getId();
+            if (!issueId.equals("bl") && !issueId.equals("mil")) {
+                issues.add(issue);
+            }
+        }
+        new IssueScheduler(Runtime.getRuntime().availableProcessors()).evaluate(issues);
+
+        reportFile = File.createTempFile("qskos-benchmark-report-", ".txt");
+        reportFile.deleteOnExit();
+    }
+
+    @Benchmark
+    public void outputIssuesReport() throws RDF4JException, IOException {
+        new ReportCollector(
+            issues,
+            reportFile.getAbsolutePath(),
+            Collections.singleton("benchmark vocabulary"),
+            true,
+            inDQV,
+            BenchmarkVocabulary.BASE_IRI).outputIssuesReport(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeRepository() throws RDF4JException {
+        repCon.close();
+        repository.shutDown();
+    }
+
+}
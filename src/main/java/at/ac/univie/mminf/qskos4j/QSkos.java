@@ -30,8 +30,13 @@ import at.ac.univie.mminf.qskos4j.issues.skosintegrity.HierarchicalRedundancy;
 import at.ac.univie.mminf.qskos4j.issues.skosintegrity.MappingClashes;
 import at.ac.univie.mminf.qskos4j.issues.skosintegrity.RelationClashes;
 import at.ac.univie.mminf.qskos4j.issues.skosintegrity.UndefinedSkosResources;
+import at.ac.univie.mminf.qskos4j.metrics.IssueMetrics;
+import at.ac.univie.mminf.qskos4j.metrics.MeteredRepository;
 import at.ac.univie.mminf.qskos4j.progress.IProgressMonitor;
 import at.ac.univie.mminf.qskos4j.progress.StubProgressMonitor;
+import at.ac.univie.mminf.qskos4j.result.ResultCache;
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatusCache;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.repository.Repository;
@@ -65,15 +70,30 @@ public class QSkos {
     private MissingInLinks missingInLinks;
     private ConceptSchemes conceptSchemes;
     private HttpURIs httpURIs;
+    private ResourceLabelsCollector resourceLabelsCollector;
+    private RepositoryConnection repCon;
+    private ResultCache resultCache;
+    private RepositoryBuilder repositoryBuilder;
 
     private List<Issue> registeredIssues = new ArrayList<Issue>();
 
     public QSkos(File file) throws RDF4JException, IOException {
+        this(file, new RepositoryBuilder());
+    }
+
+    /**
+     * Evaluates the given file using a repository created by the passed builder, e.g., one set up to use a disk-based
+     * store by {@link RepositoryBuilder#setStoreType(RepositoryBuilder.StoreType)}.
+     *
+     * @param file the vocabulary to evaluate
+     * @param repositoryBuilder builder that creates the evaluation repository
+     */
+    public QSkos(File file, RepositoryBuilder repositoryBuilder) throws RDF4JException, IOException {
         this();
 
-        RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
         Repository repo = repositoryBuilder.setUpFromFile(file, null, null);
         setRepositoryConnection(repo.getConnection());
+        setRepositoryBuilder(repositoryBuilder);
     }
 
     public QSkos() {
@@ -105,14 +125,15 @@ public class QSkos {
 
     private void addAnalyticalIssues() {
         HierarchyGraphBuilder hierarchyGraphBuilder = new HierarchyGraphBuilder();
+        resourceLabelsCollector = new ResourceLabelsCollector();
 
         registeredIssues.add(new EmptyLabeledResources());
         registeredIssues.add(new OmittedOrInvalidLanguageTags());
         registeredIssues.add(new IncompleteLanguageCoverage(languageCoverage));
         registeredIssues.add(new UndocumentedConcepts(authoritativeConcepts));
         registeredIssues.add(new NoCommonLanguages(languageCoverage));
-        registeredIssues.add(new MissingLabels(authoritativeConcepts, conceptSchemes));
-        registeredIssues.add(new OverlappingLabels(involvedConcepts));
+        registeredIssues.add(new MissingLabels(authoritativeConcepts, conceptSchemes, resourceLabelsCollector));
+        registeredIssues.add(new OverlappingLabels(involvedConcepts, resourceLabelsCollector));
         registeredIssues.add(new OrphanConcepts(involvedConcepts));
         registeredIssues.add(new DisconnectedConceptClusters(involvedConcepts));
         registeredIssues.add(new HierarchicalCycles(hierarchyGraphBuilder));
@@ -135,8 +156,6 @@ public class QSkos {
     }
 
     private void addSkosIntegrityIssues() {
-        ResourceLabelsCollector resourceLabelsCollector = new ResourceLabelsCollector();
-
         registeredIssues.add(new InconsistentPrefLabels(resourceLabelsCollector));
         registeredIssues.add(new DisjointLabelsViolations(resourceLabelsCollector));
     }
@@ -155,6 +174,17 @@ public class QSkos {
         return registeredIssues;
     }
 
+    /**
+     * @return the metrics of all issues, see {@link Issue#getMetrics()}
+     */
+    public List<IssueMetrics> getIssueMetrics() {
+        List<IssueMetrics> issueMetrics = new ArrayList<>();
+        for (Issue issue : registeredIssues) {
+            issueMetrics.add(issue.getMetrics());
+        }
+        return issueMetrics;
+    }
+
     public Collection<Issue> getIssues(String commaSeparatedIssueIDs)
     {
         if (commaSeparatedIssueIDs == null || commaSeparatedIssueIDs.isEmpty()) {
@@ -189,19 +219,65 @@ public class QSkos {
         return supportedIssueIds;
     }
 
+    /**
+     * @param repCon connection to the repository containing the vocabulary. Queries on it are counted in the metrics
+     * of the issues, see {@link #getIssueMetrics()}.
+     */
     public void setRepositoryConnection(RepositoryConnection repCon) {
+        this.repCon = MeteredRepository.wrap(repCon);
+        if (resultCache != null) {
+            resultCache.invalidateVocabularyHash();
+        }
+        for (Issue issue : registeredIssues) {
+            issue.setRepositoryConnection(this.repCon);
+        }
+    }
+
+    /**
+     * @param repositoryBuilder the builder that has set up the evaluation repository, it updates the entailments the
+     * repository's inferencer does not maintain (e.g., with {@link RepositoryBuilder.Inferencing#SKOS}) when a
+     * changeset is applied
+     */
+    public void setRepositoryBuilder(RepositoryBuilder repositoryBuilder) {
+        this.repositoryBuilder = repositoryBuilder;
+    }
+
+    /**
+     * Applies the changeset to the evaluation repository and brings the results that have already been computed up
+     * to date. Issues supporting incremental evaluation (e.g., Undocumented Concepts, Missing Labels, Overlapping
+     * Labels and the issues based on the hierarchy graph) only re-evaluate the resources affected by the change, all
+     * other issues are evaluated from scratch on next access. Changes to the schema (e.g., rdfs:subPropertyOf
+     * statements) discard all results. Entailments not maintained by the repository's inferencer are updated by the
+     * {@link #setRepositoryBuilder(RepositoryBuilder) repository builder}.
+     *
+     * @param changeset the statements added and removed since the last evaluation
+     */
+    public void applyChangeset(Changeset changeset) throws RDF4JException {
+        changeset.applyTo(repCon);
+        if (repositoryBuilder != null) {
+            repositoryBuilder.updateEntailments();
+        }
+        if (resultCache != null) {
+            resultCache.invalidateVocabularyHash();
+        }
+
+        if (changeset.changesSchema()) {
+            setRepositoryConnection(repCon);
+            return;
+        }
         for (Issue issue : registeredIssues) {
-            issue.setRepositoryConnection(repCon);
+            issue.update(changeset);
         }
     }
 
 	/**
-	 * Set an IProgressMonitor that is notified on changes in the evaluation progress for every managed issues.
+	 * Set an IProgressMonitor that is notified on changes in the evaluation progress for every managed issues. Each
+	 * issue reports to the monitor's {@link IProgressMonitor#forTask(String) task} named by the issue's id.
 	 * @param progressMonitor monitor instance to be notified
 	 */
 	public void setProgressMonitor(IProgressMonitor progressMonitor) {
         for (Issue issue : registeredIssues) {
-            issue.setProgressMonitor(progressMonitor);
+            issue.setProgressMonitor(progressMonitor.forTask(issue.getIssueDescriptor().getId()));
         }
 	}
 	
@@ -217,6 +293,49 @@ public class QSkos {
         brokenLinks.setExtAccessDelayMillis(delayMillis);
 	}
 	
+	/**
+	 * Sets the number of links that are dereferenced at the same time when checking for broken links. Requests
+	 * to the same host are always sent one after another, separated by the delay set in
+	 * {@link #setExtAccessDelayMillis(int)}.
+	 *
+	 * @param maxConcurrentRequests maximum number of concurrent HTTP requests
+	 */
+	public void setMaxConcurrentLinkChecks(int maxConcurrentRequests) {
+		brokenLinks.setMaxConcurrentRequests(maxConcurrentRequests);
+	}
+
+	/**
+	 * Sets the number of concepts whose in-links are looked up with a single query to each SPARQL endpoint.
+	 *
+	 * @param queryBatchSize number of concepts per query
+	 */
+	public void setInLinkQueryBatchSize(int queryBatchSize) {
+		missingInLinks.setQueryBatchSize(queryBatchSize);
+	}
+
+	/**
+	 * Sets a cache that keeps the results of broken link checking across evaluations. Links that have been checked
+	 * within the cache's time-to-live are not dereferenced again.
+	 *
+	 * @param linkStatusCache the cache to use, null to disable caching
+	 */
+	public void setLinkStatusCache(LinkStatusCache linkStatusCache) {
+		brokenLinks.setLinkStatusCache(linkStatusCache);
+	}
+
+	/**
+	 * Sets a cache that keeps the results of all issues across evaluations. An issue is only evaluated if the cache
+	 * contains no result for the same vocabulary statements and issue settings.
+	 *
+	 * @param resultCache the cache to use, null to disable caching
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+		for (Issue issue : registeredIssues) {
+			issue.setResultCache(resultCache);
+		}
+	}
+
 	/**
 	 * Some methods in this class support investigating only a subset of the vocabulary and extrapolate the results
 	 * to shorten evaluation time. Works for, e.g., finding broken links. 
@@ -0,0 +1,501 @@
+package at.ac.univie.mminf.qskos4j.cmd;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.UnknownIssueIdException;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.IssueScheduler;
+import at.ac.univie.mminf.qskos4j.metrics.IssueMetrics;
+import at.ac.univie.mminf.qskos4j.metrics.MetricsExporter;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Keeps vocabularies loaded in their evaluation repositories and evaluates
+ * them on request, so that repeated evaluations don't pay for parsing and
+ * inference again. Responses are JSON Lines, using the records of the JSONL
+ * report format:
+ * <ul>
+ * <li>GET /issues lists the supported issues</li>
+ * <li>GET /vocabularies lists the loaded vocabularies</li>
+ * <li>POST /vocabularies/{id}/evaluate?issues={ids} evaluates the
+ * comma-separated issues and returns their summaries</li>
+ * <li>GET /vocabularies/{id}/results returns the summaries of all evaluated
+ * issues</li>
+ * <li>GET /vocabularies/{id}/results/{issueId} returns the findings and the
+ * summary of an evaluated issue</li>
+ * <li>POST /vocabularies/{id}/reload parses the vocabulary files again</li>
+ * <li>GET /metrics returns the metrics of the issues of all vocabularies in
+ * the Prometheus text format</li>
+ * </ul>
+ * Errors are answered with a single record of type "error".
+ */
+public class EvaluationServer {
+
+	public final static int DEFAULT_PORT = 8080;
+
+	/**
+	 * The server has no authentication, by default it only accepts
+	 * connections from the local host
+	 */
+	public final static String DEFAULT_HOST = "127.0.0.1";
+
+	private final static String CONTENT_TYPE = "application/x-ndjson; charset=utf-8";
+	private final static String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/**
+	 * Creates the evaluation repository for the files of a vocabulary, e.g.,
+	 * using a {@link at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder}
+	 */
+	public interface RepositoryFactory {
+		Repository createRepository(List<File> files) throws RDF4JException,
+				IOException;
+	}
+
+	private final Logger logger = LoggerFactory
+			.getLogger(EvaluationServer.class);
+
+	private final RepositoryFactory repositoryFactory;
+	private final Map<String, Vocabulary> vocabularies = new LinkedHashMap<>();
+	private Consumer<QSkos> qSkosSetup = qSkos -> {
+	};
+	private int evaluationThreads = 1;
+	private int requestThreads = 4;
+	private boolean registerMBeans;
+	private HttpServer httpServer;
+	private ExecutorService requestExecutor;
+
+	public EvaluationServer(final RepositoryFactory repositoryFactory) {
+		this.repositoryFactory = repositoryFactory;
+	}
+
+	/**
+	 * @param qSkosSetup
+	 *            applies settings (e.g., the authoritative resource
+	 *            identifier) to every newly loaded vocabulary
+	 */
+	public void setQSkosSetup(final Consumer<QSkos> qSkosSetup) {
+		this.qSkosSetup = qSkosSetup;
+	}
+
+	/**
+	 * @param evaluationThreads
+	 *            number of issues of a vocabulary that are evaluated in
+	 *            parallel, see {@link IssueScheduler}
+	 */
+	public void setEvaluationThreads(final int evaluationThreads) {
+		this.evaluationThreads = evaluationThreads;
+	}
+
+	/**
+	 * @param requestThreads
+	 *            number of requests that are handled at the same time
+	 */
+	public void setRequestThreads(final int requestThreads) {
+		this.requestThreads = requestThreads;
+	}
+
+	/**
+	 * @param registerMBeans
+	 *            if true, the metrics of the issues of every vocabulary are
+	 *            registered as MBeans, see
+	 *            {@link MetricsExporter#registerMBeans(String, Collection)}
+	 */
+	public void setRegisterMBeans(final boolean registerMBeans) {
+		this.registerMBeans = registerMBeans;
+	}
+
+	/**
+	 * Loads a vocabulary, must be called before the server is started.
+	 *
+	 * @param id
+	 *            identifies the vocabulary in request paths
+	 * @param files
+	 *            the files the vocabulary is read from
+	 */
+	public void addVocabulary(final String id, final List<File> files)
+			throws RDF4JException, IOException {
+		if (this.httpServer != null) {
+			throw new IllegalStateException("Server is already running");
+		}
+
+		final Vocabulary vocabulary = new Vocabulary(id, files);
+		vocabulary.load();
+		this.vocabularies.put(id, vocabulary);
+	}
+
+	/**
+	 * Starts the server on the loopback interface.
+	 *
+	 * @param port
+	 *            port to listen on, 0 to use any free port
+	 */
+	public void start(final int port) throws IOException {
+		start(DEFAULT_HOST, port);
+	}
+
+	/**
+	 * @param host
+	 *            host name or address of the interface to listen on, e.g.,
+	 *            "0.0.0.0" for all interfaces
+	 * @param port
+	 *            port to listen on, 0 to use any free port
+	 */
+	public void start(final String host, final int port) throws IOException {
+		this.httpServer = HttpServer.create(new InetSocketAddress(host, port),
+				0);
+		this.requestExecutor = Executors.newFixedThreadPool(this.requestThreads);
+		this.httpServer.setExecutor(this.requestExecutor);
+		this.httpServer.createContext("/", this::handle);
+		this.httpServer.start();
+
+		logger.info("Evaluation server listening on " + host + ":"
+				+ getPort());
+	}
+
+	public InetSocketAddress getAddress() {
+		return this.httpServer.getAddress();
+	}
+
+	public int getPort() {
+		return getAddress().getPort();
+	}
+
+	/**
+	 * Stops the server and closes the evaluation repositories.
+	 */
+	public void stop() {
+		if (this.httpServer != null) {
+			this.httpServer.stop(0);
+			this.requestExecutor.shutdown();
+		}
+		for (final Vocabulary vocabulary : this.vocabularies.values()) {
+			vocabulary.close();
+		}
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			route(exchange, exchange.getRequestURI().getPath().split("/"));
+		} catch (final RequestException e) {
+			respondWithError(exchange, e.statusCode, e.getMessage());
+		} catch (final UnknownIssueIdException e) {
+			respondWithError(exchange, 404, e.getMessage());
+		} catch (final RuntimeException e) {
+			logger.error("Error handling " + exchange.getRequestURI(), e);
+			respondWithError(exchange, 500, e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void route(final HttpExchange exchange, final String[] path)
+			throws IOException, RequestException {
+		// path[0] is the empty string before the leading slash
+		if (path.length == 2 && path[1].equals("issues")) {
+			assertMethod(exchange, "GET");
+			writeIssueList(exchange);
+		} else if (path.length == 2 && path[1].equals("metrics")) {
+			assertMethod(exchange, "GET");
+			writeMetrics(exchange);
+		} else if (path.length == 2 && path[1].equals("vocabularies")) {
+			assertMethod(exchange, "GET");
+			writeVocabularyList(exchange);
+		} else if (path.length >= 4 && path[1].equals("vocabularies")) {
+			routeVocabularyRequest(exchange, findVocabulary(path[2]), path);
+		} else {
+			throw new RequestException(404, "Unknown resource "
+					+ exchange.getRequestURI().getPath());
+		}
+	}
+
+	private void routeVocabularyRequest(final HttpExchange exchange,
+			final Vocabulary vocabulary, final String[] path)
+			throws IOException, RequestException {
+		final String action = path[3];
+
+		if (path.length == 4 && action.equals("evaluate")) {
+			assertMethod(exchange, "POST");
+			final String issueIds = getQueryParameter(exchange, "issues");
+			if (issueIds == null || issueIds.isEmpty()) {
+				throw new RequestException(400,
+						"Parameter 'issues' with comma-separated issue IDs is required");
+			}
+			writeSummaries(exchange, vocabulary.evaluate(issueIds));
+		} else if (path.length == 4 && action.equals("results")) {
+			assertMethod(exchange, "GET");
+			writeSummaries(exchange, vocabulary.getEvaluatedIssues());
+		} else if (path.length == 5 && action.equals("results")) {
+			assertMethod(exchange, "GET");
+			writeResult(exchange, vocabulary.getEvaluatedIssue(path[4]));
+		} else if (path.length == 4 && action.equals("reload")) {
+			assertMethod(exchange, "POST");
+			vocabulary.load();
+			final JsonReportWriter jsonWriter = startResponse(exchange, 200);
+			writeVocabulary(vocabulary, jsonWriter);
+			jsonWriter.close();
+		} else {
+			throw new RequestException(404, "Unknown resource "
+					+ exchange.getRequestURI().getPath());
+		}
+	}
+
+	private Vocabulary findVocabulary(final String id)
+			throws RequestException {
+		final Vocabulary vocabulary = this.vocabularies.get(id);
+		if (vocabulary == null) {
+			throw new RequestException(404, "Unknown vocabulary '" + id + "'");
+		}
+		return vocabulary;
+	}
+
+	private void assertMethod(final HttpExchange exchange, final String method)
+			throws RequestException {
+		if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+			throw new RequestException(405, "Use " + method + " for "
+					+ exchange.getRequestURI().getPath());
+		}
+	}
+
+	private String getQueryParameter(final HttpExchange exchange,
+			final String name) throws IOException {
+		final String query = exchange.getRequestURI().getRawQuery();
+		if (query == null) {
+			return null;
+		}
+
+		for (final String parameter : query.split("&")) {
+			final String[] nameAndValue = parameter.split("=", 2);
+			if (nameAndValue[0].equals(name)) {
+				return nameAndValue.length == 1 ? "" : URLDecoder.decode(
+						nameAndValue[1], StandardCharsets.UTF_8.name());
+			}
+		}
+		return null;
+	}
+
+	private void writeIssueList(final HttpExchange exchange)
+			throws IOException {
+		final JsonReportWriter jsonWriter = startResponse(exchange, 200);
+		for (final Issue issue : new QSkos().getAllIssues()) {
+			final IssueDescriptor descriptor = issue.getIssueDescriptor();
+			jsonWriter.startRecord("issue").field("id", descriptor.getId())
+					.field("name", descriptor.getName())
+					.field("description", descriptor.getDescription())
+					.field("issueType", descriptor.getType()).endRecord();
+		}
+		jsonWriter.close();
+	}
+
+	private void writeVocabularyList(final HttpExchange exchange)
+			throws IOException {
+		final JsonReportWriter jsonWriter = startResponse(exchange, 200);
+		for (final Vocabulary vocabulary : this.vocabularies.values()) {
+			writeVocabulary(vocabulary, jsonWriter);
+		}
+		jsonWriter.close();
+	}
+
+	private void writeMetrics(final HttpExchange exchange) throws IOException {
+		final Map<String, Collection<IssueMetrics>> metricsByVocabulary = new LinkedHashMap<>();
+		for (final Vocabulary vocabulary : this.vocabularies.values()) {
+			metricsByVocabulary.put(vocabulary.id,
+					vocabulary.qSkos.getIssueMetrics());
+		}
+
+		exchange.getResponseHeaders().set("Content-Type",
+				PROMETHEUS_CONTENT_TYPE);
+		exchange.sendResponseHeaders(200, 0);
+		final Writer writer = new OutputStreamWriter(
+				exchange.getResponseBody(), StandardCharsets.UTF_8);
+		MetricsExporter.writePrometheusText(writer, metricsByVocabulary);
+		writer.close();
+	}
+
+	private void writeVocabulary(final Vocabulary vocabulary,
+			final JsonReportWriter jsonWriter) throws IOException {
+		jsonWriter.startRecord("vocabulary").field("id", vocabulary.id)
+				.field("files", vocabulary.files)
+				.field("loaded", formatDate(vocabulary.loaded)).endRecord();
+	}
+
+	private void writeSummaries(final HttpExchange exchange,
+			final Collection<Issue> issues) throws IOException {
+		final JsonReportWriter jsonWriter = startResponse(exchange, 200);
+		for (final Issue issue : issues) {
+			jsonWriter.setIssueId(issue.getIssueDescriptor().getId());
+			ReportCollector.writeJsonSummary(issue, jsonWriter);
+		}
+		jsonWriter.close();
+	}
+
+	private void writeResult(final HttpExchange exchange, final Issue issue)
+			throws IOException {
+		final JsonReportWriter jsonWriter = startResponse(exchange, 200);
+		jsonWriter.setIssueId(issue.getIssueDescriptor().getId());
+		issue.getResult().generateJsonReport(jsonWriter);
+		ReportCollector.writeJsonSummary(issue, jsonWriter);
+		jsonWriter.close();
+	}
+
+	private void respondWithError(final HttpExchange exchange,
+			final int statusCode, final String message) throws IOException {
+		final JsonReportWriter jsonWriter = startResponse(exchange,
+				statusCode);
+		jsonWriter.startRecord("error").field("status", statusCode)
+				.field("message", message).endRecord();
+		jsonWriter.close();
+	}
+
+	/**
+	 * Responses are sent chunked, so that findings are passed on while they
+	 * are written
+	 */
+	private JsonReportWriter startResponse(final HttpExchange exchange,
+			final int statusCode) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+		exchange.sendResponseHeaders(statusCode, 0);
+		return new JsonReportWriter(new BufferedWriter(new OutputStreamWriter(
+				exchange.getResponseBody(), StandardCharsets.UTF_8)));
+	}
+
+	private String formatDate(final Date date) {
+		return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(date);
+	}
+
+	/**
+	 * A vocabulary loaded into its evaluation repository. Evaluations of the
+	 * same vocabulary run one after another, results that have already been
+	 * computed can be read at any time. A reload builds the new repository
+	 * while the old one is still in use and then replaces it.
+	 */
+	private class Vocabulary {
+
+		private final String id;
+		private final List<File> files;
+		private final Object evaluationLock = new Object();
+		private volatile QSkos qSkos;
+		private volatile Date loaded;
+		private Repository repository;
+		private RepositoryConnection repCon;
+
+		Vocabulary(final String id, final List<File> files) {
+			this.id = id;
+			this.files = files;
+		}
+
+		synchronized void load() throws RDF4JException, IOException {
+			final Repository newRepository = repositoryFactory
+					.createRepository(this.files);
+			final RepositoryConnection newRepCon = newRepository
+					.getConnection();
+			final QSkos newQSkos = new QSkos();
+			newQSkos.setRepositoryConnection(newRepCon);
+			qSkosSetup.accept(newQSkos);
+
+			synchronized (this.evaluationLock) {
+				close();
+				this.repository = newRepository;
+				this.repCon = newRepCon;
+				this.qSkos = newQSkos;
+				this.loaded = new Date();
+			}
+			if (registerMBeans) {
+				MetricsExporter.registerMBeans(this.id,
+						newQSkos.getIssueMetrics());
+			}
+			logger.info("Loaded vocabulary '" + this.id + "'");
+		}
+
+		Collection<Issue> evaluate(final String issueIds)
+				throws RDF4JException {
+			synchronized (this.evaluationLock) {
+				final Collection<Issue> issues = this.qSkos
+						.getIssues(issueIds);
+				new IssueScheduler(evaluationThreads).evaluate(issues);
+				return issues;
+			}
+		}
+
+		Collection<Issue> getEvaluatedIssues() {
+			final List<Issue> evaluatedIssues = new ArrayList<>();
+			for (final Issue issue : this.qSkos.getAllIssues()) {
+				if (issue.getEvaluationMillis() != -1) {
+					evaluatedIssues.add(issue);
+				}
+			}
+			return evaluatedIssues;
+		}
+
+		Issue getEvaluatedIssue(final String issueId) throws RequestException {
+			final Issue issue = this.qSkos.getIssues(issueId).iterator()
+					.next();
+			if (issue.getEvaluationMillis() == -1) {
+				throw new RequestException(404, "Issue '" + issueId
+						+ "' has not been evaluated for vocabulary '"
+						+ this.id + "'");
+			}
+			return issue;
+		}
+
+		void close() {
+			if (this.repository == null) {
+				return;
+			}
+			if (registerMBeans) {
+				MetricsExporter.unregisterMBeans(this.id);
+			}
+
+			try {
+				this.repCon.close();
+				this.repository.shutDown();
+			} catch (final RDF4JException e) {
+				logger.warn("Could not close repository of vocabulary '"
+						+ this.id + "': " + e.getMessage());
+			}
+			// a reload must not leave the data of the old native store behind
+			RepositoryBuilder.deleteDataDir(this.repository);
+		}
+
+	}
+
+	private static class RequestException extends Exception {
+
+		private final int statusCode;
+
+		RequestException(final int statusCode, final String message) {
+			super(message);
+			this.statusCode = statusCode;
+		}
+
+	}
+
+}
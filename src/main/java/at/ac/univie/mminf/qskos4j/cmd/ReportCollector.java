@@ -10,6 +10,7 @@ import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.IRI;
@@ -30,6 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.IssueScheduler;
+import at.ac.univie.mminf.qskos4j.metrics.IssueMetrics;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.ReportWriter;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 
@@ -43,6 +48,11 @@ class ReportCollector {
 	private Collection<String> vocabFileNames;
 	private boolean includeSummary;
 	private boolean inDQV;
+	private int evaluationThreads;
+	private int reportBufferSize = ReportWriter.DEFAULT_BUFFER_SIZE;
+	private int reportFlushInterval = ReportWriter.DEFAULT_FLUSH_INTERVAL;
+	private Result.ReportFormat reportFormat = Result.ReportFormat.TXT;
+	private boolean includeTiming;
 
 	private String computedOn;
 
@@ -51,20 +61,64 @@ class ReportCollector {
 			final Collection<String> vocabFileNames,
 			final boolean includeSummary, final boolean inDQV,
 			final String analizedDataset) {
+		this(issues, reportFileName, vocabFileNames, includeSummary, inDQV,
+				analizedDataset, 1);
+	}
+
+	public ReportCollector(final Collection<Issue> issues,
+			final String reportFileName,
+			final Collection<String> vocabFileNames,
+			final boolean includeSummary, final boolean inDQV,
+			final String analizedDataset, final int evaluationThreads) {
 		this.issues = issues;
 		this.reportFileName = reportFileName;
 		this.includeSummary = includeSummary;
 		this.vocabFileNames = vocabFileNames;
 		this.inDQV = inDQV;
 		this.computedOn = analizedDataset;
+		this.evaluationThreads = evaluationThreads;
+	}
+
+	/**
+	 * @param reportBufferSize
+	 *            size of the report file buffer in characters
+	 */
+	void setReportBufferSize(final int reportBufferSize) {
+		this.reportBufferSize = reportBufferSize;
+	}
+
+	/**
+	 * @param reportFlushInterval
+	 *            number of report entries after which the report file is
+	 *            flushed, 0 to flush only when the buffer is full
+	 */
+	void setReportFlushInterval(final int reportFlushInterval) {
+		this.reportFlushInterval = reportFlushInterval;
+	}
+
+	/**
+	 * @param reportFormat
+	 *            format of the report file, either TXT or JSONL
+	 */
+	void setReportFormat(final Result.ReportFormat reportFormat) {
+		this.reportFormat = reportFormat;
+	}
+
+	/**
+	 * @param includeTiming
+	 *            if true, the report ends with the resources each issue used
+	 *            for its evaluation, see {@link Issue#getMetrics()}
+	 */
+	void setIncludeTiming(final boolean includeTiming) {
+		this.includeTiming = includeTiming;
 	}
 
 	void outputIssuesReport(final boolean shouldWriteGraphs)
 			throws IOException, RDF4JException {
 
 		final File reportFile = createReportFile();
-		final BufferedWriter reportWriter = new BufferedWriter(new FileWriter(
-				reportFile));
+		final BufferedWriter reportWriter = new ReportWriter(new FileWriter(
+				reportFile), this.reportBufferSize, this.reportFlushInterval);
 
 		processIssues();
 
@@ -73,8 +127,15 @@ class ReportCollector {
 			reportSummary = createReportSummary();
 			this.logger.info("\n" + reportSummary);
 		}
-		writeReportHeader(reportWriter, reportFile, reportSummary);
-		writeReportBody(reportWriter, reportFile, shouldWriteGraphs);
+		if (this.reportFormat == Result.ReportFormat.JSONL) {
+			writeJsonReport(reportWriter, reportFile, shouldWriteGraphs);
+		} else {
+			writeReportHeader(reportWriter, reportFile, reportSummary);
+			writeReportBody(reportWriter, reportFile, shouldWriteGraphs);
+			if (this.includeTiming) {
+				writeTimingSection(reportWriter);
+			}
+		}
 
 		if (this.inDQV) {
 			final File DQVFile = createDQVFile();
@@ -112,18 +173,7 @@ class ReportCollector {
 	}
 
 	private void processIssues() throws RDF4JException {
-		int issueNumber = 0;
-		final Iterator<Issue> issueIt = this.issues.iterator();
-		while (issueIt.hasNext()) {
-			final Issue issue = issueIt.next();
-			issueNumber++;
-
-			this.logger.info("Processing issue " + issueNumber + " of "
-					+ this.issues.size() + " ("
-					+ issue.getIssueDescriptor().getName() + ")");
-			issue.getResult();
-
-		}
+		new IssueScheduler(this.evaluationThreads).evaluate(this.issues);
 
 		this.logger.info("Report complete!");
 	}
@@ -180,6 +230,112 @@ class ReportCollector {
 		}
 	}
 
+	private void writeJsonReport(final BufferedWriter reportWriter,
+			final File reportFile, final boolean shouldWriteGraphs)
+			throws IOException, RDF4JException {
+		final JsonReportWriter jsonWriter = new JsonReportWriter(reportWriter,
+				this.reportFlushInterval);
+		final String issuedDate = new SimpleDateFormat(
+				"yyyy-MM-dd'T'HH:mm:ssZ").format(new Date());
+		jsonWriter.startRecord("report")
+				.field("vocabularies", this.vocabFileNames)
+				.field("generated", issuedDate).endRecord();
+
+		for (final Issue issue : this.issues) {
+			jsonWriter.setIssueId(issue.getIssueDescriptor().getId());
+			issue.getResult().generateJsonReport(jsonWriter);
+			writeJsonSummary(issue, jsonWriter);
+
+			if (shouldWriteGraphs) {
+				writeGraphFiles(issue, getDotFilesPath(reportFile));
+			}
+		}
+
+		if (this.includeTiming) {
+			for (final Issue issue : getIssuesWithDependencies()) {
+				writeJsonTiming(issue, jsonWriter);
+			}
+		}
+
+		jsonWriter.flush();
+	}
+
+	private void writeJsonTiming(final Issue issue,
+			final JsonReportWriter jsonWriter) throws IOException {
+		final IssueMetrics metrics = issue.getMetrics();
+		jsonWriter.setIssueId(issue.getIssueDescriptor().getId());
+		jsonWriter.startRecord("timing")
+				.field("wallMillis", metrics.getWallNanos() / 1000000)
+				.field("cpuMillis", metrics.getCpuNanos() / 1000000)
+				.field("allocatedBytes", metrics.getAllocatedBytes())
+				.field("queriesPrepared", metrics.getQueriesPrepared())
+				.field("queriesEvaluated", metrics.getQueriesEvaluated())
+				.field("statementsScanned", metrics.getStatementsScanned())
+				.field("solutionsRead", metrics.getSolutionsRead())
+				.endRecord();
+	}
+
+	private void writeTimingSection(final BufferedWriter reportWriter)
+			throws IOException {
+		reportWriter.newLine();
+		reportWriter
+				.write("* Timing of each Quality Issue (excluding the issues it depends on):\n\n");
+		for (final Issue issue : getIssuesWithDependencies()) {
+			final IssueMetrics metrics = issue.getMetrics();
+			reportWriter.write(String.format(
+					"%s: wall %d ms, CPU %d ms, allocated %.1f MB, "
+							+ "queries %d prepared / %d evaluated, "
+							+ "statements %d, solutions %d\n",
+					issue.getIssueDescriptor().getName(),
+					metrics.getWallNanos() / 1000000,
+					metrics.getCpuNanos() / 1000000,
+					metrics.getAllocatedBytes() / (1024.0 * 1024.0),
+					metrics.getQueriesPrepared(),
+					metrics.getQueriesEvaluated(),
+					metrics.getStatementsScanned(),
+					metrics.getSolutionsRead()));
+		}
+	}
+
+	/**
+	 * @return the reported issues followed by the issues they depend on,
+	 *         which are evaluated along with them
+	 */
+	private Collection<Issue> getIssuesWithDependencies() {
+		final Collection<Issue> issuesWithDependencies = new LinkedHashSet<>();
+		for (final Issue issue : this.issues) {
+			addWithDependencies(issue, issuesWithDependencies);
+		}
+		return issuesWithDependencies;
+	}
+
+	private void addWithDependencies(final Issue issue,
+			final Collection<Issue> issuesWithDependencies) {
+		if (issuesWithDependencies.add(issue)) {
+			for (final Object dependentIssue : issue.getIssueDescriptor()
+					.getDependentIssues()) {
+				addWithDependencies((Issue) dependentIssue,
+						issuesWithDependencies);
+			}
+		}
+	}
+
+	static void writeJsonSummary(final Issue issue,
+			final JsonReportWriter jsonWriter) throws IOException,
+			RDF4JException {
+		jsonWriter.startRecord(JsonReportWriter.SUMMARY_RECORD)
+				.field("name", issue.getIssueDescriptor().getName())
+				.field("problematic", issue.getResult().isProblematic());
+		try {
+			jsonWriter.field("occurrences", issue.getResult()
+					.occurrenceCount());
+		} catch (final UnsupportedOperationException e) {
+			// not all results provide a count
+		}
+		jsonWriter.field("evaluationMillis", issue.getEvaluationMillis());
+		jsonWriter.endRecord();
+	}
+
 	private File createReportFile() throws IOException {
 		final File file = new File(this.reportFileName);
 		System.out.println("trying to create report file "
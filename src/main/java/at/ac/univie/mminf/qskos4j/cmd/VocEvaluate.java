@@ -1,20 +1,30 @@
 package at.ac.univie.mminf.qskos4j.cmd;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.repository.Repository;
-import org.eclipse.rdf4j.rio.RDFFormat;
 
 import at.ac.univie.mminf.qskos4j.QSkos;
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.metrics.MetricsExporter;
 import at.ac.univie.mminf.qskos4j.progress.ConsoleProgressMonitor;
 import at.ac.univie.mminf.qskos4j.progress.StreamProgressMonitor;
+import at.ac.univie.mminf.qskos4j.result.ReportWriter;
+import at.ac.univie.mminf.qskos4j.result.Result;
+import at.ac.univie.mminf.qskos4j.result.ResultCache;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatusCache;
 import at.ac.univie.mminf.qskos4j.util.vocab.InvalidRdfException;
 import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
 
@@ -27,6 +37,7 @@ public class VocEvaluate {
 
 	public final static String CMD_NAME_ANALYZE = "analyze";
 	public final static String CMD_NAME_SUMMARIZE = "summarize";
+	public final static String CMD_NAME_SERVE = "serve";
 
 	private static JCommander jc;
 	private CommandSummarize parsedCommand;
@@ -77,6 +88,42 @@ public class VocEvaluate {
 		@Parameter(names = { "-DQV", "--DataQualityVocabulary" }, description = "Print quality results as QualityMeasurement of W3C Data Quality Vocabulary")
 		private boolean inDQV;
 
+		@Parameter(names = { "-t", "--threads" }, description = "Number of issues that are evaluated in parallel")
+		private int evaluationThreads = 1;
+
+		@Parameter(names = { "-st", "--store" }, description = "Store for the evaluation repository: 'memory' or 'native' (disk-based, for vocabularies that do not fit into memory)")
+		private String storeType = "memory";
+
+		@Parameter(names = { "-si", "--store-indexes" }, description = "Comma-separated triple indexes of the native store")
+		private String storeIndexes = RepositoryBuilder.DEFAULT_NATIVE_STORE_INDEXES;
+
+		@Parameter(names = { "-sd", "--store-dir" }, description = "Directory in which the native store keeps its data")
+		private String storeDirName;
+
+		@Parameter(names = { "-lt", "--load-threads" }, description = "Number of threads that parse the vocabulary files")
+		private Integer loadThreads;
+
+		@Parameter(names = { "-rf", "--report-format" }, description = "Format of the report: 'txt' or 'jsonl' (one JSON record per finding and per issue summary)")
+		private String reportFormat = "txt";
+
+		@Parameter(names = { "-rbs", "--report-buffer-size" }, description = "Size of the report file buffer in characters")
+		private int reportBufferSize = ReportWriter.DEFAULT_BUFFER_SIZE;
+
+		@Parameter(names = { "-rfi", "--report-flush-interval" }, description = "Number of report entries after which the report file is flushed")
+		private int reportFlushInterval = ReportWriter.DEFAULT_FLUSH_INTERVAL;
+
+		@Parameter(names = { "-rc", "--result-cache" }, description = "Directory that caches issue results between runs on unchanged vocabularies")
+		private String resultCacheDirName;
+
+		@Parameter(names = { "-tm", "--timing" }, description = "Add the time, queries and memory each issue used for its evaluation to the report")
+		private boolean includeTiming = false;
+
+		@Parameter(names = { "-mf", "--metrics-file" }, description = "File the issue metrics are written to in the Prometheus text format")
+		private String metricsFileName;
+
+		@Parameter(names = { "-jmx", "--jmx" }, description = "Register the issue metrics as MBeans")
+		private boolean registerMBeans = false;
+
 	}
 
 	@Parameters(commandNames = CMD_NAME_ANALYZE, commandDescription = "Analyzes quality issues of a given vocabulary")
@@ -89,6 +136,26 @@ public class VocEvaluate {
 		@Parameter(names = { "-wg", "--write-graphs" }, description = "Writes graphs as .dot files to current directory")
 		private boolean writeGraphs = false;
 
+		@Parameter(names = { "-lc", "--link-checks" }, description = "Number of links that are checked in parallel when searching for broken links")
+		private Integer maxConcurrentLinkChecks;
+
+		@Parameter(names = { "-lcf", "--link-cache-file" }, description = "File that caches the results of broken link checking between runs")
+		private String linkCacheFileName;
+
+		@Parameter(names = { "-lct", "--link-cache-ttl" }, description = "Hours a cached link check result is considered up to date")
+		private int linkCacheTtlHours = 24;
+
+	}
+
+	@Parameters(commandNames = CMD_NAME_SERVE, commandDescription = "Keeps vocabularies loaded and evaluates them on HTTP requests")
+	private class CommandServe extends CommandSummarize {
+
+		@Parameter(names = { "-p", "--port" }, description = "Port the evaluation server listens on")
+		private int port = EvaluationServer.DEFAULT_PORT;
+
+		@Parameter(names = { "-H", "--host" }, description = "Host name or address the evaluation server listens on, '0.0.0.0' for all interfaces")
+		private String host = EvaluationServer.DEFAULT_HOST;
+
 	}
 
 	public static void main(final String[] args) {
@@ -136,9 +203,11 @@ public class VocEvaluate {
 
 		final CommandAnalyze commandAnalyze = new CommandAnalyze();
 		final CommandSummarize commandSummarize = new CommandSummarize();
+		final CommandServe commandServe = new CommandServe();
 
 		jc.addCommand(commandAnalyze);
 		jc.addCommand(commandSummarize);
+		jc.addCommand(commandServe);
 		jc.parse(args);
 
 		final String command = jc.getParsedCommand();
@@ -149,11 +218,16 @@ public class VocEvaluate {
 			if (command.equals(CMD_NAME_SUMMARIZE)) {
 				this.parsedCommand = commandSummarize;
 			}
+			if (command.equals(CMD_NAME_SERVE)) {
+				this.parsedCommand = commandServe;
+			}
 		}
 	}
 
 	private void listIssuesOrEvaluate() throws RDF4JException, IOException {
-		if (this.parsedCommand.vocabFilenames == null) {
+		if (this.parsedCommand instanceof CommandServe) {
+			serve((CommandServe) this.parsedCommand);
+		} else if (this.parsedCommand.vocabFilenames == null) {
 			if (this.parsedCommand instanceof CommandAnalyze) {
 				outputIssueDetails(IssueDescriptor.IssueType.ANALYTICAL);
 			} else {
@@ -206,18 +280,26 @@ public class VocEvaluate {
 				this.parsedCommand.reportFileName,
 				this.parsedCommand.vocabFilenames,
 				command.equals(CMD_NAME_ANALYZE), this.parsedCommand.inDQV,
-				datasetAnalized);
+				datasetAnalized, this.parsedCommand.evaluationThreads);
+		this.reportCollector.setReportFormat(parseReportFormat());
+		this.reportCollector.setReportBufferSize(this.parsedCommand.reportBufferSize);
+		this.reportCollector.setReportFlushInterval(this.parsedCommand.reportFlushInterval);
+		this.reportCollector.setIncludeTiming(this.parsedCommand.includeTiming);
 		this.reportCollector.outputIssuesReport(shouldWriteGraphs());
+
+		writeMetricsFile();
 	}
 
 	private void setup() throws RDF4JException, IOException {
 		setupLogging();
 
-		final RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
-		final File inputFile = new File(
-				this.parsedCommand.vocabFilenames.get(0));
-		final Repository repo = repositoryBuilder.setUpFromFile(inputFile,
-				null, useRdfXmlFormatIfExtensionIsXml(inputFile));
+		final RepositoryBuilder repositoryBuilder = createRepositoryBuilder();
+		final List<File> inputFiles = new ArrayList<>();
+		for (final String vocabFilename : this.parsedCommand.vocabFilenames) {
+			inputFiles.add(new File(vocabFilename));
+		}
+		final Repository repo = repositoryBuilder.setUpFromFiles(inputFiles,
+				null, null);
 		this.qskos.setRepositoryConnection(repo.getConnection());
 		this.qskos
 				.setAuthResourceIdentifier(this.parsedCommand.authoritativeResourceIdentifier);
@@ -227,6 +309,19 @@ public class VocEvaluate {
 		if (this.parsedCommand instanceof CommandAnalyze) {
 			this.qskos
 					.setSubsetSize(((CommandAnalyze) this.parsedCommand).randomSubsetSize_percent);
+
+			final Integer maxConcurrentLinkChecks = ((CommandAnalyze) this.parsedCommand).maxConcurrentLinkChecks;
+			if (maxConcurrentLinkChecks != null) {
+				this.qskos.setMaxConcurrentLinkChecks(maxConcurrentLinkChecks);
+			}
+
+			setupLinkStatusCache((CommandAnalyze) this.parsedCommand);
+		}
+
+		this.qskos.setResultCache(createResultCache());
+		if (this.parsedCommand.registerMBeans) {
+			MetricsExporter.registerMBeans(datasetName(),
+					this.qskos.getIssueMetrics());
 		}
 
 		if (this.parsedCommand.enableSkosXl) {
@@ -242,11 +337,102 @@ public class VocEvaluate {
 		}
 	}
 
-	private RDFFormat useRdfXmlFormatIfExtensionIsXml(final File inputFile) {
-		if (inputFile.getName().toLowerCase().endsWith(".xml")) {
-			return RDFFormat.RDFXML;
+	private void serve(final CommandServe command) throws RDF4JException,
+			IOException {
+		if (this.parsedCommand.vocabFilenames == null) {
+			throw new ParameterException("Please provide a vocabulary file");
+		}
+		setupLogging();
+
+		final ResultCache resultCache = createResultCache();
+		final EvaluationServer server = new EvaluationServer(files -> {
+			final RepositoryBuilder repositoryBuilder = createRepositoryBuilder();
+			final Repository repo = repositoryBuilder.setUpFromFiles(files,
+					null, null);
+			if (this.parsedCommand.enableSkosXl) {
+				repositoryBuilder.enableSkosXlSupport();
+			}
+			return repo;
+		});
+		server.setQSkosSetup(qSkos -> {
+			qSkos.setAuthResourceIdentifier(this.parsedCommand.authoritativeResourceIdentifier);
+			qSkos.setResultCache(resultCache);
+		});
+		server.setEvaluationThreads(this.parsedCommand.evaluationThreads);
+		server.setRegisterMBeans(this.parsedCommand.registerMBeans);
+
+		for (final String vocabFilename : this.parsedCommand.vocabFilenames) {
+			final File file = new File(vocabFilename);
+			server.addVocabulary(file.getName(),
+					Collections.singletonList(file));
+		}
+
+		server.start(command.host, command.port);
+		Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+	}
+
+	private void writeMetricsFile() throws IOException {
+		if (this.parsedCommand.metricsFileName == null) {
+			return;
+		}
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(
+				this.parsedCommand.metricsFileName), StandardCharsets.UTF_8)) {
+			MetricsExporter.writePrometheusText(writer,
+					this.qskos.getIssueMetrics());
+		}
+	}
+
+	private String datasetName() {
+		return String.join(",", this.parsedCommand.vocabFilenames);
+	}
+
+	private ResultCache createResultCache() throws IOException {
+		if (this.parsedCommand.resultCacheDirName == null) {
+			return null;
+		}
+		return new ResultCache(new File(this.parsedCommand.resultCacheDirName));
+	}
+
+	private RepositoryBuilder createRepositoryBuilder() throws ParameterException {
+		final RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+
+		try {
+			repositoryBuilder.setStoreType(RepositoryBuilder.StoreType
+					.valueOf(this.parsedCommand.storeType.toUpperCase()));
+		} catch (final IllegalArgumentException e) {
+			throw new ParameterException("Unknown store type '"
+					+ this.parsedCommand.storeType
+					+ "', use 'memory' or 'native'");
+		}
+		repositoryBuilder.setNativeStoreIndexes(this.parsedCommand.storeIndexes);
+		if (this.parsedCommand.loadThreads != null) {
+			repositoryBuilder.setLoaderThreads(this.parsedCommand.loadThreads);
+		}
+		if (this.parsedCommand.storeDirName != null) {
+			repositoryBuilder.setDataDirParent(new File(
+					this.parsedCommand.storeDirName));
+		}
+
+		return repositoryBuilder;
+	}
+
+	private Result.ReportFormat parseReportFormat() throws ParameterException {
+		final String reportFormat = this.parsedCommand.reportFormat.toUpperCase();
+		if (reportFormat.equals(Result.ReportFormat.TXT.name())
+				|| reportFormat.equals(Result.ReportFormat.JSONL.name())) {
+			return Result.ReportFormat.valueOf(reportFormat);
+		}
+		throw new ParameterException("Unknown report format '"
+				+ this.parsedCommand.reportFormat + "', use 'txt' or 'jsonl'");
+	}
+
+	private void setupLinkStatusCache(final CommandAnalyze command)
+			throws IOException {
+		if (command.linkCacheFileName != null) {
+			this.qskos.setLinkStatusCache(new LinkStatusCache(new File(
+					command.linkCacheFileName), TimeUnit.HOURS
+					.toMillis(command.linkCacheTtlHours)));
 		}
-		return null;
 	}
 
 	private void setupLogging() {
@@ -1,40 +1,75 @@
 package at.ac.univie.mminf.qskos4j.issues;
 
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
+import at.ac.univie.mminf.qskos4j.util.graph.IntGraph;
+import at.ac.univie.mminf.qskos4j.util.graph.ReachabilityIndex;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosOntology;
 import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.graph.DefaultDirectedGraph;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
+
+/**
+ * Creates the graph of broader/narrower relations shared by the hierarchy related issues. The graph is created once,
+ * using the connection set by {@link #setRepositoryConnection(RepositoryConnection)}, and must only be read by the
+ * issues so that they can be evaluated concurrently. After a changeset has been applied, only the edges of the affected
+ * resources are looked up again by {@link #update(Changeset)}.
+ */
 public class HierarchyGraphBuilder {
 
     private final Logger logger = LoggerFactory.getLogger(HierarchyGraphBuilder.class);
 
-	private DirectedGraph<Resource, NamedEdge> graph;
+	private IntGraph<Resource> graph;
+    private ReachabilityIndex<Resource> reachabilityIndex;
     private RepositoryConnection repCon;
+    private Changeset lastChangeset;
 
-	public DirectedGraph<Resource, NamedEdge> createGraph() throws RDF4JException
+	public synchronized IntGraph<Resource> createGraph() throws RDF4JException
 	{
         if (graph == null) {
             logger.info("Creating hierarchy graph");
-            graph = new DefaultDirectedGraph<>(NamedEdge.class);
+            IntGraph.Builder<Resource> graphBuilder = new IntGraph.Builder<>(false);
+
+            addResultsToGraph(graphBuilder, findTriples("skos:broaderTransitive"), false);
+            addResultsToGraph(graphBuilder, findTriples("skos:narrowerTransitive"), true);
 
-            addResultsToGraph(findTriples("skos:broaderTransitive"), false);
-            addResultsToGraph(findTriples("skos:narrowerTransitive"), true);
+            graph = graphBuilder.build();
         }
 
         return graph;
 	}
 	
+    /**
+     * @return reachability index of the hierarchy graph, created on first access
+     */
+    public synchronized ReachabilityIndex<Resource> getReachabilityIndex() throws RDF4JException {
+        if (reachabilityIndex == null) {
+            logger.info("Creating hierarchy reachability index");
+            reachabilityIndex = new ReachabilityIndex<>(createGraph());
+        }
+
+        return reachabilityIndex;
+    }
+
+    /**
+     * Edges of the hierarchy graph point from narrower to broader concepts.
+     *
+     * @return true if ancestor is a direct or transitive broader concept of concept
+     */
+    public boolean isAncestor(Resource concept, Resource ancestor) throws RDF4JException {
+        return getReachabilityIndex().isReachable(concept, ancestor);
+    }
+
 	private TupleQueryResult findTriples(String skosHierarchyProperty) throws RDF4JException
 	{
 		    String query = createHierarchicalGraphQuery(skosHierarchyProperty);
@@ -49,41 +84,84 @@ public class HierarchyGraphBuilder {
             "}";
 	}
 
-	private void addResultsToGraph(TupleQueryResult result, boolean invertEdges)
-		throws QueryEvaluationException
+	private void addResultsToGraph(
+		IntGraph.Builder<Resource> graphBuilder,
+		TupleQueryResult result,
+		boolean invertEdges) throws QueryEvaluationException
 	{	
 		while (result.hasNext()) {
 			BindingSet bindingSet = result.next();
-			
-			addToGraph(
-				bindingSet.getValue("resource"), 
-				bindingSet.getValue("otherResource"), 
-				invertEdges);
-		}
-	}
-	
-	private void addToGraph(
-		Value resource, 
-		Value otherResource,
-		boolean invertEdges) 
-	{
-		Resource resourceNode = (Resource) resource;		
-		graph.addVertex(resourceNode);
-		
-		Resource otherNode = (Resource) otherResource;
-		graph.addVertex(otherNode);
-
-		if (invertEdges) {
-			graph.addEdge(otherNode, resourceNode, new NamedEdge());
-		}
-		else {
-			graph.addEdge(resourceNode, otherNode, new NamedEdge());
+			Resource resource = (Resource) bindingSet.getValue("resource");
+			Resource otherResource = (Resource) bindingSet.getValue("otherResource");
+
+			if (invertEdges) {
+				graphBuilder.addEdge(otherResource, resource);
+			}
+			else {
+				graphBuilder.addEdge(resource, otherResource);
+			}
 		}
 	}
 
-    public void setRepositoryConnection(RepositoryConnection repCon) {
+    /**
+     * Replaces the outgoing edges of the resources affected by the changeset with the ones currently found in the
+     * repository, keeping all other edges. Does nothing if the graph has not been created yet or has already been
+     * updated for this changeset.
+     */
+    public synchronized void update(Changeset changeset) throws RDF4JException {
+        if (graph == null || changeset == lastChangeset) return;
+        lastChangeset = changeset;
+
+        Set<Resource> affectedResources = changeset.getAffectedResources();
+        IntGraph.Builder<Resource> graphBuilder = new IntGraph.Builder<>(false);
+
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            Resource source = graph.getVertex(v);
+            if (affectedResources.contains(source)) continue;
+
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                graphBuilder.addEdge(source, graph.getVertex(graph.getEdgeTarget(e)));
+            }
+        }
+        for (Resource resource : affectedResources) {
+            addEdgesFromRepository(graphBuilder, resource);
+        }
+
+        graph = graphBuilder.build();
+        reachabilityIndex = null;
+    }
+
+    private void addEdgesFromRepository(IntGraph.Builder<Resource> graphBuilder, Resource source) throws RDF4JException {
+        RepositoryResult<Statement> broader = repCon.getStatements(
+            source, SkosOntology.getInstance().getUri("broaderTransitive"), null, true);
+        try {
+            while (broader.hasNext()) {
+                Statement statement = broader.next();
+                if (statement.getObject() instanceof Resource) {
+                    graphBuilder.addEdge(source, (Resource) statement.getObject());
+                }
+            }
+        }
+        finally {
+            broader.close();
+        }
+
+        RepositoryResult<Statement> narrower = repCon.getStatements(
+            null, SkosOntology.getInstance().getUri("narrowerTransitive"), source, true);
+        try {
+            while (narrower.hasNext()) {
+                graphBuilder.addEdge(source, narrower.next().getSubject());
+            }
+        }
+        finally {
+            narrower.close();
+        }
+    }
+
+    public synchronized void setRepositoryConnection(RepositoryConnection repCon) {
         this.repCon = repCon;
         graph = null;
+        reachabilityIndex = null;
     }
 
 }
@@ -1,34 +1,161 @@
 package at.ac.univie.mminf.qskos4j.issues;
 
+import at.ac.univie.mminf.qskos4j.metrics.IssueMetrics;
 import at.ac.univie.mminf.qskos4j.progress.IProgressMonitor;
 import at.ac.univie.mminf.qskos4j.progress.StubProgressMonitor;
 import at.ac.univie.mminf.qskos4j.result.Result;
+import at.ac.univie.mminf.qskos4j.result.ResultCache;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 
+import java.util.Collection;
+import java.util.Collections;
+
 public abstract class Issue<T extends Result<?>> {
 
     private IssueDescriptor issueDescriptor;
     protected RepositoryConnection repCon;
     protected IProgressMonitor progressMonitor = new StubProgressMonitor();
     private T result;
+    private long evaluationMillis = -1;
+    private Changeset lastChangeset;
+    private ResultCache resultCache;
+    private IssueMetrics metrics;
 
     public Issue(IssueDescriptor issueDescriptor) {
         this.issueDescriptor = issueDescriptor;
+        metrics = new IssueMetrics(issueDescriptor.getId());
     }
 
     protected abstract T invoke() throws RDF4JException;
 
-    public final T getResult() throws RDF4JException {
+    /**
+     * Computes the result after a changeset has been applied to the repository, based on the result computed before.
+     * Dependent issues and the shared state have already been updated when this is called.
+     *
+     * @return the updated result or null if the issue can't be evaluated incrementally, which is the default
+     */
+    protected T invokeIncremental(T previousResult, Changeset changeset) throws RDF4JException {
+        return null;
+    }
+
+    public final synchronized T getResult() throws RDF4JException {
         if (result == null) {
-            result = invoke();
+            long startTime = System.nanoTime();
+            try (IssueMetrics.Measurement measurement = metrics.startMeasurement()) {
+                if (resultCache == null || !isCacheable()) {
+                    result = invoke();
+                }
+                else {
+                    result = getCachedResult();
+                }
+            }
+            evaluationMillis = (System.nanoTime() - startTime) / 1000000;
         }
         return result;
     }
 
-    protected final void reset() {
+    @SuppressWarnings("unchecked")
+    private T getCachedResult() throws RDF4JException {
+        String key = resultCache.createKey(repCon, getConfiguration());
+
+        T cachedResult = (T) resultCache.get(key);
+        if (cachedResult == null) {
+            cachedResult = invoke();
+            resultCache.put(key, cachedResult);
+        }
+        return cachedResult;
+    }
+
+    /**
+     * @return the id of the issue followed by the settings it is evaluated with and the configuration of the
+     * issues it depends on, results of issues with equal configuration are equal for the same vocabulary
+     */
+    public final String getConfiguration() {
+        StringBuilder configuration = new StringBuilder(issueDescriptor.getId());
+        configuration.append("(").append(getSettings()).append(")");
+        for (Issue dependentIssue : issueDescriptor.getDependentIssues()) {
+            configuration.append(" ").append(dependentIssue.getConfiguration());
+        }
+        return configuration.toString();
+    }
+
+    /**
+     * @return false if the result depends on more than the vocabulary and the settings, e.g., on the state of web
+     * resources, so that it is neither read from nor stored in the {@link ResultCache}. By default an issue is
+     * cacheable if all issues it depends on are.
+     */
+    public boolean isCacheable() {
+        for (Issue dependentIssue : issueDescriptor.getDependentIssues()) {
+            if (!dependentIssue.isCacheable()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return settings that influence the result, empty by default
+     */
+    protected String getSettings() {
+        return "";
+    }
+
+    /**
+     * @return wall time in milliseconds it took to compute the current result, including the evaluation of dependent
+     * issues that had not been evaluated before, or -1 if there is no result yet
+     */
+    public final synchronized long getEvaluationMillis() {
+        return evaluationMillis;
+    }
+
+    /**
+     * @return resources used by all evaluations of this issue, excluding those of its dependent issues
+     */
+    public IssueMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Brings the issue up to date after the changeset has been applied to the repository. Dependent issues and the
+     * shared state are updated first. An existing result is then updated by {@link #invokeIncremental}, or discarded
+     * if the issue doesn't support incremental evaluation, so that it is evaluated from scratch on next access.
+     * Calling this repeatedly with the same changeset has no effect.
+     */
+    public final synchronized void update(Changeset changeset) throws RDF4JException {
+        if (changeset == lastChangeset) return;
+        lastChangeset = changeset;
+
+        for (Issue dependentIssue : issueDescriptor.getDependentIssues()) {
+            dependentIssue.update(changeset);
+        }
+        for (SharedIssueState sharedState : getSharedState()) {
+            sharedState.update(changeset);
+        }
+
+        if (result == null) return;
+
+        long startTime = System.nanoTime();
+        T updatedResult;
+        try (IssueMetrics.Measurement measurement = metrics.startMeasurement()) {
+            updatedResult = invokeIncremental(result, changeset);
+        }
+        if (updatedResult == null) {
+            reset();
+        }
+        else {
+            result = updatedResult;
+            evaluationMillis = (System.nanoTime() - startTime) / 1000000;
+        }
+    }
+
+    /**
+     * Discards the result of this issue so that it is evaluated again on next access. Results of dependent issues and
+     * the shared state are kept.
+     */
+    public final synchronized void reset() {
         result = null;
+        evaluationMillis = -1;
         if (progressMonitor != null) {
             progressMonitor.reset();
         }
@@ -38,15 +165,44 @@ public abstract class Issue<T extends Result<?>> {
 		this.progressMonitor = progressMonitor;
 	}
 
+    /**
+     * @param resultCache cache results are looked up in before they are computed and stored in afterwards, may be
+     * null. Results updated by {@link #update(Changeset)} are not stored.
+     */
+    public void setResultCache(ResultCache resultCache) {
+        for (Issue dependentIssue : issueDescriptor.getDependentIssues()) {
+            dependentIssue.setResultCache(resultCache);
+        }
+        this.resultCache = resultCache;
+    }
+
     public void setRepositoryConnection(RepositoryConnection repCon) {
-        if (issueDescriptor.getDependentIssue() != null) {
-            issueDescriptor.getDependentIssue().setRepositoryConnection(repCon);
+        for (Issue dependentIssue : issueDescriptor.getDependentIssues()) {
+            dependentIssue.setRepositoryConnection(repCon);
         }
 
         this.repCon = repCon;
         reset();
     }
 
+    /**
+     * Switches the connection (also of the shared state) without resetting already computed results. Used by the
+     * {@link IssueScheduler} to evaluate the issue on the connection of a worker thread.
+     */
+    void useConnection(RepositoryConnection repCon) {
+        this.repCon = repCon;
+        for (SharedIssueState sharedState : getSharedState()) {
+            sharedState.useConnection(repCon);
+        }
+    }
+
+    /**
+     * @return state this issue shares with other issues and that must not be accessed concurrently
+     */
+    public Collection<SharedIssueState> getSharedState() {
+        return Collections.emptySet();
+    }
+
     public IssueDescriptor getIssueDescriptor() {
         return issueDescriptor;
     }
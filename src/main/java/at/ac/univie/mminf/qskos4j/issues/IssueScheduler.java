@@ -0,0 +1,312 @@
+package at.ac.univie.mminf.qskos4j.issues;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates a set of issues on a pool of worker threads. Issues are arranged in a dependency graph built from the
+ * dependent issues of their {@link at.ac.univie.mminf.qskos4j.util.IssueDescriptor} and from the
+ * {@link SharedIssueState} they use. An issue is started as soon as all issues it depends on are finished, issues
+ * sharing state are evaluated one after another. Every worker thread queries the repository using its own
+ * connection.
+ */
+public class IssueScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(IssueScheduler.class);
+
+    private int threadCount;
+
+    /**
+     * @param threadCount number of issues that may be evaluated at the same time. If set to 1, issues are evaluated
+     * in the calling thread in the order they are passed.
+     */
+    public IssueScheduler(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("At least one evaluation thread is required");
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Computes the results of the passed issues and all issues they depend on. After this method returns, calling
+     * {@link Issue#getResult()} on any of the passed issues returns immediately.
+     *
+     * @param issues the issues to evaluate
+     * @throws RDF4JException if the evaluation of an issue fails
+     */
+    public void evaluate(Collection<Issue> issues) throws RDF4JException {
+        if (threadCount == 1) {
+            evaluateSequentially(issues);
+        }
+        else {
+            evaluateInParallel(issues);
+        }
+    }
+
+    private void evaluateSequentially(Collection<Issue> issues) throws RDF4JException {
+        int issueNumber = 0;
+        for (Issue issue : issues) {
+            issueNumber++;
+            logProcessing(issue, issueNumber, issues.size());
+            issue.getResult();
+        }
+    }
+
+    private void logProcessing(Issue issue, int issueNumber, int issueCount) {
+        logger.info("Processing issue " +issueNumber+ " of " +issueCount+ " (" +issue.getIssueDescriptor().getName()+ ")");
+    }
+
+    private void evaluateInParallel(Collection<Issue> issues) throws RDF4JException {
+        List<Node> nodes = createDependencyGraph(issues);
+        Repository repository = findRepository(nodes);
+
+        WorkerConnections workerConnections = new WorkerConnections(repository);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new WorkerThreadFactory());
+        CompletionService<Node> completionService = new ExecutorCompletionService<>(executor);
+
+        try {
+            runNodes(nodes, completionService, workerConnections);
+        }
+        finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+            workerConnections.closeAll();
+        }
+    }
+
+    private void runNodes(
+        List<Node> nodes,
+        CompletionService<Node> completionService,
+        WorkerConnections workerConnections) throws RDF4JException
+    {
+        int startedCount = 0, finishedCount = 0, runningCount = 0;
+        Throwable failure = null;
+
+        for (Node node : nodes) {
+            if (node.pendingPredecessors == 0) {
+                completionService.submit(createTask(node, ++startedCount, nodes.size(), workerConnections));
+                runningCount++;
+            }
+        }
+
+        while (runningCount > 0) {
+            Node finishedNode;
+            try {
+                finishedNode = completionService.take().get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while evaluating issues", e);
+            }
+            catch (ExecutionException e) {
+                runningCount--;
+                if (failure == null) failure = e.getCause();
+                continue;
+            }
+
+            runningCount--;
+            finishedCount++;
+            if (failure != null) continue;
+
+            for (Node successor : finishedNode.successors) {
+                successor.pendingPredecessors--;
+                if (successor.pendingPredecessors == 0) {
+                    completionService.submit(createTask(successor, ++startedCount, nodes.size(), workerConnections));
+                    runningCount++;
+                }
+            }
+        }
+
+        if (failure != null) {
+            rethrow(failure);
+        }
+        if (finishedCount != nodes.size()) {
+            throw new IllegalStateException("Circular issue dependencies detected");
+        }
+    }
+
+    private Callable<Node> createTask(
+        final Node node,
+        final int issueNumber,
+        final int issueCount,
+        final WorkerConnections workerConnections)
+    {
+        return new Callable<Node>() {
+            @Override
+            public Node call() throws Exception {
+                logProcessing(node.issue, issueNumber, issueCount);
+
+                RepositoryConnection originalConnection = node.issue.repCon;
+                node.issue.useConnection(workerConnections.get());
+                try {
+                    node.issue.getResult();
+                }
+                finally {
+                    node.issue.useConnection(originalConnection);
+                }
+
+                return node;
+            }
+        };
+    }
+
+    private void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IllegalStateException("Error evaluating issue", failure);
+    }
+
+    private void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Repository findRepository(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (node.issue.repCon != null) {
+                return node.issue.repCon.getRepository();
+            }
+        }
+        throw new IllegalStateException("No repository connection has been set for the issues to evaluate");
+    }
+
+    private List<Node> createDependencyGraph(Collection<Issue> issues) {
+        Map<Issue, Node> nodes = new LinkedHashMap<>();
+        for (Issue issue : issues) {
+            addWithDependencies(issue, nodes);
+        }
+
+        List<Node> orderedNodes = orderTopologically(nodes.values());
+        chainNodesSharingState(orderedNodes);
+        return orderedNodes;
+    }
+
+    private Node addWithDependencies(Issue issue, Map<Issue, Node> nodes) {
+        Node node = nodes.get(issue);
+        if (node == null) {
+            node = new Node(issue);
+            nodes.put(issue, node);
+
+            Collection<Issue> dependentIssues = issue.getIssueDescriptor().getDependentIssues();
+            for (Issue dependentIssue : dependentIssues) {
+                addEdge(addWithDependencies(dependentIssue, nodes), node);
+            }
+        }
+        return node;
+    }
+
+    private void addEdge(Node from, Node to) {
+        if (from.successors.add(to)) {
+            to.predecessors.add(from);
+            to.pendingPredecessors++;
+        }
+    }
+
+    private List<Node> orderTopologically(Collection<Node> nodes) {
+        List<Node> orderedNodes = new ArrayList<>();
+        Map<Node, Integer> pending = new HashMap<>();
+        Deque<Node> readyNodes = new ArrayDeque<>();
+
+        for (Node node : nodes) {
+            pending.put(node, node.predecessors.size());
+            if (node.predecessors.isEmpty()) readyNodes.add(node);
+        }
+
+        while (!readyNodes.isEmpty()) {
+            Node node = readyNodes.poll();
+            orderedNodes.add(node);
+
+            for (Node successor : node.successors) {
+                int remaining = pending.get(successor) - 1;
+                pending.put(successor, remaining);
+                if (remaining == 0) readyNodes.add(successor);
+            }
+        }
+
+        if (orderedNodes.size() != nodes.size()) {
+            throw new IllegalStateException("Circular issue dependencies detected");
+        }
+        return orderedNodes;
+    }
+
+    private void chainNodesSharingState(List<Node> orderedNodes) {
+        Map<SharedIssueState, Node> lastUserOfState = new IdentityHashMap<>();
+
+        for (Node node : orderedNodes) {
+            Collection<SharedIssueState> sharedStates = node.issue.getSharedState();
+            for (SharedIssueState sharedState : sharedStates) {
+                Node previousUser = lastUserOfState.put(sharedState, node);
+                if (previousUser != null) {
+                    addEdge(previousUser, node);
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private Issue<?> issue;
+        private Set<Node> predecessors = new LinkedHashSet<>(), successors = new LinkedHashSet<>();
+        private int pendingPredecessors;
+
+        private Node(Issue<?> issue) {
+            this.issue = issue;
+        }
+    }
+
+    private static class WorkerConnections {
+        private Repository repository;
+        private List<RepositoryConnection> openedConnections = Collections.synchronizedList(
+            new ArrayList<RepositoryConnection>());
+        private ThreadLocal<RepositoryConnection> connection = new ThreadLocal<>();
+
+        private WorkerConnections(Repository repository) {
+            this.repository = repository;
+        }
+
+        private RepositoryConnection get() throws RDF4JException {
+            RepositoryConnection repCon = connection.get();
+            if (repCon == null) {
+                repCon = repository.getConnection();
+                openedConnections.add(repCon);
+                connection.set(repCon);
+            }
+            return repCon;
+        }
+
+        private void closeAll() {
+            synchronized (openedConnections) {
+                for (RepositoryConnection repCon : openedConnections) {
+                    repCon.close();
+                }
+                openedConnections.clear();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "qskos-issue-worker-" +threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
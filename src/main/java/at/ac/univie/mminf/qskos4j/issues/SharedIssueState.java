@@ -0,0 +1,28 @@
+package at.ac.univie.mminf.qskos4j.issues;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+
+/**
+ * Data that is computed from the repository once and then shared by several issues, e.g., the labels collected by the
+ * {@link at.ac.univie.mminf.qskos4j.issues.labels.util.ResourceLabelsCollector}.
+ * The {@link IssueScheduler} never evaluates two issues sharing the same state at the same time.
+ */
+public interface SharedIssueState {
+
+    /**
+     * Switches the connection used for querying the repository without discarding data that has already been
+     * computed. This is used to hand over the state to the connection of the evaluating worker thread.
+     *
+     * @param repCon connection to the repository the state has been created for
+     */
+    void useConnection(RepositoryConnection repCon);
+
+    /**
+     * Brings already computed data up to date after the changeset has been applied to the repository. Called once
+     * for every issue sharing the state, so implementations must ignore a changeset they have already processed.
+     */
+    void update(Changeset changeset) throws RDF4JException;
+
+}
@@ -2,8 +2,7 @@ package at.ac.univie.mminf.qskos4j.issues.clusters;
 
 import at.ac.univie.mminf.qskos4j.result.ResourceCollectionsResult;
 import at.ac.univie.mminf.qskos4j.util.graph.GraphExporter;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
-import org.jgrapht.DirectedGraph;
+import at.ac.univie.mminf.qskos4j.util.graph.IntGraph;
 import org.eclipse.rdf4j.model.Resource;
 
 import java.io.BufferedWriter;
@@ -12,9 +11,11 @@ import java.util.Collection;
 
 public class ClustersResult extends ResourceCollectionsResult
 {
-	private DirectedGraph<Resource, NamedEdge> graph;
+	private final static long serialVersionUID = 1L;
 
-	ClustersResult(Collection<Collection<Resource>> data, DirectedGraph<Resource, NamedEdge> graph) {
+	private IntGraph<Resource> graph;
+
+	ClustersResult(Collection<Collection<Resource>> data, IntGraph<Resource> graph) {
         super(data, "Cluster");
 
         // one disconnected cluster is not an error, so no need to report
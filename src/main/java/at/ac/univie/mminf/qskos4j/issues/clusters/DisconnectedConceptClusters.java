@@ -4,25 +4,18 @@ import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.issues.concepts.InvolvedConcepts;
 import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
-import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.alg.ConnectivityInspector;
-import org.jgrapht.graph.DirectedMultigraph;
+import at.ac.univie.mminf.qskos4j.util.graph.GraphAlgorithms;
+import at.ac.univie.mminf.qskos4j.util.graph.IntGraph;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosOntology;
 import org.eclipse.rdf4j.RDF4JException;
-import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
-import org.eclipse.rdf4j.query.BindingSet;
-import org.eclipse.rdf4j.query.QueryLanguage;
-import org.eclipse.rdf4j.query.TupleQuery;
-import org.eclipse.rdf4j.query.TupleQueryResult;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.*;
 
 /**
  * Created by christian
@@ -34,9 +27,7 @@ import java.util.Iterator;
  */
 public class DisconnectedConceptClusters extends Issue<ClustersResult> {
 
-    private final Logger logger = LoggerFactory.getLogger(DisconnectedConceptClusters.class);
-
-    private DirectedGraph<Resource, NamedEdge> graph;
+    private IntGraph<Resource> graph;
     private InvolvedConcepts involvedConcepts;
 
     public DisconnectedConceptClusters(InvolvedConcepts involvedConcepts) {
@@ -57,74 +48,68 @@ public class DisconnectedConceptClusters extends Issue<ClustersResult> {
         createGraph();
 
         Collection<Collection<Resource>> connectedSets = new ArrayList<>();
-        connectedSets.addAll(new ConnectivityInspector<>(graph).connectedSets());
+        connectedSets.addAll(GraphAlgorithms.findWeaklyConnectedComponents(graph).getVertexSets(graph));
 
         return new ClustersResult(connectedSets, graph);
     }
 
+    /**
+     * Builds the graph in a single pass over the statements of each subproperty of skos:semanticRelation. Only
+     * statements whose subject is an involved concept contribute edges.
+     */
     private void createGraph() throws RDF4JException
     {
-        graph = new DirectedMultigraph<>(NamedEdge.class);
-
-        Iterator<Resource> conceptIt = new MonitoredIterator<>(involvedConcepts.getResult().getData(), progressMonitor);
-        while (conceptIt.hasNext()) {
-            Resource concept = conceptIt.next();
-            Collection<Relation> relations = findRelations(concept);
-
-            for (Relation relation : relations) {
-                addNodesToGraph(
-                        relation.sourceConcept,
-                        relation.targetConcept,
-                        relation.property);
+        IntGraph.Builder<Resource> graphBuilder = new IntGraph.Builder<>(true);
+        Set<Resource> concepts = new HashSet<>(involvedConcepts.getResult().getData());
+
+        Iterator<IRI> relationIt = new MonitoredIterator<>(findSemanticRelationProperties(), progressMonitor);
+        while (relationIt.hasNext()) {
+            IRI semanticRelation = relationIt.next();
+            String relationLabel = extractFragmentString(semanticRelation);
+
+            // statements are equal regardless of their context, so this removes duplicates from different graphs
+            Set<Statement> relationStatements = new HashSet<>();
+            RepositoryResult<Statement> result = repCon.getStatements(null, semanticRelation, null, true);
+            try {
+                while (result.hasNext()) {
+                    Statement statement = result.next();
+                    if (statement.getObject() instanceof Resource &&
+                        concepts.contains(statement.getSubject()) &&
+                        relationStatements.add(statement))
+                    {
+                        graphBuilder.addEdge(statement.getSubject(), (Resource) statement.getObject(), relationLabel);
+                    }
+                }
+            }
+            finally {
+                result.close();
             }
         }
+
+        graph = graphBuilder.build();
     }
 
-    private Collection<Relation> findRelations(Resource concept)
-    {
-        Collection<Relation> allRelations = new ArrayList<>();
+    private Collection<IRI> findSemanticRelationProperties() throws RDF4JException {
+        Set<IRI> properties = new LinkedHashSet<>();
 
+        RepositoryResult<Statement> result = repCon.getStatements(
+            null,
+            RDFS.SUBPROPERTYOF,
+            SkosOntology.getInstance().getUri("semanticRelation"),
+            true);
         try {
-            TupleQuery query = repCon.prepareTupleQuery(QueryLanguage.SPARQL, createConnectionsQuery(concept));
-            TupleQueryResult result = query.evaluate();
-
             while (result.hasNext()) {
-                BindingSet bindingSet = result.next();
-                Resource otherConcept = (Resource) bindingSet.getValue("otherConcept");
-                IRI semanticRelation = (IRI) bindingSet.getValue("semanticRelation");
-
-                if (otherConcept != null && semanticRelation != null) {
-                    allRelations.add(new Relation(concept, otherConcept, semanticRelation));
+                Resource property = result.next().getSubject();
+                if (property instanceof IRI) {
+                    properties.add((IRI) property);
                 }
             }
         }
-        catch (RDF4JException e) {
-            logger.error("Error finding relations of concept '" +concept+ "'");
+        finally {
+            result.close();
         }
 
-        return allRelations;
-    }
-
-    private String createConnectionsQuery(Value concept) {
-        return SparqlPrefix.SKOS +" "+ SparqlPrefix.RDFS+
-            "SELECT DISTINCT ?otherConcept ?semanticRelation WHERE " +
-            "{" +
-                "<" +concept.stringValue()+ "> ?semanticRelation ?otherConcept . " +
-                "?semanticRelation rdfs:subPropertyOf skos:semanticRelation" +
-            "}";
-    }
-
-    private void addNodesToGraph(
-            Resource skosResource,
-            Resource otherResource,
-            Resource skosRelation)
-    {
-        graph.addVertex(skosResource);
-
-        if (otherResource != null) {
-            graph.addVertex(otherResource);
-            graph.addEdge(skosResource, otherResource, new NamedEdge(extractFragmentString(skosRelation)));
-        }
+        return properties;
     }
 
     private String extractFragmentString(Value skosRelation) {
@@ -137,19 +122,4 @@ public class DisconnectedConceptClusters extends Issue<ClustersResult> {
         return skosRelation.stringValue();
     }
 
-    private class Relation {
-        private Resource sourceConcept, targetConcept, property;
-
-        private Relation(Resource sourceConcept, Resource targetConcept, Resource property) {
-            this.sourceConcept = sourceConcept;
-            this.targetConcept = targetConcept;
-            this.property = property;
-        }
-
-        @Override
-        public String toString() {
-            return sourceConcept.stringValue() +" -- "+ property +" --> "+ targetConcept;
-        }
-    }
-
 }
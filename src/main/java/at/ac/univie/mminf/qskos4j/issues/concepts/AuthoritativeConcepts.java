@@ -4,6 +4,7 @@ import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import java.net.URL;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
 /**
  * Finds all "authoritative concepts". See the <a href="https://github.com/cmader/qSKOS/blob/master/README.rdoc">
@@ -23,7 +25,7 @@ public class AuthoritativeConcepts extends Issue<CollectionResult<Resource>> {
 
     private final Logger logger = LoggerFactory.getLogger(AuthoritativeConcepts.class);
 
-    private String authResourceIdentifier, baseURI;
+    private String authResourceIdentifier, configuredAuthResourceIdentifier, baseURI;
     private InvolvedConcepts involvedConcepts;
 
     public AuthoritativeConcepts(InvolvedConcepts involvedConcepts) {
@@ -45,6 +47,26 @@ public class AuthoritativeConcepts extends Issue<CollectionResult<Resource>> {
         return new CollectionResult<>(extractAuthoritativeConceptsFromInvolved());
     }
 
+    @Override
+    protected CollectionResult<Resource> invokeIncremental(
+        CollectionResult<Resource> previousResult,
+        Changeset changeset) throws RDF4JException
+    {
+        getAuthResourceIdentifier();
+        Set<Resource> affectedResources = changeset.getAffectedResources();
+        Set<Resource> involved = new HashSet<Resource>(involvedConcepts.getResult().getData());
+
+        Collection<Resource> authoritativeConcepts = new HashSet<Resource>(previousResult.getData());
+        authoritativeConcepts.removeAll(affectedResources);
+        for (Resource resource : affectedResources) {
+            if (involved.contains(resource) && isAuthoritative(resource)) {
+                authoritativeConcepts.add(resource);
+            }
+        }
+
+        return new CollectionResult<>(authoritativeConcepts);
+    }
+
     private void determineAuthResourceIdentifier() throws RDF4JException {
         try {
             extractAuthResourceIdentifierFromBaseURI();
@@ -85,10 +107,7 @@ public class AuthoritativeConcepts extends Issue<CollectionResult<Resource>> {
         Collection<Resource> authoritativeConcepts = new HashSet<Resource>();
 
         for (Resource concept : involvedConcepts.getResult().getData()) {
-            String lowerCaseUriValue = concept.toString().toLowerCase();
-
-            if (lowerCaseUriValue.contains(authResourceIdentifier.toLowerCase()))
-            {
+            if (isAuthoritative(concept)) {
                 authoritativeConcepts.add(concept);
             }
         }
@@ -96,8 +115,14 @@ public class AuthoritativeConcepts extends Issue<CollectionResult<Resource>> {
         return authoritativeConcepts;
     }
 
+    private boolean isAuthoritative(Resource concept) {
+        String lowerCaseUriValue = concept.toString().toLowerCase();
+        return lowerCaseUriValue.contains(authResourceIdentifier.toLowerCase());
+    }
+
     public void setAuthResourceIdentifier(String authResourceIdentifier) {
         this.authResourceIdentifier = authResourceIdentifier;
+        configuredAuthResourceIdentifier = authResourceIdentifier;
         reset();
     }
 
@@ -112,4 +137,15 @@ public class AuthoritativeConcepts extends Issue<CollectionResult<Resource>> {
         this.baseURI = baseURI;
     }
 
+    /**
+     * A guessed identifier isn't part of the settings, it is derived from the vocabulary
+     */
+    @Override
+    protected String getSettings() {
+        if (configuredAuthResourceIdentifier != null) {
+            return "authResourceIdentifier=" +configuredAuthResourceIdentifier;
+        }
+        return "baseURI=" +baseURI;
+    }
+
 }
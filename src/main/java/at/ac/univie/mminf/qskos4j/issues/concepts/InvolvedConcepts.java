@@ -3,6 +3,7 @@ package at.ac.univie.mminf.qskos4j.issues.concepts;
 import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import at.ac.univie.mminf.qskos4j.util.vocab.SkosOntology;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
@@ -12,6 +13,7 @@ import org.eclipse.rdf4j.repository.RepositoryResult;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Set;
 
 /**
  * Finds all <a href="http://www.w3.org/TR/skos-reference/#concepts">SKOS Concepts</a> involved in the vocabulary.
@@ -28,18 +30,43 @@ public class InvolvedConcepts extends Issue<CollectionResult<Resource>> {
 
     @Override
     protected CollectionResult<Resource> invoke() throws RDF4JException {
+        Collection<Resource> involvedConcepts = new ArrayList<Resource>();
+        addConcepts(null, involvedConcepts);
+
+        return new CollectionResult<>(involvedConcepts);
+    }
+
+    @Override
+    protected CollectionResult<Resource> invokeIncremental(
+        CollectionResult<Resource> previousResult,
+        Changeset changeset) throws RDF4JException
+    {
+        Set<Resource> affectedResources = changeset.getAffectedResources();
+
+        Collection<Resource> involvedConcepts = new ArrayList<Resource>();
+        for (Resource concept : previousResult.getData()) {
+            if (!affectedResources.contains(concept)) involvedConcepts.add(concept);
+        }
+        for (Resource resource : affectedResources) {
+            addConcepts(resource, involvedConcepts);
+        }
+
+        return new CollectionResult<>(involvedConcepts);
+    }
+
+    /**
+     * @param resource resource to add if it is a concept, null to add all concepts
+     */
+    private void addConcepts(Resource resource, Collection<Resource> involvedConcepts) throws RDF4JException {
         RepositoryResult<Statement> result = repCon.getStatements(
-            null,
+            resource,
             RDF.TYPE,
             SkosOntology.getInstance().getUri("Concept"),
             true);
 
-        Collection<Resource> involvedConcepts = new ArrayList<Resource>();
         while (result.hasNext()) {
             involvedConcepts.add(result.next().getSubject());
         }
-
-        return new CollectionResult<>(involvedConcepts);
     }
 
 }
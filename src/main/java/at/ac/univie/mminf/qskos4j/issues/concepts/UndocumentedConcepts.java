@@ -4,6 +4,7 @@ import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
@@ -14,8 +15,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Finds concepts lacking documentation information (
@@ -64,6 +68,27 @@ public class UndocumentedConcepts extends Issue<CollectionResult<Resource>> {
 		return new CollectionResult<Resource>(undocumentedConcepts);
 	}
 
+    @Override
+    protected CollectionResult<Resource> invokeIncremental(
+        CollectionResult<Resource> previousResult,
+        Changeset changeset) throws RDF4JException
+    {
+        Set<Resource> affectedResources = changeset.getAffectedResources();
+        Collection<Resource> authConcepts = new HashSet<Resource>(authoritativeConcepts.getResult().getData());
+
+        List<Resource> undocumentedConcepts = new ArrayList<Resource>();
+        for (Resource concept : previousResult.getData()) {
+            if (!affectedResources.contains(concept)) undocumentedConcepts.add(concept);
+        }
+        for (Resource resource : affectedResources) {
+            if (authConcepts.contains(resource) && !isConceptDocumented(resource)) {
+                undocumentedConcepts.add(resource);
+            }
+        }
+
+        return new CollectionResult<Resource>(undocumentedConcepts);
+    }
+
     private boolean isConceptDocumented(Value concept) {
 		for (String docProperty : documentationProperties) {
 			if (conceptHasProperty(concept, docProperty)) {
@@ -3,20 +3,17 @@ package at.ac.univie.mminf.qskos4j.issues.cycles;
 import at.ac.univie.mminf.qskos4j.issues.HierarchyGraphBuilder;
 import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.alg.CycleDetector;
-import org.jgrapht.alg.StrongConnectivityInspector;
+import at.ac.univie.mminf.qskos4j.util.graph.GraphAlgorithms;
+import at.ac.univie.mminf.qskos4j.util.graph.IntGraph;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Created by christian
@@ -29,7 +26,7 @@ public class HierarchicalCycles extends Issue<HierarchicalCyclesResult> {
 
     private final Logger logger = LoggerFactory.getLogger(HierarchicalCycles.class);
 
-    private DirectedGraph<Resource, NamedEdge> hierarchyGraph;
+    private IntGraph<Resource> hierarchyGraph;
     private HierarchyGraphBuilder hierarchyGraphBuilder;
 
     public HierarchicalCycles(HierarchyGraphBuilder hierarchyGraphBuilder) {
@@ -51,28 +48,19 @@ public class HierarchicalCycles extends Issue<HierarchicalCyclesResult> {
 
     private List<Collection<Resource>> findCycleContainingComponents() {
         logger.debug("Finding cycles");
-
-        Set<Resource> nodesInCycles = new CycleDetector<>(hierarchyGraph).findCycles();
-        return trackNodesInCycles(nodesInCycles);
+        return GraphAlgorithms.findCycleContainingComponents(hierarchyGraph);
     }
 
-    private List<Collection<Resource>> trackNodesInCycles(Set<Resource> nodesInCycles)
+    /**
+     * Evaluates the issue again on the hierarchy graph, which is only updated for the resources affected by the
+     * changeset.
+     */
+    @Override
+    protected HierarchicalCyclesResult invokeIncremental(HierarchicalCyclesResult previousResult, Changeset changeset)
+        throws RDF4JException
     {
-        List<Collection<Resource>> ret = new ArrayList<>();
-        List<Set<Resource>> stronglyConnectedSets =
-                new StrongConnectivityInspector<>(hierarchyGraph).stronglyConnectedSets();
-
-        for (Resource node : nodesInCycles) {
-            for (Set<Resource> stronglyConnectedSet : stronglyConnectedSets) {
-                if (stronglyConnectedSet.contains(node)) {
-                    if (!ret.contains(stronglyConnectedSet)) {
-                        ret.add(stronglyConnectedSet);
-                    }
-                }
-            }
-        }
-
-        return ret;
+        hierarchyGraphBuilder.update(changeset);
+        return invoke();
     }
 
     @Override
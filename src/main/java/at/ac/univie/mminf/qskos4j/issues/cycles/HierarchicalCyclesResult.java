@@ -2,8 +2,7 @@ package at.ac.univie.mminf.qskos4j.issues.cycles;
 
 import at.ac.univie.mminf.qskos4j.result.ResourceCollectionsResult;
 import at.ac.univie.mminf.qskos4j.util.graph.GraphExporter;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
-import org.jgrapht.DirectedGraph;
+import at.ac.univie.mminf.qskos4j.util.graph.IntGraph;
 import org.eclipse.rdf4j.model.Resource;
 
 import java.io.BufferedWriter;
@@ -12,11 +11,13 @@ import java.util.Collection;
 
 public class HierarchicalCyclesResult extends ResourceCollectionsResult {
 
-    private DirectedGraph<Resource, NamedEdge> graph;
+    private final static long serialVersionUID = 1L;
+
+    private IntGraph<Resource> graph;
 
     public HierarchicalCyclesResult(
             Collection<Collection<Resource>> data,
-            DirectedGraph<Resource, NamedEdge> graph)
+            IntGraph<Resource> graph)
     {
         super(data, "Cycle");
 
@@ -2,7 +2,6 @@ package at.ac.univie.mminf.qskos4j.issues.inlinks;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.issues.concepts.AuthoritativeConcepts;
-import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.ExtrapolatedCollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import at.ac.univie.mminf.qskos4j.util.RandomSubSet;
@@ -10,6 +9,7 @@ import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.TupleQueryResult;
@@ -22,6 +22,8 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
 * Finds concepts that aren't referred by other vocabularies on the Web (
@@ -31,11 +33,14 @@ import java.util.*;
 public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>> {
 
 	private final Logger logger = LoggerFactory.getLogger(MissingInLinks.class);
+	private final static int DEFAULT_QUERY_BATCH_SIZE = 50;
 
 	private AuthoritativeConcepts authoritativeConcepts;
 	private Collection<RepositoryConnection> connections = new ArrayList<>();
+    private List<String> inLinkSources = new ArrayList<>();
 	private Map<Resource, Set<IRI>> conceptReferencingResources = new HashMap<>();
     private Integer queryDelayMillis = 0;
+    private int queryBatchSize = DEFAULT_QUERY_BATCH_SIZE;
     private Float randomSubsetSize_percent;
 
     public MissingInLinks(AuthoritativeConcepts authoritativeConcepts) {
@@ -58,14 +63,8 @@ public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>
             logger.info("Using subset of " +conceptsToCheck.size()+ " concepts for In-Link checking");
         }
 
-        Iterator<Resource> conceptIt = new MonitoredIterator<>(
-                conceptsToCheck,
-                progressMonitor,
-                "finding In-Links");
-
-        while (conceptIt.hasNext()) {
-            rankConcept(conceptIt.next());
-        }
+        conceptReferencingResources = new HashMap<>();
+        rankConcepts(createBatches(conceptsToCheck));
 
         return new ExtrapolatedCollectionResult<>(extractUnreferencedConcepts(), randomSubsetSize_percent);
     }
@@ -79,79 +78,180 @@ public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>
 			return new RandomSubSet<>(authoritativeConcepts.getResult().getData(), randomSubsetSize_percent);
 		}
 	}
-	
-	private void rankConcept(Resource concept)
+
+	private List<List<IRI>> createBatches(Collection<Resource> concepts) {
+		List<List<IRI>> batches = new ArrayList<>();
+		List<IRI> batch = new ArrayList<>();
+
+		for (Resource concept : concepts) {
+			// blank nodes cannot be referenced from other datasets
+			if (!(concept instanceof IRI)) continue;
+
+			batch.add((IRI) concept);
+			if (batch.size() == queryBatchSize) {
+				batches.add(batch);
+				batch = new ArrayList<>();
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	private void rankConcepts(final List<List<IRI>> batches)
 	{
         if (connections.isEmpty()) {
             logger.warn("no repository for querying defined");
+            return;
         }
 
-        for (RepositoryConnection connection : connections) {
-            rankConceptForConnection(concept, connection);
-		}
-	}
-	
-	private void rankConceptForConnection(Resource concept, RepositoryConnection connection)
-	{
-		String query = "SELECT distinct ?resource WHERE " +
-			"{?resource ?p <"+concept.toString()+">  " +
-			"FILTER isIRI(?resource) "+
-			"FILTER(regex(str(?resource), \"^http.*\"))}";
+        progressMonitor.reset();
+        progressMonitor.setTaskDescription("finding In-Links");
+        final int totalQueries = batches.size() * connections.size();
+        final AtomicInteger finishedQueries = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(connections.size());
+        List<Future<Map<Resource, Set<IRI>>>> endpointResults = new ArrayList<>();
 
-        // delay to avoid flooding the SPARQL endpoint
         try {
-            Thread.sleep(queryDelayMillis);
+            for (final RepositoryConnection connection : connections) {
+                endpointResults.add(executor.submit(new Callable<Map<Resource, Set<IRI>>>() {
+                    @Override
+                    public Map<Resource, Set<IRI>> call() throws InterruptedException {
+                        return rankConceptsForConnection(batches, connection, finishedQueries, totalQueries);
+                    }
+                }));
+            }
+
+            for (Future<Map<Resource, Set<IRI>>> endpointResult : endpointResults) {
+                addToConceptsRankMap(endpointResult.get(), conceptReferencingResources);
+            }
         }
         catch (InterruptedException e) {
-            // ignore this exception
+            // an incomplete ranking must neither be reported nor cached
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while finding In-Links", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while finding In-Links", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Error finding In-Links", e.getCause());
         }
+        finally {
+            executor.shutdownNow();
+        }
+
+        progressMonitor.onFinish();
+	}
+
+	private Map<Resource, Set<IRI>> rankConceptsForConnection(
+		List<List<IRI>> batches,
+		RepositoryConnection connection,
+		AtomicInteger finishedQueries,
+		int totalQueries) throws InterruptedException
+	{
+		Map<Resource, Set<IRI>> referencingResources = new HashMap<>();
+
+		Iterator<List<IRI>> batchIt = batches.iterator();
+		while (batchIt.hasNext()) {
+			rankBatchForConnection(batchIt.next(), connection, referencingResources);
+
+			progressMonitor.onUpdateProgress(finishedQueries.incrementAndGet(), totalQueries);
+
+			// delay to avoid flooding the SPARQL endpoint
+			if (batchIt.hasNext() && queryDelayMillis > 0) {
+				Thread.sleep(queryDelayMillis);
+			}
+		}
+
+		return referencingResources;
+	}
+
+	private void rankBatchForConnection(
+		List<IRI> concepts,
+		RepositoryConnection connection,
+		Map<Resource, Set<IRI>> referencingResources)
+	{
+		String query = createInLinksQuery(concepts);
+		Map<Resource, Set<IRI>> batchReferencingResources = new HashMap<>();
+		for (IRI concept : concepts) {
+			batchReferencingResources.put(concept, new HashSet<IRI>());
+		}
 
         try {
             TupleQueryResult result = connection.prepareTupleQuery(QueryLanguage.SPARQL, query).evaluate();
-            addToConceptsRankMap(concept, result);
+            try {
+                addReferencingResourcesOnOtherHost(result, batchReferencingResources);
+            }
+            finally {
+                result.close();
+            }
         }
-        catch (Exception e) {
-            logger.error("Error evaluating query '" +query);
+        catch (RDF4JException e) {
+            // the concepts of the batch are left out instead of being reported as unreferenced
+            logger.error("Error evaluating query '" +query+ "'", e);
+            return;
         }
+
+        // added only once the whole result has been read
+        addToConceptsRankMap(batchReferencingResources, referencingResources);
 	}
-	
-	private void addToConceptsRankMap(Resource concept, TupleQueryResult result)
-		throws QueryEvaluationException 
-	{
-		Set<IRI> referencingResourcesOnOtherHost =
-			getReferencingResourcesOnOtherHost(concept, result);
 
-		Set<IRI> allReferencingResources = conceptReferencingResources.get(concept);
-		if (allReferencingResources == null) {
-			allReferencingResources = new HashSet<>();
-			conceptReferencingResources.put(concept, allReferencingResources);
+	private String createInLinksQuery(Collection<IRI> concepts) {
+		StringBuilder values = new StringBuilder();
+		for (IRI concept : concepts) {
+			values.append("<").append(concept.stringValue()).append("> ");
 		}
-		allReferencingResources.addAll(referencingResourcesOnOtherHost);
+
+		return "SELECT DISTINCT ?resource ?concept WHERE {" +
+			"VALUES ?concept {" +values+ "} " +
+			"?resource ?p ?concept " +
+			"FILTER (isIRI(?resource) && STRSTARTS(STR(?resource), \"http\"))}";
 	}
-	
-	private Set<IRI> getReferencingResourcesOnOtherHost(
-            Value concept,
-		TupleQueryResult result) throws QueryEvaluationException 
+
+	private void addToConceptsRankMap(
+		Map<Resource, Set<IRI>> referencingResources,
+		Map<Resource, Set<IRI>> allConceptReferencingResources)
+	{
+		for (Map.Entry<Resource, Set<IRI>> entry : referencingResources.entrySet()) {
+			Set<IRI> allReferencingResources = allConceptReferencingResources.get(entry.getKey());
+			if (allReferencingResources == null) {
+				allReferencingResources = new HashSet<>();
+				allConceptReferencingResources.put(entry.getKey(), allReferencingResources);
+			}
+			allReferencingResources.addAll(entry.getValue());
+		}
+	}
+
+	private void addReferencingResourcesOnOtherHost(
+		TupleQueryResult result,
+		Map<Resource, Set<IRI>> referencingResources) throws QueryEvaluationException
 	{
-		Set<IRI> referencingResourcesOnOtherHost = new HashSet<>();
-		
 		while (result.hasNext()) {
-			Value referencingResource = result.next().getValue("resource");
-			
+			BindingSet bindingSet = result.next();
+			Value concept = bindingSet.getValue("concept");
+			Value referencingResource = bindingSet.getValue("resource");
+
 			try {
 				if (referencingResource instanceof IRI &&
-                    concept instanceof IRI &&
+					concept instanceof IRI &&
+					referencingResources.containsKey(concept) &&
 					isDistinctHost((IRI) concept, (IRI) referencingResource))
 				{
-					referencingResourcesOnOtherHost.add((IRI) referencingResource);
+					referencingResources.get(concept).add((IRI) referencingResource);
 				}
 			}
 			catch (URISyntaxException e) {
 				// should never happen => don't add to list
 			}
 		}
-		
-		return referencingResourcesOnOtherHost;
 	}
 
 	private boolean isDistinctHost(IRI resource, IRI otherResource)
@@ -178,6 +278,16 @@ public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>
         queryDelayMillis = delayMillis;
     }
 
+    /**
+     * @param queryBatchSize number of concepts whose in-links are looked up with a single query
+     */
+    public void setQueryBatchSize(int queryBatchSize) {
+        if (queryBatchSize < 1) {
+            throw new IllegalArgumentException("Query batch size must be at least 1");
+        }
+        this.queryBatchSize = queryBatchSize;
+    }
+
     public void setSubsetSize(Float subsetSizePercent) {
         randomSubsetSize_percent = subsetSizePercent;
     }
@@ -187,7 +297,18 @@ public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>
      * other repositories. This is only useful for in-link testing purposes.
      */
     public void addRepositoryLoopback() throws RDF4JException {
-        connections.add(repCon);
+        addRepositoryConnection(repCon, "loopback");
+    }
+
+    /**
+     * Adds a repository that is queried for in-links, e.g., a local copy of another dataset.
+     *
+     * @param connection connection to the repository
+     * @param sourceName identifies the repository in the issue's settings
+     */
+    public void addRepositoryConnection(RepositoryConnection connection, String sourceName) {
+        connections.add(connection);
+        inLinkSources.add(sourceName);
     }
 
     /**
@@ -198,7 +319,20 @@ public class MissingInLinks extends Issue<ExtrapolatedCollectionResult<Resource>
     public void addSparqlEndPoint(String endpointUrl) throws RDF4JException {
         Repository repo = new SPARQLRepository(endpointUrl);
         repo.initialize();
-        connections.add(repo.getConnection());
+        addRepositoryConnection(repo.getConnection(), endpointUrl);
+    }
+
+    /**
+     * Not cacheable, links from other datasets change independently of the vocabulary
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected String getSettings() {
+        return "subsetSize=" +randomSubsetSize_percent+ ", sources=" +inLinkSources;
     }
 
 }
@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.issues.labels;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.SharedIssueState;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelConflict;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabeledConcept;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.ResourceLabelsCollector;
@@ -11,6 +12,7 @@ import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -97,6 +99,11 @@ public class DisjointLabelsViolations extends Issue<LabelConflictsResult> {
         return (resource1.getConcept() == resource2.getConcept()) && (resource1.getLabelType() != resource2.getLabelType());
     }
 
+    @Override
+    public Collection<SharedIssueState> getSharedState() {
+        return Collections.<SharedIssueState>singleton(resourceLabelsCollector);
+    }
+
     @Override
     public void setRepositoryConnection(RepositoryConnection repCon) {
         resourceLabelsCollector.setRepositoryConnection(repCon);
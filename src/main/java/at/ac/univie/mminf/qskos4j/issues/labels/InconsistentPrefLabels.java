@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.issues.labels;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.SharedIssueState;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelConflict;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelType;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabeledConcept;
@@ -13,6 +14,7 @@ import org.eclipse.rdf4j.repository.RepositoryConnection;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -106,6 +108,11 @@ public class InconsistentPrefLabels extends Issue<LabelConflictsResult> {
         return false;
     }
 
+    @Override
+    public Collection<SharedIssueState> getSharedState() {
+        return Collections.<SharedIssueState>singleton(resourceLabelsCollector);
+    }
+
     @Override
     public void setRepositoryConnection(RepositoryConnection repCon) {
         resourceLabelsCollector.setRepositoryConnection(repCon);
@@ -1,40 +1,55 @@
 package at.ac.univie.mminf.qskos4j.issues.labels;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.SharedIssueState;
 import at.ac.univie.mminf.qskos4j.issues.concepts.AuthoritativeConcepts;
 import at.ac.univie.mminf.qskos4j.issues.conceptscheme.ConceptSchemes;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelType;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.ResourceLabelsCollector;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 public class MissingLabels extends Issue<CollectionResult<Resource>> {
 
-    private final Logger logger = LoggerFactory.getLogger(MissingLabels.class);
-
     private Collection<Resource> unlabeledConceptsAndConceptSchemes;
     private AuthoritativeConcepts allAuthConcepts;
     private ConceptSchemes allConceptSchemes;
+    private ResourceLabelsCollector resourceLabelsCollector;
 
     public MissingLabels(AuthoritativeConcepts authConcepts, ConceptSchemes conceptSchemes) {
+        this(authConcepts, conceptSchemes, new ResourceLabelsCollector());
+    }
+
+    public MissingLabels(
+        AuthoritativeConcepts authConcepts,
+        ConceptSchemes conceptSchemes,
+        ResourceLabelsCollector resourceLabelsCollector)
+    {
         super(new IssueDescriptor.Builder("ml",
             "Missing Labels",
             "Finds concepts and conceptschemes with missing labels",
             IssueDescriptor.IssueType.ANALYTICAL)
                 .weblink("https://github.com/cmader/qSKOS/wiki/Quality-Issues#missing-labels")
+                .dependentIssue(authConcepts)
+                .dependentIssue(conceptSchemes)
                 .build());
 
         this.allAuthConcepts = authConcepts;
         this.allConceptSchemes = conceptSchemes;
+        this.resourceLabelsCollector = resourceLabelsCollector;
     }
 
     @Override
@@ -47,26 +62,43 @@ public class MissingLabels extends Issue<CollectionResult<Resource>> {
         return new CollectionResult<>(unlabeledConceptsAndConceptSchemes);
     }
 
-    private Collection<Resource> findUnlabeledConcepts() throws RDF4JException {
-        Collection<Resource> unlabeledConcepts = new ArrayList<Resource>();
+    @Override
+    protected CollectionResult<Resource> invokeIncremental(
+        CollectionResult<Resource> previousResult,
+        Changeset changeset) throws RDF4JException
+    {
+        Set<Resource> affectedResources = changeset.getAffectedResources();
+        Set<Resource> authConcepts = new HashSet<>(allAuthConcepts.getResult().getData());
+        Set<Resource> conceptSchemes = new HashSet<>(allConceptSchemes.getResult().getData());
 
-        for (Resource authConcept : allAuthConcepts.getResult().getData()) {
-            if (hasNoPrefLabel(authConcept)) unlabeledConcepts.add(authConcept);
+        unlabeledConceptsAndConceptSchemes = new ArrayList<>();
+        for (Resource resource : previousResult.getData()) {
+            if (!affectedResources.contains(resource)) unlabeledConceptsAndConceptSchemes.add(resource);
+        }
+        for (Resource resource : affectedResources) {
+            if (authConcepts.contains(resource) &&
+                !resourceLabelsCollector.hasLabel(resource, LabelType.PREF_LABEL))
+            {
+                unlabeledConceptsAndConceptSchemes.add(resource);
+            }
+            if (conceptSchemes.contains(resource) && hasNoRdfsLabelAndNoDcTitle(resource)) {
+                unlabeledConceptsAndConceptSchemes.add(resource);
+            }
         }
 
-        return unlabeledConcepts;
+        return new CollectionResult<>(unlabeledConceptsAndConceptSchemes);
     }
 
-    private boolean hasNoPrefLabel(Value concept) {
-        String prefLabelQuery = SparqlPrefix.SKOS + " ASK {<" +concept+ "> skos:prefLabel ?label} ";
+    private Collection<Resource> findUnlabeledConcepts() throws RDF4JException {
+        Collection<Resource> unlabeledConcepts = new ArrayList<Resource>();
 
-        try {
-            return !repCon.prepareBooleanQuery(QueryLanguage.SPARQL, prefLabelQuery).evaluate();
-        }
-        catch (RDF4JException e) {
-            logger.error("Error finding preferred label of concept '" +concept.stringValue()+ "'");
-            return false;
+        for (Resource authConcept : allAuthConcepts.getResult().getData()) {
+            if (!resourceLabelsCollector.hasLabel(authConcept, LabelType.PREF_LABEL)) {
+                unlabeledConcepts.add(authConcept);
+            }
         }
+
+        return unlabeledConcepts;
     }
 
     private Collection<Resource> findUnlabeledConceptSchemes() throws RDF4JException {
@@ -91,10 +123,13 @@ public class MissingLabels extends Issue<CollectionResult<Resource>> {
     }
 
     @Override
-    public void setRepositoryConnection(RepositoryConnection repCon) {
-        allAuthConcepts.setRepositoryConnection(repCon);
-        allConceptSchemes.setRepositoryConnection(repCon);
+    public Collection<SharedIssueState> getSharedState() {
+        return Collections.<SharedIssueState>singleton(resourceLabelsCollector);
+    }
 
+    @Override
+    public void setRepositoryConnection(RepositoryConnection repCon) {
+        resourceLabelsCollector.setRepositoryConnection(repCon);
         super.setRepositoryConnection(repCon);
     }
 }
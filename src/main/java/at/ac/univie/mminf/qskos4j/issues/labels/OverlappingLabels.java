@@ -1,22 +1,20 @@
 package at.ac.univie.mminf.qskos4j.issues.labels;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.SharedIssueState;
 import at.ac.univie.mminf.qskos4j.issues.concepts.InvolvedConcepts;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelConflict;
-import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelType;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.LabeledConcept;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.ResourceLabelsCollector;
 import at.ac.univie.mminf.qskos4j.issues.labels.util.SimilarityLiteral;
 import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
-import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.model.Value;
-import org.eclipse.rdf4j.query.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
 
 import java.util.*;
 
@@ -27,13 +25,16 @@ import java.util.*;
  */
 public class OverlappingLabels extends Issue<CollectionResult<LabelConflict>> {
 
-	private final Logger logger = LoggerFactory.getLogger(OverlappingLabels.class);
-
 	private Set<LabelConflict> labelConflicts;
 	private Map<Literal, Set<LabeledConcept>> conceptLabels;
     private InvolvedConcepts involvedConcepts;
+    private ResourceLabelsCollector resourceLabelsCollector;
 
     public OverlappingLabels(InvolvedConcepts involvedConcepts) {
+        this(involvedConcepts, new ResourceLabelsCollector());
+    }
+
+    public OverlappingLabels(InvolvedConcepts involvedConcepts, ResourceLabelsCollector resourceLabelsCollector) {
         super(new IssueDescriptor.Builder("ol",
             "Overlapping Labels",
             "Finds concepts with similar (identical) labels",
@@ -43,6 +44,7 @@ public class OverlappingLabels extends Issue<CollectionResult<LabelConflict>> {
                 .build());
 
         this.involvedConcepts = involvedConcepts;
+        this.resourceLabelsCollector = resourceLabelsCollector;
     }
 
     @Override
@@ -53,40 +55,71 @@ public class OverlappingLabels extends Issue<CollectionResult<LabelConflict>> {
 		return new CollectionResult<LabelConflict>(labelConflicts);
 	}
 
+    /**
+     * Only the labels similar to a label of an affected resource or to a literal in the changeset are compared again.
+     */
+    @Override
+    protected CollectionResult<LabelConflict> invokeIncremental(
+        CollectionResult<LabelConflict> previousResult,
+        Changeset changeset) throws RDF4JException
+    {
+        // the previous result was read from a result cache, without the labels it was computed from
+        if (conceptLabels == null) return null;
+
+        Set<Literal> affectedLiterals = new HashSet<>();
+        for (Literal literal : changeset.getAffectedLiterals()) {
+            affectedLiterals.add(new SimilarityLiteral(literal));
+        }
+        for (Resource resource : changeset.getAffectedResources()) {
+            for (LabeledConcept label : resourceLabelsCollector.getLabeledConcepts(resource)) {
+                affectedLiterals.add(new SimilarityLiteral(label.getLiteral()));
+            }
+        }
+
+        Set<Resource> concepts = new HashSet<>(involvedConcepts.getResult().getData());
+        Map<Literal, Collection<LabeledConcept>> labelsBySimilarLiteral =
+            resourceLabelsCollector.getLabeledConceptsBySimilarLiteral();
+
+        for (Literal literal : affectedLiterals) {
+            Collection<LabeledConcept> similarLabels = labelsBySimilarLiteral.get(literal);
+            if (similarLabels == null) {
+                conceptLabels.remove(literal);
+            }
+            else {
+                conceptLabels.put(literal, findAffectedConcepts(similarLabels, concepts));
+            }
+        }
+        generateLabelConflictResults();
+
+        return new CollectionResult<LabelConflict>(labelConflicts);
+    }
+
     private void generateConceptsLabelMap() throws RDF4JException
 	{
 		conceptLabels = new HashMap<Literal, Set<LabeledConcept>>();
-        Iterator<Resource> it = new MonitoredIterator<Resource>(involvedConcepts.getResult().getData(), progressMonitor);
+        Set<Resource> concepts = new HashSet<>(involvedConcepts.getResult().getData());
+        Iterator<Map.Entry<Literal, Collection<LabeledConcept>>> it = new MonitoredIterator<>(
+            resourceLabelsCollector.getLabeledConceptsBySimilarLiteral().entrySet(),
+            progressMonitor);
 
-        progressMonitor.setTaskDescription("Collecting resource labels");
+        progressMonitor.setTaskDescription("Finding overlapping labels");
 		while (it.hasNext()) {
-            Resource concept = it.next();
-
-            try {
-                TupleQuery query = repCon.prepareTupleQuery(QueryLanguage.SPARQL, createConceptLabelQuery(concept));
-                Set<LabeledConcept> labeledConcepts = createLabeledConceptsFromResult(concept, query.evaluate());
-                addToLabelsMap(labeledConcepts);
-            }
-            catch (RDF4JException e) {
-                logger.error("Error finding labels of concept '" +concept+ "'");
-            }
+            Map.Entry<Literal, Collection<LabeledConcept>> similarLabels = it.next();
+            conceptLabels.put(similarLabels.getKey(), findAffectedConcepts(similarLabels.getValue(), concepts));
 		}
 	}
 
-    private void addToLabelsMap(Set<LabeledConcept> labels) {
-        for (LabeledConcept label : labels) {
-            SimilarityLiteral literal = new SimilarityLiteral(label.getLiteral());
+    private Set<LabeledConcept> findAffectedConcepts(Collection<LabeledConcept> similarLabels, Set<Resource> concepts) {
+        Set<LabeledConcept> affectedConcepts = new HashSet<>();
 
-            Set<LabeledConcept> affectedConcepts = conceptLabels.get(literal);
-            if (affectedConcepts == null) {
-                affectedConcepts = new HashSet<>();
-            }
+        for (LabeledConcept label : similarLabels) {
+            if (!concepts.contains(label.getConcept())) continue;
 
             // We're not interested in conflicts within the same concept
             addIfResourceUnique(label, affectedConcepts);
-
-            conceptLabels.put(literal, affectedConcepts);
         }
+
+        return affectedConcepts;
     }
 
     private void addIfResourceUnique(LabeledConcept newLabeledResource, Set<LabeledConcept> otherLabeledResources) {
@@ -96,55 +129,6 @@ public class OverlappingLabels extends Issue<CollectionResult<LabelConflict>> {
         otherLabeledResources.add(newLabeledResource);
     }
 
-	private String createConceptLabelQuery(Value concept) {
-		return SparqlPrefix.SKOS+ 
-			"SELECT ?prefLabel ?altLabel ?hiddenLabel "+
-				"WHERE {{<"+concept.stringValue()+"> skos:prefLabel ?prefLabel .} UNION "+
-				"{<"+concept.stringValue()+"> skos:altLabel ?altLabel .} UNION "+
-				"{<"+concept.stringValue()+"> skos:hiddenLabel ?hiddenLabel .}}";
-	}
-	
-	private Set<LabeledConcept> createLabeledConceptsFromResult(Resource concept, TupleQueryResult result)
-		throws QueryEvaluationException 
-	{
-		Set<LabeledConcept> ret = new HashSet<LabeledConcept>();
-		
-		while (result.hasNext()) {
-			BindingSet queryResult = result.next();
-
-			for (String bindingName : queryResult.getBindingNames()) {
-                try {
-                    Literal literal = (Literal) queryResult.getValue(bindingName);
-
-                    LabeledConcept skosLabel = new LabeledConcept(
-                        concept,
-                        literal,
-                        getLabelTypeForBindingName(bindingName));
-
-                    ret.add(skosLabel);
-                }
-                catch (ClassCastException e) {
-                    logger.error("Literal label expected for concept " +concept.toString()+ ", " +e.toString());
-                }
-			}			
-		}
-		
-		return ret;
-	}	
-	
-	private LabelType getLabelTypeForBindingName(String bindingName) {
-		if (bindingName.equals("prefLabel")) {
-			return LabelType.PREF_LABEL;
-		}
-		if (bindingName.equals("altLabel")) {
-			return LabelType.ALT_LABEL;
-		}
-		if (bindingName.equals("hiddenLabel")) {
-			return LabelType.HIDDEN_LABEL;
-		}
-		return null;
-	}
-
     private void generateLabelConflictResults() {
         labelConflicts = new HashSet<LabelConflict>();
 
@@ -155,4 +139,16 @@ public class OverlappingLabels extends Issue<CollectionResult<LabelConflict>> {
         }
     }
 
+    @Override
+    public Collection<SharedIssueState> getSharedState() {
+        return Collections.<SharedIssueState>singleton(resourceLabelsCollector);
+    }
+
+    @Override
+    public void setRepositoryConnection(RepositoryConnection repCon) {
+        resourceLabelsCollector.setRepositoryConnection(repCon);
+        conceptLabels = null;
+        super.setRepositoryConnection(repCon);
+    }
+
 }
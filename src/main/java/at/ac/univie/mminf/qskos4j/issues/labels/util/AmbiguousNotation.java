@@ -1,8 +1,11 @@
 package at.ac.univie.mminf.qskos4j.issues.labels.util;
 
+import java.io.Serializable;
+
 /**
  * Created by christian on 26.09.14.
  */
-public abstract class AmbiguousNotation {
+public abstract class AmbiguousNotation implements Serializable {
 
+    private final static long serialVersionUID = 1L;
 }
@@ -12,6 +12,8 @@ import java.util.Iterator;
  */
 public class AmbiguousNotationMultipleResources extends AmbiguousNotation {
 
+    private final static long serialVersionUID = 1L;
+
     private Literal notation;
     private Collection<Resource> conflictingResources;
 
@@ -11,6 +11,8 @@ import java.util.Iterator;
  */
 public class AmbiguousNotationWithinOneResource extends AmbiguousNotation {
 
+    private final static long serialVersionUID = 1L;
+
     private Resource authConcept;
     private Collection<Literal> notationsForConcept;
 
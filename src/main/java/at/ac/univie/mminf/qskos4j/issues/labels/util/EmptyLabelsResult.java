@@ -1,5 +1,6 @@
 package at.ac.univie.mminf.qskos4j.issues.labels.util;
 
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import org.eclipse.rdf4j.model.Resource;
 
@@ -10,6 +11,8 @@ import java.util.Map;
 
 public class EmptyLabelsResult extends Result<Map<Resource, Collection<LabelType>>> {
 
+    private final static long serialVersionUID = 1L;
+
     public EmptyLabelsResult(Map<Resource, Collection<LabelType>> data) {
         super(data);
     }
@@ -29,9 +32,17 @@ public class EmptyLabelsResult extends Result<Map<Resource, Collection<LabelType
         return getData().keySet().size();
     }
 
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        for (Map.Entry<Resource, Collection<LabelType>> entry : getData().entrySet()) {
+            writer.startFinding().field("resource", entry.getKey()).field("labelTypes", entry.getValue()).endRecord();
+        }
+    }
+
     private void generateExtensiveTextReport(BufferedWriter writer) throws IOException {
-        for (Resource resource : getData().keySet()) {
-            writer.write(resource.stringValue() +": "+ getData().get(resource).toString() +"\n");
+        for (Map.Entry<Resource, Collection<LabelType>> entry : getData().entrySet()) {
+            writer.write(entry.getKey().stringValue() +": "+ entry.getValue().toString() +"\n");
+            endEntry(writer);
         }
     }
 }
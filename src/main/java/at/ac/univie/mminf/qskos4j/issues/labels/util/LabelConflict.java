@@ -1,12 +1,18 @@
 package at.ac.univie.mminf.qskos4j.issues.labels.util;
 
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.JsonReportable;
 import org.eclipse.rdf4j.model.Resource;
 
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
 
-public class LabelConflict {
+public class LabelConflict implements JsonReportable, Serializable {
+
+    private final static long serialVersionUID = 1L;
 
     private Set<LabeledConcept> conflicts;
 
@@ -36,6 +42,11 @@ public class LabelConflict {
 		return conflicts;
 	}
 
+    @Override
+    public void writeJsonFields(JsonReportWriter writer) throws IOException {
+        writer.field("resources", getAffectedResources()).field("labels", conflicts);
+    }
+
 	@Override
 	public String toString() {
         return conflicts.toString();
@@ -10,6 +10,8 @@ import java.util.HashSet;
 
 public class LabelConflictsResult extends CollectionResult<LabelConflict> {
 
+    private final static long serialVersionUID = 1L;
+
     public LabelConflictsResult(Collection<LabelConflict> data) {
         super(data);
     }
@@ -36,10 +38,12 @@ public class LabelConflictsResult extends CollectionResult<LabelConflict> {
         return distinctConcepts;
     }
 
-    private void generateExtensiveTextReport(BufferedWriter writer) throws IOException {
+    @Override
+    protected void generateExtensiveTextReport(BufferedWriter writer) throws IOException {
         for (LabelConflict labelConflict : getData()) {
             writer.write(labelConflict.toString());
             writer.write("\n");
+            endEntry(writer);
         }
     }
 
@@ -1,9 +1,16 @@
 package at.ac.univie.mminf.qskos4j.issues.labels.util;
 
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.JsonReportable;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
 
-public class LabeledConcept {
+import java.io.IOException;
+import java.io.Serializable;
+
+public class LabeledConcept implements JsonReportable, Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	private Literal literal;
 	private LabelType labelType;
@@ -28,6 +35,14 @@ public class LabeledConcept {
         return labelType;
     }
 
+    @Override
+    public void writeJsonFields(JsonReportWriter writer) throws IOException {
+        writer.field("resource", concept)
+            .field("label", literal.getLabel())
+            .field("language", literal.getLanguage().orElse(null))
+            .field("labelType", labelType);
+    }
+
 	@Override
 	public String toString() {
 		return concept +" ("+ literal +", "+ labelType +")";
@@ -1,73 +1,175 @@
 package at.ac.univie.mminf.qskos4j.issues.labels.util;
 
+import at.ac.univie.mminf.qskos4j.issues.SharedIssueState;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.query.BindingSet;
-import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
-import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
-public class ResourceLabelsCollector {
+/**
+ * Index of the SKOS labels (prefLabel, altLabel, hiddenLabel) of all resources in the repository. The index is
+ * built once by scanning the statements of each label property and is reused until a new repository connection is
+ * set. Changesets only cause the labels of the affected resources to be looked up again. Labels that are not
+ * literals are not part of the index, but still count for {@link #hasLabel(Resource, LabelType)}.
+ */
+public class ResourceLabelsCollector implements SharedIssueState {
 
     private final Logger logger = LoggerFactory.getLogger(ResourceLabelsCollector.class);
 
     private RepositoryConnection repCon;
     private Collection<LabeledConcept> labeledResources;
+    private Map<Resource, Collection<LabeledConcept>> labelsByResource;
+    private Map<Resource, Set<LabelType>> labelTypesByResource;
+    private Map<Literal, Collection<LabeledConcept>> labelsBySimilarLiteral;
+    private Changeset lastChangeset;
 
-    public Collection<LabeledConcept> getLabeledConcepts() {
-        labeledResources = new HashSet<LabeledConcept>();
-        createLabeledResources();
+    /**
+     * @return all labels of all resources
+     */
+    public Collection<LabeledConcept> getLabeledConcepts() throws RDF4JException {
+        createIndex();
         return labeledResources;
     }
 
-    private void createLabeledResources() {
+    /**
+     * @return the labels of the given resource, an empty collection if it has no SKOS labels
+     */
+    public Collection<LabeledConcept> getLabeledConcepts(Resource resource) throws RDF4JException {
+        createIndex();
+        Collection<LabeledConcept> labels = labelsByResource.get(resource);
+        return labels == null ? Collections.<LabeledConcept>emptySet() : labels;
+    }
+
+    /**
+     * @return the labels grouped by their {@link SimilarityLiteral}, i.e., labels that differ only in case
+     * end up in the same group
+     */
+    public Map<Literal, Collection<LabeledConcept>> getLabeledConceptsBySimilarLiteral() throws RDF4JException {
+        createIndex();
+        return labelsBySimilarLiteral;
+    }
+
+    /**
+     * @return true if the resource has a label of the given type, regardless of whether the label is a literal
+     */
+    public boolean hasLabel(Resource resource, LabelType labelType) throws RDF4JException {
+        createIndex();
+        Set<LabelType> labelTypes = labelTypesByResource.get(resource);
+        return labelTypes != null && labelTypes.contains(labelType);
+    }
+
+    private void createIndex() throws RDF4JException {
+        if (labeledResources != null) return;
+
+        logger.info("Collecting resource labels");
+        labeledResources = new HashSet<>();
+        labelsByResource = new HashMap<>();
+        labelTypesByResource = new HashMap<>();
+        labelsBySimilarLiteral = new HashMap<>();
+
         for (LabelType labelType : LabelType.getSkosLabels()) {
-            String labelQuery = createLabelQuery(labelType);
-            try {
-                TupleQueryResult result = repCon.prepareTupleQuery(QueryLanguage.SPARQL, labelQuery).evaluate();
-                addResultToLabels(labelType, result);
-            }
-            catch (RDF4JException e) {
-                logger.error("error querying repository: " +labelQuery);
+            addLabels(null, labelType);
+        }
+    }
+
+    /**
+     * @param resource resource whose labels are added, null to add the labels of all resources
+     */
+    private void addLabels(Resource resource, LabelType labelType) throws RDF4JException {
+        IRI labelProperty = repCon.getValueFactory().createIRI(labelType.getPredicate());
+        RepositoryResult<Statement> labelStatements = repCon.getStatements(resource, labelProperty, null, true);
+
+        try {
+            while (labelStatements.hasNext()) {
+                Statement statement = labelStatements.next();
+                addLabel(statement.getSubject(), statement.getObject(), labelType);
             }
         }
+        finally {
+            labelStatements.close();
+        }
+    }
+
+    private void addLabel(Resource resource, Value label, LabelType labelType) {
+        Set<LabelType> labelTypes = labelTypesByResource.get(resource);
+        if (labelTypes == null) {
+            labelTypes = EnumSet.noneOf(LabelType.class);
+            labelTypesByResource.put(resource, labelTypes);
+        }
+        labelTypes.add(labelType);
+
+        if (!(label instanceof Literal)) {
+            logger.error("Literal label expected for resource " +resource.toString()+ ", found " +label.toString());
+            return;
+        }
+
+        LabeledConcept labeledConcept = new LabeledConcept(resource, (Literal) label, labelType);
+        if (!labeledResources.add(labeledConcept)) return;
+
+        addToIndex(labelsByResource, resource, labeledConcept);
+        addToIndex(labelsBySimilarLiteral, new SimilarityLiteral((Literal) label), labeledConcept);
     }
 
-    private String createLabelQuery(LabelType labelType) {
-        return "SELECT DISTINCT ?resource ?label"+
-            "{" +
-                "?resource <"+labelType.getPredicate()+"> ?label ." +
-            "}";
+    private <K> void addToIndex(Map<K, Collection<LabeledConcept>> index, K key, LabeledConcept labeledConcept) {
+        Collection<LabeledConcept> labeledConcepts = index.get(key);
+        if (labeledConcepts == null) {
+            labeledConcepts = new HashSet<>();
+            index.put(key, labeledConcepts);
+        }
+        labeledConcepts.add(labeledConcept);
     }
 
-    private void addResultToLabels(LabelType labelType, TupleQueryResult result) throws QueryEvaluationException
-    {
-        while (result.hasNext()) {
-            BindingSet queryResult = result.next();
-            Resource resource = (Resource) queryResult.getValue("resource");
+    private void removeLabels(Resource resource) {
+        labelTypesByResource.remove(resource);
+        Collection<LabeledConcept> labels = labelsByResource.remove(resource);
+        if (labels == null) return;
 
-            try {
-                Literal label = (Literal) queryResult.getValue("label");
+        for (LabeledConcept labeledConcept : labels) {
+            labeledResources.remove(labeledConcept);
 
-                if (label != null) {
-                    labeledResources.add(new LabeledConcept(resource, label, labelType));
-                }
-            }
-            catch (ClassCastException e) {
-                logger.error("Literal label expected for resource " +resource.toString()+ ", " +e.toString());
-            }
+            Literal similarLiteral = new SimilarityLiteral(labeledConcept.getLiteral());
+            Collection<LabeledConcept> similarLabels = labelsBySimilarLiteral.get(similarLiteral);
+            similarLabels.remove(labeledConcept);
+            if (similarLabels.isEmpty()) labelsBySimilarLiteral.remove(similarLiteral);
         }
     }
 
     public void setRepositoryConnection(RepositoryConnection repCon) {
         this.repCon = repCon;
+        labeledResources = null;
+    }
+
+    @Override
+    public void useConnection(RepositoryConnection repCon) {
+        this.repCon = repCon;
+    }
+
+    @Override
+    public void update(Changeset changeset) throws RDF4JException {
+        if (labeledResources == null || changeset == lastChangeset) return;
+        lastChangeset = changeset;
+
+        for (Resource resource : changeset.getAffectedResources()) {
+            removeLabels(resource);
+            for (LabelType labelType : LabelType.getSkosLabels()) {
+                addLabels(resource, labelType);
+            }
+        }
     }
 
 }
@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.issues.language;
 
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import org.eclipse.rdf4j.model.Resource;
 
@@ -13,6 +14,8 @@ import java.util.Map.Entry;
 
 public class IncompleteLangCovResult extends Result<Map<Resource, Collection<String>>> {
 
+    private final static long serialVersionUID = 1L;
+
     IncompleteLangCovResult(Map<Resource, Collection<String>> data) {
 		super(data);
 	}
@@ -26,28 +29,32 @@ public class IncompleteLangCovResult extends Result<Map<Resource, Collection<Str
                 break;
 
             case EXTENSIVE:
-                writer.write(generateExtensiveTextReport());
+                generateExtensiveTextReport(writer);
                 break;
         }
 
     }
 
-	private String generateExtensiveTextReport() {
-        StringBuilder extensiveReport = new StringBuilder();
-
+	private void generateExtensiveTextReport(BufferedWriter writer) throws IOException {
         Iterator<Entry<Resource, Collection<String>>> entryIt = getData().entrySet().iterator();
         while (entryIt.hasNext()) {
             Entry<Resource, Collection<String>> entry = entryIt.next();
-            extensiveReport.append("concept: '")
-                           .append(entry.getKey().stringValue())
-                           .append("', not covered languages: ")
-                           .append(entry.getValue().toString())
-                           .append(entryIt.hasNext() ? "\n" : "");
+            writer.write("concept: '" +entry.getKey().stringValue()+ "', not covered languages: " +entry.getValue());
+            if (entryIt.hasNext()) writer.write("\n");
+            endEntry(writer);
         }
-
-		return extensiveReport.toString();
 	}
 
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        for (Entry<Resource, Collection<String>> entry : getData().entrySet()) {
+            writer.startFinding()
+                .field("resource", entry.getKey())
+                .field("notCoveredLanguages", entry.getValue())
+                .endRecord();
+        }
+    }
+
     @Override
     public long occurrenceCount() {
         return getData().size();
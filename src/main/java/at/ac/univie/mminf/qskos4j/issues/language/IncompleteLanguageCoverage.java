@@ -2,11 +2,11 @@ package at.ac.univie.mminf.qskos4j.issues.language;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageCoverage;
+import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageCoverageResult;
+import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageIndex;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.*;
 
@@ -15,9 +15,7 @@ import java.util.*;
  */
 public class IncompleteLanguageCoverage extends Issue<IncompleteLangCovResult> {
 
-	private Map<Resource, Collection<String>> incompleteLanguageCoverage;
     private LanguageCoverage languageCoverage;
-	private Set<String> distinctLanguages;
 
     public IncompleteLanguageCoverage(LanguageCoverage languageCoverage) {
         super(new IssueDescriptor.Builder(
@@ -35,39 +33,21 @@ public class IncompleteLanguageCoverage extends Issue<IncompleteLangCovResult> {
 
     @Override
     protected IncompleteLangCovResult invoke() throws RDF4JException {
-		incompleteLanguageCoverage = new HashMap<>();
+		Map<Resource, Collection<String>> incompleteLanguageCoverage = new HashMap<>();
 
-        findDistinctLanguages();
-		generateIncompleteLanguageCoverageMap();
-		
-		return new IncompleteLangCovResult(incompleteLanguageCoverage);
-	}
-
-    private void findDistinctLanguages() throws RDF4JException {
-        distinctLanguages = new HashSet<>();
-        for (Collection<String> languages : languageCoverage.getResult().getData().values()) {
-            distinctLanguages.addAll(languages);
-        }
-    }
-
-	private void generateIncompleteLanguageCoverageMap() throws RDF4JException {
-		incompleteLanguageCoverage = new HashMap<>();
+        LanguageCoverageResult langCovResult = languageCoverage.getResult();
+        LanguageIndex languageIndex = langCovResult.getLanguageIndex();
+        BitSet distinctLanguages = languageIndex.getAllLanguages();
 
-        Map<Resource, Collection<String>> langCovData = languageCoverage.getResult().getData();
-
-		for (Resource resource : langCovData.keySet()) {
-			Collection<String> coveredLanguages = langCovData.get(resource);
-			Collection<String> notCoveredLanguages = getNotCoveredLanguages(coveredLanguages);
+		for (Map.Entry<Resource, BitSet> entry : langCovResult.getCoverage().entrySet()) {
+			BitSet notCoveredLanguages = (BitSet) distinctLanguages.clone();
+			notCoveredLanguages.andNot(entry.getValue());
 			if (!notCoveredLanguages.isEmpty()) {
-				incompleteLanguageCoverage.put(resource, notCoveredLanguages);
+				incompleteLanguageCoverage.put(entry.getKey(), languageIndex.getLanguages(notCoveredLanguages));
 			}
 		}
-	}
-	
-	private Collection<String> getNotCoveredLanguages(Collection<String> coveredLanguages) {
-		Set<String> ret = new HashSet<String>(distinctLanguages);
-		ret.removeAll(coveredLanguages);
-		return ret;
+
+		return new IncompleteLangCovResult(incompleteLanguageCoverage);
 	}
 
 }
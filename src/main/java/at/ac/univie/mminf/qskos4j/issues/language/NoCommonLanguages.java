@@ -3,19 +3,16 @@ package at.ac.univie.mminf.qskos4j.issues.language;
 import at.ac.univie.mminf.qskos4j.issues.Issue;
 import at.ac.univie.mminf.qskos4j.issues.language.util.NoCommonLanguagesResult;
 import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageCoverage;
+import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageCoverageResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import org.eclipse.rdf4j.RDF4JException;
-import org.eclipse.rdf4j.model.Resource;
 
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 public class NoCommonLanguages extends Issue<NoCommonLanguagesResult> {
 
     private LanguageCoverage languageCoverage;
-    private Set<String> commonLanguages;
 
     public NoCommonLanguages(LanguageCoverage languageCoverage) {
         super(new IssueDescriptor.Builder(
@@ -31,23 +28,13 @@ public class NoCommonLanguages extends Issue<NoCommonLanguagesResult> {
 
     @Override
     protected NoCommonLanguagesResult invoke() throws RDF4JException {
-        Map<Resource, Collection<String>> langCovData = languageCoverage.getResult().getData();
-        commonLanguages = new HashSet<>();
+        LanguageCoverageResult langCovResult = languageCoverage.getResult();
+        BitSet commonLanguages = langCovResult.getLanguageIndex().getAllLanguages();
 
-        if (!langCovData.isEmpty()) {
-            for (Collection<String> languages : langCovData.values()) {
-                commonLanguages.addAll(languages);
-            }
-
-            findCommonLanguages();
+        for (BitSet languages : langCovResult.getCoverage().values()) {
+            commonLanguages.and(languages);
         }
 
-        return new NoCommonLanguagesResult(commonLanguages);
-    }
-
-    private void findCommonLanguages() throws RDF4JException {
-        for (Map.Entry<Resource, Collection<String>> entry : languageCoverage.getResult().getData().entrySet()) {
-            commonLanguages.retainAll(entry.getValue());
-        }
+        return new NoCommonLanguagesResult(new HashSet<>(langCovResult.getLanguageIndex().getLanguages(commonLanguages)));
     }
 }
@@ -1,16 +1,17 @@
 package at.ac.univie.mminf.qskos4j.issues.language;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageTagValidator;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import at.ac.univie.mminf.qskos4j.util.vocab.SkosOntology;
-import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
 import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.query.BindingSet;
-import org.eclipse.rdf4j.query.QueryEvaluationException;
-import org.eclipse.rdf4j.query.QueryLanguage;
-import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 
 import java.util.*;
 
@@ -20,7 +21,6 @@ import java.util.*;
 public class OmittedOrInvalidLanguageTags extends Issue<OmittedOrInvalidLanguageTagsResult> {
 
     private Map<Resource, Collection<Literal>> missingLangTags;
-    private Map<String, Boolean> checkedLanguageTags;
 
     public OmittedOrInvalidLanguageTags() {
         super(new IssueDescriptor.Builder("oilt",
@@ -32,88 +32,54 @@ public class OmittedOrInvalidLanguageTags extends Issue<OmittedOrInvalidLanguage
         );
     }
 
+    /**
+     * Scans the statements of every text property, i.e., every subproperty of rdfs:label or skos:note, one after the
+     * other instead of joining all statements against the subproperty statements.
+     */
     @Override
     protected OmittedOrInvalidLanguageTagsResult invoke() throws RDF4JException {
-        TupleQueryResult result = repCon.prepareTupleQuery(QueryLanguage.SPARQL, createMissingLangTagQuery()).evaluate();
-        generateMissingLangTagMap(result);
-
-        return new OmittedOrInvalidLanguageTagsResult(missingLangTags);
-    }
-
-    private String createMissingLangTagQuery() {
-        return SparqlPrefix.SKOS +" "+ SparqlPrefix.SKOSXL +" "+ SparqlPrefix.RDFS +
-                "SELECT ?literal ?s "+
-                "WHERE {" +
-                "?s ?textProp ?literal . " +
-
-                "{?textProp rdfs:subPropertyOf rdfs:label}" +
-                "UNION" +
-                "{?textProp rdfs:subPropertyOf skos:note}" +
-
-                "FILTER isLiteral(?literal) " +
-                "}";
-    }
-
-    private void generateMissingLangTagMap(TupleQueryResult result)
-            throws QueryEvaluationException
-    {
         missingLangTags = new HashMap<Resource, Collection<Literal>>();
-        checkedLanguageTags = new HashMap<String, Boolean>();
-
-        while (result.hasNext()) {
-            BindingSet queryResult = result.next();
-            Resource subject = (Resource) queryResult.getValue("s");
-            Literal literal = (Literal) queryResult.getValue("literal");
 
-            if (!SkosOntology.getInstance().isSkosResource(subject) && hasNoOrInvalidTag(literal)) {
-                addToMissingLangTagMap(subject, literal);
+        for (IRI textProperty : findTextProperties()) {
+            try (RepositoryResult<Statement> statements = repCon.getStatements(null, textProperty, null, true)) {
+                while (statements.hasNext()) {
+                    Statement statement = statements.next();
+                    Resource subject = statement.getSubject();
+
+                    if (statement.getObject() instanceof Literal &&
+                        !SkosOntology.getInstance().isSkosResource(subject) &&
+                        hasNoOrInvalidTag((Literal) statement.getObject()))
+                    {
+                        addToMissingLangTagMap(subject, (Literal) statement.getObject());
+                    }
+                }
             }
         }
-    }
-
-    private boolean hasNoOrInvalidTag(Literal literal) {
-        if (literal.getLanguage().isPresent()) {
-            String langTag = literal.getLanguage().orElse(null);
-            return langTag == null || !isValidLangTag(langTag);
-        } else {
-        	return true;
-        }
-    }
-
-    private boolean isValidLangTag(String langTag) {
-        Boolean validTag = checkedLanguageTags.get(langTag);
-
-        if (validTag == null) {
-            validTag = isSyntacticallyCorrect(langTag) && hasIsoLanguage(langTag);
-            checkedLanguageTags.put(langTag, validTag);
-        }
 
-        return validTag;
+        return new OmittedOrInvalidLanguageTagsResult(missingLangTags);
     }
 
-    private boolean isSyntacticallyCorrect(String langTag) {
-        try {
-            new Locale.Builder().setLanguageTag(langTag);
-        }
-        catch (IllformedLocaleException e) {
-            return false;
-        }
-
-        return true;
+    private Set<IRI> findTextProperties() throws RDF4JException {
+        Set<IRI> textProperties = new HashSet<>();
+        addSubProperties(RDFS.LABEL, textProperties);
+        addSubProperties(SKOS.NOTE, textProperties);
+        return textProperties;
     }
 
-    private boolean hasIsoLanguage(String langTag) {
-        Locale locale = new Locale.Builder().setLanguageTag(langTag).build();
-
-        boolean hasIsoLanguage = false;
-        for (String isoLanguage : Locale.getISOLanguages()) {
-            if (isoLanguage.equalsIgnoreCase(locale.getLanguage())) {
-                hasIsoLanguage = true;
-                break;
+    private void addSubProperties(IRI superProperty, Set<IRI> subProperties) throws RDF4JException {
+        try (RepositoryResult<Statement> statements = repCon.getStatements(
+            null, RDFS.SUBPROPERTYOF, superProperty, true))
+        {
+            while (statements.hasNext()) {
+                Resource subProperty = statements.next().getSubject();
+                if (subProperty instanceof IRI) subProperties.add((IRI) subProperty);
             }
         }
+    }
 
-        return hasIsoLanguage;
+    private boolean hasNoOrInvalidTag(Literal literal) {
+        Optional<String> langTag = literal.getLanguage();
+        return !langTag.isPresent() || !LanguageTagValidator.getInstance().isValid(langTag.get());
     }
 
     private void addToMissingLangTagMap(Resource resource, Literal literal) {
@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.issues.language;
 
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
@@ -13,6 +14,8 @@ import java.util.Map;
 
 public class OmittedOrInvalidLanguageTagsResult extends Result<Map<Resource, Collection<Literal>>> {
 
+    private final static long serialVersionUID = 1L;
+
     OmittedOrInvalidLanguageTagsResult(Map<Resource, Collection<Literal>> data) {
         super(data);
     }
@@ -26,26 +29,34 @@ public class OmittedOrInvalidLanguageTagsResult extends Result<Map<Resource, Col
                 break;
 
             case EXTENSIVE:
-                writer.write(generateExtensiveTextReport());
+                generateExtensiveTextReport(writer);
                 break;
         }
 
     }
 
-    private String generateExtensiveTextReport() {
-        StringBuilder extensiveReport = new StringBuilder();
-
+    private void generateExtensiveTextReport(BufferedWriter writer) throws IOException {
         Iterator<Map.Entry<Resource, Collection<Literal>>> entryIt = getData().entrySet().iterator();
         while (entryIt.hasNext()) {
             Map.Entry<Resource, Collection<Literal>> entry = entryIt.next();
-            extensiveReport.append("concept: '")
-                    .append(entry.getKey().stringValue())
-                    .append("', literals with no or invalid language tags: ")
-                    .append(entry.getValue().toString())
-                    .append(entryIt.hasNext() ? "\n" : "");
+            writer.write("concept: '" +entry.getKey().stringValue()+ "', literals with no or invalid language tags: "
+                +entry.getValue());
+            if (entryIt.hasNext()) writer.write("\n");
+            endEntry(writer);
         }
+    }
 
-        return extensiveReport.toString();
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        for (Map.Entry<Resource, Collection<Literal>> entry : getData().entrySet()) {
+            for (Literal literal : entry.getValue()) {
+                writer.startFinding()
+                    .field("resource", entry.getKey())
+                    .field("label", literal.getLabel())
+                    .field("language", literal.getLanguage().orElse(null))
+                    .endRecord();
+            }
+        }
     }
 
     @Override
@@ -3,18 +3,99 @@ package at.ac.univie.mminf.qskos4j.issues.language.util;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import org.eclipse.rdf4j.model.Resource;
 
-import java.util.Collection;
-import java.util.Map;
+import java.io.Serializable;
+import java.util.*;
 
+/**
+ * Languages of the literals of each concept. They are stored as one {@link BitSet} per concept
+ * ({@link #getCoverage()}) over the ids of a {@link LanguageIndex}, {@link #getData()} decodes them on access.
+ */
 public class LanguageCoverageResult extends Result<Map<Resource, Collection<String>>> {
 
-    protected LanguageCoverageResult(Map<Resource, Collection<String>> data) {
-        super(data);
+    private final static long serialVersionUID = 1L;
+
+    private final Map<Resource, BitSet> coverage;
+    private final LanguageIndex languageIndex;
+
+    protected LanguageCoverageResult(Map<Resource, BitSet> coverage, LanguageIndex languageIndex) {
+        super(new DecodingMap(coverage, languageIndex));
+        this.coverage = coverage;
+        this.languageIndex = languageIndex;
+    }
+
+    /**
+     * @return the set of languages of each concept with at least one language-tagged literal, must not be modified
+     */
+    public Map<Resource, BitSet> getCoverage() {
+        return coverage;
+    }
+
+    public LanguageIndex getLanguageIndex() {
+        return languageIndex;
     }
 
     @Override
     public long occurrenceCount() {
-        return getData().size();
+        return coverage.size();
+    }
+
+    private static class DecodingMap extends AbstractMap<Resource, Collection<String>> implements Serializable {
+
+        private final static long serialVersionUID = 1L;
+
+        private final Map<Resource, BitSet> coverage;
+        private final LanguageIndex languageIndex;
+
+        DecodingMap(Map<Resource, BitSet> coverage, LanguageIndex languageIndex) {
+            this.coverage = coverage;
+            this.languageIndex = languageIndex;
+        }
+
+        @Override
+        public Collection<String> get(Object concept) {
+            BitSet languages = coverage.get(concept);
+            return languages == null ? null : languageIndex.getLanguages(languages);
+        }
+
+        @Override
+        public boolean containsKey(Object concept) {
+            return coverage.containsKey(concept);
+        }
+
+        @Override
+        public int size() {
+            return coverage.size();
+        }
+
+        @Override
+        public Set<Entry<Resource, Collection<String>>> entrySet() {
+            return new AbstractSet<Entry<Resource, Collection<String>>>() {
+                @Override
+                public Iterator<Entry<Resource, Collection<String>>> iterator() {
+                    Iterator<Entry<Resource, BitSet>> it = coverage.entrySet().iterator();
+                    return new Iterator<Entry<Resource, Collection<String>>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Resource, Collection<String>> next() {
+                            Entry<Resource, BitSet> entry = it.next();
+                            return new SimpleImmutableEntry<>(
+                                entry.getKey(),
+                                languageIndex.getLanguages(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return coverage.size();
+                }
+            };
+        }
+
     }
 
 }
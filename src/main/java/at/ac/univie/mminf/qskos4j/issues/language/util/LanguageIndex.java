@@ -0,0 +1,57 @@
+package at.ac.univie.mminf.qskos4j.issues.language.util;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Interns language tags to consecutive integer ids, so that a set of languages can be stored as a {@link BitSet}
+ * whose set bits are the ids of the contained languages.
+ */
+public class LanguageIndex implements Serializable {
+
+    private final static long serialVersionUID = 1L;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> languages = new ArrayList<>();
+
+    /**
+     * @return the id of the language tag, a new one if the tag has not been seen before
+     */
+    int intern(String language) {
+        Integer id = ids.get(language);
+        if (id == null) {
+            id = languages.size();
+            ids.put(language, id);
+            languages.add(language);
+        }
+        return id;
+    }
+
+    /**
+     * @return number of distinct languages
+     */
+    public int size() {
+        return languages.size();
+    }
+
+    /**
+     * @return a new set containing all interned languages
+     */
+    public BitSet getAllLanguages() {
+        BitSet allLanguages = new BitSet(languages.size());
+        allLanguages.set(0, languages.size());
+        return allLanguages;
+    }
+
+    /**
+     * @return the language tags of the set bits, ordered by their id
+     */
+    public List<String> getLanguages(BitSet languageSet) {
+        List<String> languageTags = new ArrayList<>(languageSet.cardinality());
+        for (int id = languageSet.nextSetBit(0); id >= 0; id = languageSet.nextSetBit(id + 1)) {
+            languageTags.add(languages.get(id));
+        }
+        return languageTags;
+    }
+
+}
@@ -0,0 +1,60 @@
+package at.ac.univie.mminf.qskos4j.issues.language.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Checks if language tags are well-formed according to BCP 47 and have an ISO 639 primary language subtag. The
+ * languages known to the JVM are loaded once into a hash set and the outcome for every checked tag is cached, both
+ * are shared by all issues.
+ */
+public class LanguageTagValidator {
+
+    // vocabularies use few distinct tags, this only guards against unbounded growth
+    private final static int MAX_CACHED_TAGS = 10000;
+
+    private static LanguageTagValidator instance;
+
+    private final Set<String> isoLanguages;
+    private final ConcurrentMap<String, Boolean> checkedTags = new ConcurrentHashMap<>();
+
+    public synchronized static LanguageTagValidator getInstance() {
+        if (instance == null) {
+            instance = new LanguageTagValidator();
+        }
+        return instance;
+    }
+
+    private LanguageTagValidator() {
+        Set<String> languages = new HashSet<>();
+        for (String isoLanguage : Locale.getISOLanguages()) {
+            languages.add(isoLanguage.toLowerCase(Locale.ROOT));
+        }
+        isoLanguages = Collections.unmodifiableSet(languages);
+    }
+
+    public boolean isValid(String languageTag) {
+        Boolean valid = checkedTags.get(languageTag);
+
+        if (valid == null) {
+            valid = validate(languageTag);
+            if (checkedTags.size() < MAX_CACHED_TAGS) {
+                checkedTags.put(languageTag, valid);
+            }
+        }
+
+        return valid;
+    }
+
+    private boolean validate(String languageTag) {
+        try {
+            Locale locale = new Locale.Builder().setLanguageTag(languageTag).build();
+            return isoLanguages.contains(locale.getLanguage());
+        }
+        catch (IllformedLocaleException e) {
+            return false;
+        }
+    }
+
+}
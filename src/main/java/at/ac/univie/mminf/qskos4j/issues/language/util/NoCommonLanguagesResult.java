@@ -8,6 +8,8 @@ import java.util.Collection;
 
 public class NoCommonLanguagesResult extends Result<Collection<String>> {
 
+    private final static long serialVersionUID = 1L;
+
     public NoCommonLanguagesResult(Collection<String> data) {
         super(data);
     }
@@ -1,17 +1,16 @@
 package at.ac.univie.mminf.qskos4j.issues.outlinks;
 
 import at.ac.univie.mminf.qskos4j.issues.Issue;
-import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.ExtrapolatedCollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import at.ac.univie.mminf.qskos4j.util.RandomSubSet;
-import at.ac.univie.mminf.qskos4j.util.url.NoContentTypeProvidedException;
-import at.ac.univie.mminf.qskos4j.util.url.UrlDereferencer;
-import at.ac.univie.mminf.qskos4j.util.url.UrlNotDereferencableException;
+import at.ac.univie.mminf.qskos4j.util.url.LinkChecker;
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatusCache;
 import org.eclipse.rdf4j.RDF4JException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URI;
@@ -27,13 +26,15 @@ import java.util.*;
 public class BrokenLinks extends Issue<ExtrapolatedCollectionResult<URL>> {
 	
 	private final Logger logger = LoggerFactory.getLogger(BrokenLinks.class);
-	private final static String NO_CONTENT_TYPE = "n/a";
+	private final static int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
 	
 	private Map<URL, String> urlAvailability = new HashMap<>();
 	private Set<String> invalidResources = new HashSet<>();
     private HttpURIs httpURIs;
-    private Integer extAccessDelayMillis;
+    private int extAccessDelayMillis = 0;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
     private Float randomSubsetSize_percent;
+    private LinkStatusCache linkStatusCache;
 
     public BrokenLinks(HttpURIs httpURIs) {
 		super(new IssueDescriptor.Builder(
@@ -56,27 +57,55 @@ public class BrokenLinks extends Issue<ExtrapolatedCollectionResult<URL>> {
 
     private void dereferenceIRIs() throws RDF4JException
 	{
-		Collection<URI> urisToBeDereferenced = collectUrisToBeDereferenced();
-		Iterator<URI> it = new MonitoredIterator<>(urisToBeDereferenced, progressMonitor);
-		
-		int i = 1;
-		while (it.hasNext()) {
-			URI uri = it.next();
-			
-			logger.debug("processing link " +i+ " of "+urisToBeDereferenced.size());
-			i++;
-			
-			// delay to avoid flooding the vocabulary host  
+		Collection<URL> urlsToBeDereferenced = collectUrlsToBeDereferenced();
+		progressMonitor.reset();
+
+		LinkChecker linkChecker = new LinkChecker(maxConcurrentRequests, extAccessDelayMillis);
+		linkChecker.setLinkStatusCache(linkStatusCache);
+		try {
+			urlAvailability.putAll(linkChecker.checkLinks(urlsToBeDereferenced, progressMonitor));
+		}
+		catch (InterruptedException e) {
+			// an incomplete result must neither be reported nor cached
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while checking links", e);
+		}
+		finally {
 			try {
-				Thread.sleep(extAccessDelayMillis);
-			} 
-			catch (InterruptedException e) {
-				// ignore this exception
+				linkChecker.close();
+			}
+			catch (IOException e) {
+				logger.warn("Error closing link checker", e);
 			}
-			
-			addToResults(uri);
+			saveLinkStatusCache();
 		}
 	}
+
+	private void saveLinkStatusCache() {
+		if (linkStatusCache == null) return;
+
+		try {
+			linkStatusCache.save();
+		}
+		catch (IOException e) {
+			logger.error("Error saving link status cache", e);
+		}
+	}
+
+	private Collection<URL> collectUrlsToBeDereferenced() throws RDF4JException {
+		Collection<URL> urls = new ArrayList<>();
+
+		for (URI uri : collectUrisToBeDereferenced()) {
+			try {
+				urls.add(uri.toURL());
+			}
+			catch (MalformedURLException | IllegalArgumentException e) {
+				invalidResources.add(uri.toString());
+			}
+		}
+
+		return urls;
+	}
 	
 	private Collection<URI> collectUrisToBeDereferenced() throws RDF4JException {
 		if (randomSubsetSize_percent == null) {
@@ -91,34 +120,6 @@ public class BrokenLinks extends Issue<ExtrapolatedCollectionResult<URL>> {
 		return urisToBeDereferenced;
 	}
 	
-	private void addToResults(URI uri) {
-		try {
-			addToAvailabilityMap(uri.toURL());
-		} 
-		catch (MalformedURLException e) {
-			invalidResources.add(uri.toString());
-		}
-	}
-	
-	private void addToAvailabilityMap(URL url) {
-		UrlDereferencer dereferencer = new UrlDereferencer();		
-		
-		String contentType;
-		try {
-			contentType = dereferencer.getContentType(url);
-		}
-		catch (UrlNotDereferencableException e) {
-			contentType = null;
-			logger.debug("url not dereferencable: " +url.toString());
-		} 
-		catch (NoContentTypeProvidedException e) {
-			contentType = NO_CONTENT_TYPE;
-			logger.debug("no content type in response header for " +url.toString());
-		}
-
-		urlAvailability.put(url, contentType);
-	}
-	
 	private Collection<URL> collectUnavailableURLs() {
 		Collection<URL> unavailableURLs = new ArrayList<>();
 		
@@ -131,12 +132,44 @@ public class BrokenLinks extends Issue<ExtrapolatedCollectionResult<URL>> {
 		return unavailableURLs;
 	}
 
+    /**
+     * @param delayMillis delay between two requests to the same host
+     */
     public void setExtAccessDelayMillis(int delayMillis) {
         extAccessDelayMillis = delayMillis;
     }
 
+    /**
+     * @param maxConcurrentRequests maximum number of links that are checked at the same time
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * @param linkStatusCache cache of previously checked links, only links without an up-to-date entry are
+     * dereferenced. May be null.
+     */
+    public void setLinkStatusCache(LinkStatusCache linkStatusCache) {
+        this.linkStatusCache = linkStatusCache;
+    }
+
     public void setSubsetSize(Float subsetSizePercent) {
         randomSubsetSize_percent = subsetSizePercent;
     }
 
+    /**
+     * Not cacheable, the availability of links changes independently of the vocabulary, cached link states expire by
+     * the TTL of the {@link LinkStatusCache}
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected String getSettings() {
+        return "subsetSize=" +randomSubsetSize_percent;
+    }
+
 }
@@ -20,7 +20,7 @@ import java.util.*;
  */
 public class HttpURIs extends Issue<CollectionResult<URI>> {
 
-    private Set<URI> httpURIs = new HashSet<>();
+    private Set<URI> httpURIs;
     private Set<String> invalidResources = new HashSet<>();
 
     public HttpURIs() {
@@ -33,6 +33,7 @@ public class HttpURIs extends Issue<CollectionResult<URI>> {
 
     @Override
     protected CollectionResult<URI> invoke() throws RDF4JException {
+        httpURIs = new HashSet<>();
         RepositoryResult<Statement> result = repCon.getStatements(null, null, null, false, (Resource) null);
         while (result.hasNext()) {
             Statement st = result.next();
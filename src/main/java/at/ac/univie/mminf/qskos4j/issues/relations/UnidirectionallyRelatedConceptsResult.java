@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.issues.relations;
 
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
 import at.ac.univie.mminf.qskos4j.result.Result;
 import at.ac.univie.mminf.qskos4j.util.Tuple;
 import org.eclipse.rdf4j.model.Resource;
@@ -11,6 +12,8 @@ import java.util.Map;
 
 public class UnidirectionallyRelatedConceptsResult extends Result<Map<Tuple<Resource>, String>> {
 
+    private final static long serialVersionUID = 1L;
+
     protected UnidirectionallyRelatedConceptsResult(Map<Tuple<Resource>, String> data) {
         super(data);
     }
@@ -24,20 +27,27 @@ public class UnidirectionallyRelatedConceptsResult extends Result<Map<Tuple<Reso
                 break;
 
             case EXTENSIVE:
-                writer.write(generateExtensiveReport());
+                generateExtensiveReport(writer);
                 break;
         }
     }
 
-    private String generateExtensiveReport()
+    private void generateExtensiveReport(BufferedWriter writer) throws IOException
     {
-        StringBuilder extensiveReport = new StringBuilder();
-
-        for (Tuple<Resource> concepts : getData().keySet()) {
-            extensiveReport.append("concepts: ").append(concepts.toString()).append(", related by: '").append(getData().get(concepts)).append("'\n");
+        for (Map.Entry<Tuple<Resource>, String> entry : getData().entrySet()) {
+            writer.write("concepts: " +entry.getKey().toString()+ ", related by: '" +entry.getValue()+ "'\n");
+            endEntry(writer);
         }
+    }
 
-        return extensiveReport.toString();
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        for (Map.Entry<Tuple<Resource>, String> entry : getData().entrySet()) {
+            writer.startFinding()
+                .field("resources", entry.getKey().getElements())
+                .field("relatedBy", entry.getValue())
+                .endRecord();
+        }
     }
 
     @Override
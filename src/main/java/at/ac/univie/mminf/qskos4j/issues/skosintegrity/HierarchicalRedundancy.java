@@ -2,24 +2,26 @@ package at.ac.univie.mminf.qskos4j.issues.skosintegrity;
 
 import at.ac.univie.mminf.qskos4j.issues.HierarchyGraphBuilder;
 import at.ac.univie.mminf.qskos4j.issues.Issue;
-import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
 import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import at.ac.univie.mminf.qskos4j.util.Pair;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
+import at.ac.univie.mminf.qskos4j.util.graph.ReachabilityIndex;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.alg.DijkstraShortestPath;
 
-import java.util.*;
+import java.util.Collection;
+import java.util.HashSet;
 
+/**
+ * Finds hierarchical relations that can also be derived from other hierarchical relations, i.e., edges of the
+ * hierarchy graph for which a different path between the same concepts exists.
+ */
 public class HierarchicalRedundancy extends Issue<CollectionResult<Pair<Resource>>> {
 
     private Collection<Pair<Resource>> hierarchicalRedundancies;
     private HierarchyGraphBuilder hierarchyGraphBuilder;
-    private DirectedGraph<Resource, NamedEdge> hierarchyGraph;
 
     public HierarchicalRedundancy(HierarchyGraphBuilder hierarchyGraphBuilder) {
         super(new IssueDescriptor.Builder("hr",
@@ -33,28 +35,27 @@ public class HierarchicalRedundancy extends Issue<CollectionResult<Pair<Resource
 
     @Override
     protected CollectionResult<Pair<Resource>> invoke() throws RDF4JException {
-        hierarchicalRedundancies = new HashSet<>();
-        hierarchyGraph = hierarchyGraphBuilder.createGraph();
+        progressMonitor.setTaskDescription("Finding hierarchical redundancies");
+        ReachabilityIndex<Resource> reachabilityIndex = hierarchyGraphBuilder.getReachabilityIndex();
 
-        Set<NamedEdge> allEdges = new HashSet<>(hierarchyGraph.edgeSet());
-        Iterator<NamedEdge> it = new MonitoredIterator<>(allEdges, progressMonitor);
-
-        while (it.hasNext()) {
-            NamedEdge edge = it.next();
-            Resource source = hierarchyGraph.getEdgeSource(edge);
-            Resource target = hierarchyGraph.getEdgeTarget(edge);
-
-            hierarchyGraph.removeEdge(edge);
-            List<NamedEdge> path = new DijkstraShortestPath<>(hierarchyGraph, source, target).getPathEdgeList();
-            if (path != null && !path.isEmpty()) {
-                hierarchicalRedundancies.add(new Pair<>(source, target));
-            }
-            hierarchyGraph.addEdge(source, target);
-        }
+        hierarchicalRedundancies = new HashSet<>(reachabilityIndex.getRedundantEdges());
+        progressMonitor.onFinish();
 
         return new CollectionResult<>(hierarchicalRedundancies);
     }
 
+    /**
+     * Evaluates the issue again on the hierarchy graph, which is only updated for the resources affected by the
+     * changeset.
+     */
+    @Override
+    protected CollectionResult<Pair<Resource>> invokeIncremental(CollectionResult<Pair<Resource>> previousResult, Changeset changeset)
+        throws RDF4JException
+    {
+        hierarchyGraphBuilder.update(changeset);
+        return invoke();
+    }
+
     @Override
     public void setRepositoryConnection(RepositoryConnection repCon) {
         hierarchyGraphBuilder.setRepositoryConnection(repCon);
@@ -7,10 +7,9 @@ import at.ac.univie.mminf.qskos4j.result.CollectionResult;
 import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
 import at.ac.univie.mminf.qskos4j.util.Tuple;
 import at.ac.univie.mminf.qskos4j.util.TupleQueryResultUtil;
-import at.ac.univie.mminf.qskos4j.util.graph.NamedEdge;
+import at.ac.univie.mminf.qskos4j.util.graph.ReachabilityIndex;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
 import at.ac.univie.mminf.qskos4j.util.vocab.SparqlPrefix;
-import org.jgrapht.Graph;
-import org.jgrapht.alg.DijkstraShortestPath;
 import org.eclipse.rdf4j.RDF4JException;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.query.QueryLanguage;
@@ -42,7 +41,7 @@ public class RelationClashes extends Issue<CollectionResult<Tuple<Resource>>> {
 
     @Override
     protected CollectionResult<Tuple<Resource>> invoke() throws RDF4JException {
-        Graph<Resource, NamedEdge> hierarchyGraph = hierarchyGraphBuilder.createGraph();
+        ReachabilityIndex<Resource> hierarchyReachability = hierarchyGraphBuilder.getReachabilityIndex();
 
         Collection<Tuple<Resource>> clashes = new HashSet<Tuple<Resource>>();
 
@@ -52,13 +51,8 @@ public class RelationClashes extends Issue<CollectionResult<Tuple<Resource>>> {
 
         while (it.hasNext()) {
             Tuple<Resource> conceptPair = it.next();
-            try {
-                if (pathExists(hierarchyGraph, conceptPair)) {
-                    clashes.add(conceptPair);
-                }
-            }
-            catch (IllegalArgumentException e) {
-                // one of the concepts not in graph, no clash possible
+            if (pathExists(hierarchyReachability, conceptPair)) {
+                clashes.add(conceptPair);
             }
         }
 
@@ -77,18 +71,30 @@ public class RelationClashes extends Issue<CollectionResult<Tuple<Resource>>> {
             "}";
     }
 
-    private boolean pathExists(Graph<Resource, NamedEdge> hierarchyGraph, Tuple<Resource> conceptPair) {
-        if (new DijkstraShortestPath<Resource, NamedEdge>(
-                hierarchyGraph,
-                conceptPair.getFirst(),
-                conceptPair.getSecond()).getPathEdgeList() == null)
-        {
-            return new DijkstraShortestPath<Resource, NamedEdge>(
-                    hierarchyGraph,
-                    conceptPair.getSecond(),
-                    conceptPair.getFirst()).getPathEdgeList() != null;
+    private boolean pathExists(ReachabilityIndex<Resource> hierarchyReachability, Tuple<Resource> conceptPair) {
+        Resource first = conceptPair.getFirst(), second = conceptPair.getSecond();
+
+        // one of the concepts not in graph, no clash possible
+        if (!hierarchyReachability.contains(first) || !hierarchyReachability.contains(second)) {
+            return false;
         }
-        return true;
+
+        // an empty path connects a concept with itself
+        return first.equals(second) ||
+            hierarchyReachability.isReachable(first, second) ||
+            hierarchyReachability.isReachable(second, first);
+    }
+
+    /**
+     * Evaluates the issue again on the hierarchy graph, which is only updated for the resources affected by the
+     * changeset.
+     */
+    @Override
+    protected CollectionResult<Tuple<Resource>> invokeIncremental(CollectionResult<Tuple<Resource>> previousResult, Changeset changeset)
+        throws RDF4JException
+    {
+        hierarchyGraphBuilder.update(changeset);
+        return invoke();
     }
 
     @Override
@@ -0,0 +1,165 @@
+package at.ac.univie.mminf.qskos4j.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resources used for evaluating an issue, accumulated over all its evaluations: wall and CPU time, bytes allocated,
+ * SPARQL queries prepared and evaluated, statements scanned and query solutions read. Each evaluation is a
+ * {@link Measurement}. Measurements of issues that are evaluated while another one is running (e.g., its dependent
+ * issues) are subtracted from the outer one, so every resource is accounted to exactly one issue.
+ * <p>
+ * Queries, statements and solutions are counted by a {@link MeteredRepository} and accounted to the issue whose
+ * measurement is running on the querying thread, see {@link #current()}. CPU time and allocated bytes are measured
+ * per thread and are 0 if the JVM does not support measuring them.
+ */
+public class IssueMetrics implements IssueMetricsMXBean {
+
+    private final static ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final static ThreadLocal<Deque<Measurement>> runningMeasurements =
+        ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String issueId;
+    private final AtomicLong evaluations = new AtomicLong(), wallNanos = new AtomicLong(),
+        cpuNanos = new AtomicLong(), allocatedBytes = new AtomicLong(), queriesPrepared = new AtomicLong(),
+        queriesEvaluated = new AtomicLong(), statementsScanned = new AtomicLong(), solutionsRead = new AtomicLong();
+
+    public IssueMetrics(String issueId) {
+        this.issueId = issueId;
+    }
+
+    /**
+     * Starts measuring an evaluation on the current thread. The measurement must be closed on the same thread.
+     */
+    public Measurement startMeasurement() {
+        Measurement measurement = new Measurement();
+        runningMeasurements.get().push(measurement);
+        return measurement;
+    }
+
+    /**
+     * @return metrics of the issue whose measurement was started last on the current thread, or null if there is none
+     */
+    public static IssueMetrics current() {
+        Measurement measurement = runningMeasurements.get().peek();
+        return measurement == null ? null : measurement.getMetrics();
+    }
+
+    void queryPrepared() {
+        queriesPrepared.incrementAndGet();
+    }
+
+    void queryEvaluated() {
+        queriesEvaluated.incrementAndGet();
+    }
+
+    void statementsScanned(long count) {
+        statementsScanned.addAndGet(count);
+    }
+
+    void solutionsRead(long count) {
+        solutionsRead.addAndGet(count);
+    }
+
+    @Override
+    public String getIssueId() {
+        return issueId;
+    }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    @Override
+    public long getWallNanos() {
+        return wallNanos.get();
+    }
+
+    @Override
+    public long getCpuNanos() {
+        return cpuNanos.get();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public long getQueriesPrepared() {
+        return queriesPrepared.get();
+    }
+
+    @Override
+    public long getQueriesEvaluated() {
+        return queriesEvaluated.get();
+    }
+
+    @Override
+    public long getStatementsScanned() {
+        return statementsScanned.get();
+    }
+
+    @Override
+    public long getSolutionsRead() {
+        return solutionsRead.get();
+    }
+
+    private static long currentThreadCpuNanos() {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * One evaluation of the issue, ended by {@link #close()}
+     */
+    public class Measurement implements AutoCloseable {
+
+        private final long startWallNanos = System.nanoTime(), startCpuNanos = currentThreadCpuNanos(),
+            startAllocatedBytes = currentThreadAllocatedBytes();
+        private long nestedWallNanos, nestedCpuNanos, nestedAllocatedBytes;
+
+        private Measurement() {
+        }
+
+        private IssueMetrics getMetrics() {
+            return IssueMetrics.this;
+        }
+
+        @Override
+        public void close() {
+            long elapsedWallNanos = System.nanoTime() - startWallNanos;
+            long elapsedCpuNanos = currentThreadCpuNanos() - startCpuNanos;
+            long elapsedAllocatedBytes = currentThreadAllocatedBytes() - startAllocatedBytes;
+
+            evaluations.incrementAndGet();
+            wallNanos.addAndGet(elapsedWallNanos - nestedWallNanos);
+            cpuNanos.addAndGet(elapsedCpuNanos - nestedCpuNanos);
+            allocatedBytes.addAndGet(elapsedAllocatedBytes - nestedAllocatedBytes);
+
+            Deque<Measurement> measurements = runningMeasurements.get();
+            measurements.remove(this);
+            Measurement outerMeasurement = measurements.peek();
+            if (outerMeasurement != null) {
+                outerMeasurement.nestedWallNanos += elapsedWallNanos;
+                outerMeasurement.nestedCpuNanos += elapsedCpuNanos;
+                outerMeasurement.nestedAllocatedBytes += elapsedAllocatedBytes;
+            }
+        }
+
+    }
+
+}
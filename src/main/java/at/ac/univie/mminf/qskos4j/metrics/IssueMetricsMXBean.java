@@ -0,0 +1,27 @@
+package at.ac.univie.mminf.qskos4j.metrics;
+
+/**
+ * Management interface of {@link IssueMetrics}, registered by
+ * {@link MetricsExporter#registerMBeans(String, java.util.Collection)}.
+ */
+public interface IssueMetricsMXBean {
+
+    String getIssueId();
+
+    long getEvaluations();
+
+    long getWallNanos();
+
+    long getCpuNanos();
+
+    long getAllocatedBytes();
+
+    long getQueriesPrepared();
+
+    long getQueriesEvaluated();
+
+    long getStatementsScanned();
+
+    long getSolutionsRead();
+
+}
@@ -0,0 +1,34 @@
+package at.ac.univie.mminf.qskos4j.metrics;
+
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.base.RepositoryWrapper;
+
+/**
+ * Repository whose connections count the queries, statements and solutions an issue reads, see {@link IssueMetrics}.
+ * Connections opened from a connection's {@link RepositoryConnection#getRepository()} (e.g., by worker threads) are
+ * metered as well.
+ */
+public class MeteredRepository extends RepositoryWrapper {
+
+    public MeteredRepository(Repository delegate) {
+        super(delegate);
+    }
+
+    /**
+     * @return a metered connection using the passed connection, which is returned as is if it already is metered
+     */
+    public static RepositoryConnection wrap(RepositoryConnection repCon) {
+        if (repCon instanceof MeteredRepositoryConnection) {
+            return repCon;
+        }
+        return new MeteredRepositoryConnection(new MeteredRepository(repCon.getRepository()), repCon);
+    }
+
+    @Override
+    public RepositoryConnection getConnection() throws RepositoryException {
+        return new MeteredRepositoryConnection(this, getDelegate().getConnection());
+    }
+
+}
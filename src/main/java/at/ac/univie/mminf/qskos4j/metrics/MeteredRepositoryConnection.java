@@ -0,0 +1,290 @@
+package at.ac.univie.mminf.qskos4j.metrics;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.IterationWrapper;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.*;
+import org.eclipse.rdf4j.query.impl.IteratingGraphQueryResult;
+import org.eclipse.rdf4j.query.impl.IteratingTupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.repository.base.RepositoryConnectionWrapper;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the queries prepared and evaluated on the connection, the statements returned by
+ * {@link #getStatements(Resource, IRI, Value, boolean, Resource...)} and graph queries and the solutions of tuple
+ * queries. Counts are accounted to the issue measured on the calling thread ({@link IssueMetrics#current()}), results
+ * pass their counts on when they are closed or fully read.
+ */
+class MeteredRepositoryConnection extends RepositoryConnectionWrapper {
+
+    MeteredRepositoryConnection(MeteredRepository repository, RepositoryConnection delegate) {
+        super(repository, delegate);
+    }
+
+    @Override
+    public RepositoryResult<Statement> getStatements(
+        Resource subj,
+        IRI pred,
+        Value obj,
+        boolean includeInferred,
+        Resource... contexts) throws RepositoryException
+    {
+        RepositoryResult<Statement> statements = super.getStatements(subj, pred, obj, includeInferred, contexts);
+
+        IssueMetrics metrics = IssueMetrics.current();
+        if (metrics == null) {
+            return statements;
+        }
+        return new RepositoryResult<>(new CountingIteration<>(statements, metrics::statementsScanned));
+    }
+
+    @Override
+    public Query prepareQuery(QueryLanguage ql, String query, String baseURI)
+        throws MalformedQueryException, RepositoryException
+    {
+        Query preparedQuery = super.prepareQuery(ql, query, baseURI);
+        if (preparedQuery instanceof TupleQuery) return meter((TupleQuery) preparedQuery);
+        if (preparedQuery instanceof GraphQuery) return meter((GraphQuery) preparedQuery);
+        if (preparedQuery instanceof BooleanQuery) return meter((BooleanQuery) preparedQuery);
+        return preparedQuery;
+    }
+
+    @Override
+    public TupleQuery prepareTupleQuery(QueryLanguage ql, String query, String baseURI)
+        throws MalformedQueryException, RepositoryException
+    {
+        return meter(super.prepareTupleQuery(ql, query, baseURI));
+    }
+
+    @Override
+    public GraphQuery prepareGraphQuery(QueryLanguage ql, String query, String baseURI)
+        throws MalformedQueryException, RepositoryException
+    {
+        return meter(super.prepareGraphQuery(ql, query, baseURI));
+    }
+
+    @Override
+    public BooleanQuery prepareBooleanQuery(QueryLanguage ql, String query, String baseURI)
+        throws MalformedQueryException, RepositoryException
+    {
+        return meter(super.prepareBooleanQuery(ql, query, baseURI));
+    }
+
+    private TupleQuery meter(TupleQuery query) {
+        queryPrepared();
+        return new MeteredTupleQuery(query);
+    }
+
+    private GraphQuery meter(GraphQuery query) {
+        queryPrepared();
+        return new MeteredGraphQuery(query);
+    }
+
+    private BooleanQuery meter(BooleanQuery query) {
+        queryPrepared();
+        return new MeteredBooleanQuery(query);
+    }
+
+    private static void queryPrepared() {
+        IssueMetrics metrics = IssueMetrics.current();
+        if (metrics != null) metrics.queryPrepared();
+    }
+
+    /**
+     * @return the metrics the evaluation is accounted to, null if no issue is measured
+     */
+    private static IssueMetrics queryEvaluated() {
+        IssueMetrics metrics = IssueMetrics.current();
+        if (metrics != null) metrics.queryEvaluated();
+        return metrics;
+    }
+
+    private static class CountingIteration<E, X extends Exception> extends IterationWrapper<E, X> {
+
+        private final LongConsumer countConsumer;
+        private long count;
+
+        CountingIteration(CloseableIteration<? extends E, ? extends X> iteration, LongConsumer countConsumer) {
+            super(iteration);
+            this.countConsumer = countConsumer;
+        }
+
+        @Override
+        public boolean hasNext() throws X {
+            boolean hasNext = super.hasNext();
+            if (!hasNext) passOnCount();
+            return hasNext;
+        }
+
+        @Override
+        public E next() throws X {
+            E element = super.next();
+            count++;
+            return element;
+        }
+
+        @Override
+        protected void handleClose() throws X {
+            passOnCount();
+            super.handleClose();
+        }
+
+        private void passOnCount() {
+            countConsumer.accept(count);
+            count = 0;
+        }
+
+    }
+
+    private static abstract class MeteredQuery<Q extends Query> implements Query {
+
+        protected final Q delegate;
+
+        MeteredQuery(Q delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setBinding(String name, Value value) {
+            delegate.setBinding(name, value);
+        }
+
+        @Override
+        public void removeBinding(String name) {
+            delegate.removeBinding(name);
+        }
+
+        @Override
+        public void clearBindings() {
+            delegate.clearBindings();
+        }
+
+        @Override
+        public BindingSet getBindings() {
+            return delegate.getBindings();
+        }
+
+        @Override
+        public void setDataset(Dataset dataset) {
+            delegate.setDataset(dataset);
+        }
+
+        @Override
+        public Dataset getDataset() {
+            return delegate.getDataset();
+        }
+
+        @Override
+        public void setIncludeInferred(boolean includeInferred) {
+            delegate.setIncludeInferred(includeInferred);
+        }
+
+        @Override
+        public boolean getIncludeInferred() {
+            return delegate.getIncludeInferred();
+        }
+
+        @Override
+        public void setMaxExecutionTime(int maxExecTime) {
+            delegate.setMaxExecutionTime(maxExecTime);
+        }
+
+        @Override
+        public int getMaxExecutionTime() {
+            return delegate.getMaxExecutionTime();
+        }
+
+        @Override
+        @Deprecated
+        public void setMaxQueryTime(int maxQueryTime) {
+            delegate.setMaxQueryTime(maxQueryTime);
+        }
+
+        @Override
+        @Deprecated
+        public int getMaxQueryTime() {
+            return delegate.getMaxQueryTime();
+        }
+
+    }
+
+    private static class MeteredTupleQuery extends MeteredQuery<TupleQuery> implements TupleQuery {
+
+        MeteredTupleQuery(TupleQuery delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public TupleQueryResult evaluate() throws QueryEvaluationException {
+            IssueMetrics metrics = queryEvaluated();
+            TupleQueryResult result = delegate.evaluate();
+
+            if (metrics == null) {
+                return result;
+            }
+            return new IteratingTupleQueryResult(
+                result.getBindingNames(),
+                new CountingIteration<>(result, metrics::solutionsRead));
+        }
+
+        @Override
+        public void evaluate(TupleQueryResultHandler handler)
+            throws QueryEvaluationException, TupleQueryResultHandlerException
+        {
+            queryEvaluated();
+            delegate.evaluate(handler);
+        }
+
+    }
+
+    private static class MeteredGraphQuery extends MeteredQuery<GraphQuery> implements GraphQuery {
+
+        MeteredGraphQuery(GraphQuery delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public GraphQueryResult evaluate() throws QueryEvaluationException {
+            IssueMetrics metrics = queryEvaluated();
+            GraphQueryResult result = delegate.evaluate();
+
+            if (metrics == null) {
+                return result;
+            }
+            return new IteratingGraphQueryResult(
+                result.getNamespaces(),
+                new CountingIteration<>(result, metrics::statementsScanned));
+        }
+
+        @Override
+        public void evaluate(RDFHandler handler) throws QueryEvaluationException, RDFHandlerException {
+            queryEvaluated();
+            delegate.evaluate(handler);
+        }
+
+    }
+
+    private static class MeteredBooleanQuery extends MeteredQuery<BooleanQuery> implements BooleanQuery {
+
+        MeteredBooleanQuery(BooleanQuery delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean evaluate() throws QueryEvaluationException {
+            queryEvaluated();
+            return delegate.evaluate();
+        }
+
+    }
+
+}
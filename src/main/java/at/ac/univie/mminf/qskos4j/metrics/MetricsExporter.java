@@ -0,0 +1,135 @@
+package at.ac.univie.mminf.qskos4j.metrics;
+
+import javax.management.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Makes {@link IssueMetrics} available to monitoring tools, as a text dump in the Prometheus exposition format or as
+ * MXBeans in the platform MBean server.
+ */
+public class MetricsExporter {
+
+    public final static String MBEAN_DOMAIN = "at.ac.univie.mminf.qskos4j";
+
+    private enum Metric {
+        EVALUATIONS("evaluations_total", "Number of evaluations of the issue", IssueMetrics::getEvaluations, 1),
+        WALL_TIME("wall_seconds_total", "Wall time spent evaluating the issue", IssueMetrics::getWallNanos, 1e9),
+        CPU_TIME("cpu_seconds_total", "CPU time spent evaluating the issue", IssueMetrics::getCpuNanos, 1e9),
+        ALLOCATED("allocated_bytes_total", "Bytes allocated while evaluating the issue",
+            IssueMetrics::getAllocatedBytes, 1),
+        QUERIES_PREPARED("queries_prepared_total", "SPARQL queries prepared", IssueMetrics::getQueriesPrepared, 1),
+        QUERIES_EVALUATED("queries_evaluated_total", "SPARQL queries evaluated", IssueMetrics::getQueriesEvaluated, 1),
+        STATEMENTS_SCANNED("statements_scanned_total", "Statements read from the repository",
+            IssueMetrics::getStatementsScanned, 1),
+        SOLUTIONS_READ("solutions_read_total", "Solutions of SPARQL queries read", IssueMetrics::getSolutionsRead, 1);
+
+        private final String name, help;
+        private final ToLongFunction<IssueMetrics> value;
+        private final double divisor;
+
+        Metric(String name, String help, ToLongFunction<IssueMetrics> value, double divisor) {
+            this.name = "qskos_issue_" + name;
+            this.help = help;
+            this.value = value;
+            this.divisor = divisor;
+        }
+
+        private String format(IssueMetrics metrics) {
+            long value = this.value.applyAsLong(metrics);
+            return divisor == 1 ? Long.toString(value) : Double.toString(value / divisor);
+        }
+    }
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Writes the metrics of the issues in the Prometheus text exposition format.
+     */
+    public static void writePrometheusText(Writer out, Collection<IssueMetrics> issueMetrics) throws IOException {
+        writePrometheusText(out, Collections.singletonMap(null, issueMetrics));
+    }
+
+    /**
+     * Writes the metrics of the issues of several vocabularies in the Prometheus text exposition format, samples are
+     * labeled with the vocabulary they belong to.
+     *
+     * @param issueMetricsByVocabulary metrics of the evaluated issues by the name of the vocabulary, a null name omits
+     * the label
+     */
+    public static void writePrometheusText(Writer out, Map<String, Collection<IssueMetrics>> issueMetricsByVocabulary)
+        throws IOException
+    {
+        for (Metric metric : Metric.values()) {
+            out.write("# HELP " +metric.name+ " " +metric.help+ "\n");
+            out.write("# TYPE " +metric.name+ " counter\n");
+
+            for (Map.Entry<String, Collection<IssueMetrics>> vocabulary : issueMetricsByVocabulary.entrySet()) {
+                for (IssueMetrics metrics : vocabulary.getValue()) {
+                    out.write(metric.name + "{");
+                    if (vocabulary.getKey() != null) {
+                        out.write("vocabulary=\"" +escapeLabelValue(vocabulary.getKey())+ "\",");
+                    }
+                    out.write("issue=\"" +escapeLabelValue(metrics.getIssueId())+ "\"} " +metric.format(metrics)+ "\n");
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Registers the metrics of every issue in the platform MBean server, named
+     * <code>at.ac.univie.mminf.qskos4j:type=IssueMetrics,vocabulary=...,issue=...</code>. Already registered metrics
+     * of the same vocabulary and issue are replaced.
+     */
+    public static void registerMBeans(String vocabulary, Collection<IssueMetrics> issueMetrics) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            for (IssueMetrics metrics : issueMetrics) {
+                ObjectName name = createObjectName(vocabulary, metrics.getIssueId());
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+                mBeanServer.registerMBean(metrics, name);
+            }
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not register issue metrics", e);
+        }
+    }
+
+    /**
+     * Removes all metrics of the vocabulary from the platform MBean server.
+     */
+    public static void unregisterMBeans(String vocabulary) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName pattern = new ObjectName(
+                MBEAN_DOMAIN + ":type=IssueMetrics,vocabulary=" +ObjectName.quote(vocabulary)+ ",*");
+            for (ObjectName name : mBeanServer.queryNames(pattern, null)) {
+                mBeanServer.unregisterMBean(name);
+            }
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not unregister issue metrics", e);
+        }
+    }
+
+    private static ObjectName createObjectName(String vocabulary, String issueId) throws MalformedObjectNameException {
+        return new ObjectName(MBEAN_DOMAIN + ":type=IssueMetrics,vocabulary=" +ObjectName.quote(vocabulary)+
+            ",issue=" +ObjectName.quote(issueId));
+    }
+
+}
@@ -0,0 +1,291 @@
+package at.ac.univie.mminf.qskos4j.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of several tasks running at the same time, e.g., issues evaluated in parallel. Every task
+ * reports to its own {@link Task} obtained by {@link #forTask(String)}; its state is kept in atomic counters, so
+ * reporting progress never blocks. Progress reported to this monitor directly is accounted to an unnamed task.
+ * <p>
+ * Subclasses display the progress in {@link #render()}, which is called at most once per render interval and never
+ * by two threads at the same time.
+ */
+public abstract class AggregatingProgressMonitor implements IProgressMonitor {
+
+    private final static long NOT_STARTED = Long.MIN_VALUE;
+
+    private final ConcurrentMap<String, Task> tasks = new ConcurrentSkipListMap<>();
+    private final long renderIntervalNanos;
+    private final AtomicLong nextRenderNanos = new AtomicLong(System.nanoTime());
+    private final AtomicBoolean rendering = new AtomicBoolean();
+
+    protected AggregatingProgressMonitor(long renderIntervalMillis) {
+        renderIntervalNanos = TimeUnit.MILLISECONDS.toNanos(renderIntervalMillis);
+    }
+
+    @Override
+    public Task forTask(String taskName) {
+        return tasks.computeIfAbsent(taskName, Task::new);
+    }
+
+    @Override
+    public void onUpdateProgress(float progress) {
+        forTask("").onUpdateProgress(progress);
+    }
+
+    @Override
+    public void onUpdateProgress(long completedSteps, long totalSteps) {
+        forTask("").onUpdateProgress(completedSteps, totalSteps);
+    }
+
+    @Override
+    public void setTaskDescription(String description) {
+        forTask("").setTaskDescription(description);
+    }
+
+    @Override
+    public void reset() {
+        forTask("").reset();
+    }
+
+    @Override
+    public void onFinish() {
+        forTask("").onFinish();
+    }
+
+    /**
+     * @return the tasks that have reported progress and are not finished, ordered by name
+     */
+    public List<Task> getActiveTasks() {
+        List<Task> activeTasks = new ArrayList<>();
+        for (Task task : tasks.values()) {
+            if (task.isStarted() && !task.isFinished()) activeTasks.add(task);
+        }
+        return activeTasks;
+    }
+
+    /**
+     * @return mean progress of the active tasks, between 0 and 1
+     */
+    public float getProgress() {
+        List<Task> activeTasks = getActiveTasks();
+        float progress = 0;
+        for (Task task : activeTasks) {
+            progress += task.getProgress();
+        }
+        return activeTasks.isEmpty() ? 0 : progress / activeTasks.size();
+    }
+
+    /**
+     * @return items processed per second by all active tasks together
+     */
+    public double getThroughput() {
+        double throughput = 0;
+        for (Task task : getActiveTasks()) {
+            if (task.countsItems()) throughput += task.getThroughput();
+        }
+        return throughput;
+    }
+
+    /**
+     * Displays the progress of the active tasks.
+     */
+    protected abstract void render();
+
+    /**
+     * Called once after a task has finished, the default implementation renders the remaining tasks.
+     */
+    protected void taskFinished(Task task) {
+        renderNow();
+    }
+
+    /**
+     * Called after the description of a task has changed.
+     */
+    protected void taskDescriptionChanged(Task task) {
+    }
+
+    /**
+     * Renders unless the render interval has not elapsed yet or another thread is rendering.
+     */
+    private void renderThrottled() {
+        long now = System.nanoTime();
+        long nextRender = nextRenderNanos.get();
+        if (now - nextRender >= 0 && nextRenderNanos.compareAndSet(nextRender, now + renderIntervalNanos)) {
+            renderNow();
+        }
+    }
+
+    /**
+     * Renders unless another thread is rendering.
+     */
+    protected void renderNow() {
+        if (rendering.compareAndSet(false, true)) {
+            try {
+                render();
+            }
+            finally {
+                rendering.set(false);
+            }
+        }
+    }
+
+    protected static String formatDuration(long millis) {
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return String.format("%dm %02ds", seconds / 60, seconds % 60);
+        }
+        return String.format("%dh %02dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+
+    protected static String formatThroughput(double itemsPerSecond) {
+        return itemsPerSecond < 10 ?
+            String.format("%.1f items/s", itemsPerSecond) :
+            String.format("%d items/s", Math.round(itemsPerSecond));
+    }
+
+    /**
+     * Progress of a single task. Tasks that report their progress as a fraction
+     * ({@link #onUpdateProgress(float)}) have no throughput.
+     */
+    public class Task implements IProgressMonitor {
+
+        private final static int FRACTION_STEPS = 10000;
+
+        private final String name;
+        private final AtomicLong completedSteps = new AtomicLong(), totalSteps = new AtomicLong(),
+            startNanos = new AtomicLong(NOT_STARTED);
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean countsItems;
+        private volatile String description;
+
+        private Task(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onUpdateProgress(float progress) {
+            countsItems = false;
+            update(Math.round(progress * FRACTION_STEPS), FRACTION_STEPS);
+        }
+
+        @Override
+        public void onUpdateProgress(long completedSteps, long totalSteps) {
+            countsItems = true;
+            update(completedSteps, totalSteps);
+        }
+
+        private void update(long completed, long total) {
+            startNanos.compareAndSet(NOT_STARTED, System.nanoTime());
+            totalSteps.set(total);
+            // updates from several threads may arrive out of order
+            completedSteps.accumulateAndGet(completed, Math::max);
+            finished.set(false);
+            renderThrottled();
+        }
+
+        @Override
+        public void setTaskDescription(String description) {
+            this.description = description;
+            taskDescriptionChanged(this);
+        }
+
+        @Override
+        public void reset() {
+            completedSteps.set(0);
+            totalSteps.set(0);
+            startNanos.set(NOT_STARTED);
+            finished.set(false);
+        }
+
+        @Override
+        public void onFinish() {
+            if (isStarted() && finished.compareAndSet(false, true)) {
+                taskFinished(this);
+            }
+        }
+
+        @Override
+        public Task forTask(String taskName) {
+            return AggregatingProgressMonitor.this.forTask(taskName);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the last description set, or null
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isStarted() {
+            return startNanos.get() != NOT_STARTED;
+        }
+
+        public boolean isFinished() {
+            return finished.get();
+        }
+
+        /**
+         * @return true if the progress is reported as number of items, false if it is reported as fraction
+         */
+        public boolean countsItems() {
+            return countsItems;
+        }
+
+        public long getCompletedSteps() {
+            return completedSteps.get();
+        }
+
+        public long getTotalSteps() {
+            return totalSteps.get();
+        }
+
+        /**
+         * @return progress between 0 and 1
+         */
+        public float getProgress() {
+            long total = getTotalSteps();
+            return total == 0 ? 0 : Math.min(1f, (float) getCompletedSteps() / total);
+        }
+
+        public long getElapsedMillis() {
+            long start = startNanos.get();
+            return start == NOT_STARTED ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        /**
+         * @return items processed per second since the task started
+         */
+        public double getThroughput() {
+            long elapsedMillis = getElapsedMillis();
+            return elapsedMillis == 0 ? 0 : getCompletedSteps() * 1000d / elapsedMillis;
+        }
+
+        /**
+         * @return estimated milliseconds until the task is finished, or -1 if no estimate is possible yet
+         */
+        public long getEtaMillis() {
+            long completed = getCompletedSteps();
+            if (completed == 0) {
+                return -1;
+            }
+            long remaining = Math.max(0, getTotalSteps() - completed);
+            return Math.round((double) getElapsedMillis() * remaining / completed);
+        }
+
+    }
+
+}
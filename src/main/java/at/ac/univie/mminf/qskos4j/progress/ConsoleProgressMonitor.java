@@ -3,52 +3,78 @@ package at.ac.univie.mminf.qskos4j.progress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ConsoleProgressMonitor implements IProgressMonitor {
+import java.util.List;
+
+/**
+ * Draws a progress bar of all running tasks on a single console line, followed by the overall throughput and the
+ * estimated remaining time of each task. The line is redrawn at most every {@link #RENDER_INTERVAL_MILLIS}.
+ */
+public class ConsoleProgressMonitor extends AggregatingProgressMonitor {
+
+	private final static long RENDER_INTERVAL_MILLIS = 200;
+	private final static int MAX_LINE_WIDTH = 120;
 
 	private final Logger logger = LoggerFactory.getLogger(ConsoleProgressMonitor.class);
 	private final int PROG_BAR_WIDTH = 50;
-	
-	private float prevProgressValue;
-	
+
+	// only accessed while rendering, which is never done concurrently
+	private int prevLineLength;
+
+	public ConsoleProgressMonitor() {
+		super(RENDER_INTERVAL_MILLIS);
+	}
+
 	@Override
-	public void onUpdateProgress(float progress) {
-		if (progress - prevProgressValue > .01) {
-			int percentage = Math.round(progress * 100);			
-			System.out.print("|" +createBar(percentage)+ "|" +percentage+ "%\r");
-			
-			prevProgressValue = progress;
+	protected void render() {
+		List<Task> activeTasks = getActiveTasks();
+		if (activeTasks.isEmpty()) {
+			printLine("");
+			return;
+		}
+
+		int percentage = Math.round(getProgress() * 100);
+		StringBuilder line = new StringBuilder();
+		line.append("|").append(createBar(percentage)).append("|").append(percentage).append("% ");
+		line.append(formatThroughput(getThroughput()));
+
+		String separator = "  ";
+		for (Task task : activeTasks) {
+			line.append(separator);
+			if (!task.getName().isEmpty()) {
+				line.append(task.getName()).append(" ");
+			}
+			long etaMillis = task.getEtaMillis();
+			line.append("ETA ").append(etaMillis < 0 ? "?" : formatDuration(etaMillis));
+			separator = ", ";
 		}
+
+		printLine(line.length() > MAX_LINE_WIDTH ? line.substring(0, MAX_LINE_WIDTH) : line.toString());
 	}
 
-    @Override
-    public void onFinish() {
-		System.out.print(produceBlanks(PROG_BAR_WIDTH + 10) + "\r");
+	private void printLine(String line) {
+		System.out.print(line + produceBlanks(Math.max(0, prevLineLength - line.length())) + "\r");
+		prevLineLength = line.length();
 	}
-	
+
 	private String createBar(int percentage) {
 		int numSegments = (int) Math.round((double) (PROG_BAR_WIDTH * percentage) / (double) 100);
-		
-		String bar = "";
+
+		StringBuilder bar = new StringBuilder();
 		for (int i = 0; i < numSegments; i++) {
-			bar += "=";
+			bar.append("=");
 		}
-		bar += produceBlanks(PROG_BAR_WIDTH - numSegments);
-				
-		return bar;
+		bar.append(produceBlanks(PROG_BAR_WIDTH - numSegments));
+
+		return bar.toString();
 	}
-	
+
 	private String produceBlanks(int numBlanks) {
 		return new String(new char[numBlanks]).replace('\0', ' ');
 	}
 
 	@Override
-	public void setTaskDescription(String description) {
-		logger.info(description);
-	}
-	
-	@Override
-	public void reset() {
-		prevProgressValue = 0;
+	protected void taskDescriptionChanged(Task task) {
+		logger.info(task.getDescription());
 	}
 
 }
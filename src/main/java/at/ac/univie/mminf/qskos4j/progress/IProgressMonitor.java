@@ -1,5 +1,8 @@
 package at.ac.univie.mminf.qskos4j.progress;
 
+/**
+ * Notified about the progress of tasks. Issues may be evaluated concurrently, so implementations must be thread-safe.
+ */
 public interface IProgressMonitor {
 
 	/**
@@ -7,6 +10,24 @@ public interface IProgressMonitor {
 	 * @param progress value between 0 and 1
 	 */
 	public void onUpdateProgress(float progress);
+
+	/**
+	 * Called if a task's progress changes, for tasks that know the number of items they process
+	 * @param completedSteps number of items processed so far
+	 * @param totalSteps number of items the task processes
+	 */
+	public default void onUpdateProgress(long completedSteps, long totalSteps) {
+		onUpdateProgress(totalSteps == 0 ? 1f : (float) completedSteps / totalSteps);
+	}
+
+	/**
+	 * Monitor for a single one of several tasks that may run at the same time, e.g., the evaluation of an issue
+	 * @param taskName name of the task
+	 * @return the monitor the task reports to, this monitor if it does not distinguish between tasks
+	 */
+	public default IProgressMonitor forTask(String taskName) {
+		return this;
+	}
 	
 	/**
 	 * Textual description for the currently performed task
@@ -3,11 +3,17 @@ package at.ac.univie.mminf.qskos4j.progress;
 import java.util.Collection;
 import java.util.Iterator;
 
+/**
+ * Reports the number of elements returned to a progress monitor. An iterator is meant to be used by a single thread,
+ * the monitor may be shared by iterators on several threads.
+ */
 public class MonitoredIterator<T> implements Iterator<T> {
 
-	private Iterator<T> delegate;
-	private int totalSteps, currentStep;
-	private IProgressMonitor progressMonitor;
+	private final Iterator<T> delegate;
+	private final int totalSteps;
+	private final IProgressMonitor progressMonitor;
+	private int currentStep;
+	private boolean finished;
 	
 	public MonitoredIterator(
 		Collection<T> iteratorProvider,
@@ -34,7 +40,8 @@ public class MonitoredIterator<T> implements Iterator<T> {
 	public boolean hasNext() {
         boolean hasNext =  delegate.hasNext();
 
-        if (!hasNext) {
+        if (!hasNext && !finished) {
+            finished = true;
             progressMonitor.onFinish();
         }
 
@@ -44,7 +51,7 @@ public class MonitoredIterator<T> implements Iterator<T> {
 	@Override
 	public T next() {
 		if (progressMonitor != null) {
-			progressMonitor.onUpdateProgress((float) currentStep / totalSteps);
+			progressMonitor.onUpdateProgress(currentStep, totalSteps);
 			currentStep++;	
 		}
 		
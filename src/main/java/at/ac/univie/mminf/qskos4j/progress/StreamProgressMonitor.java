@@ -1,38 +1,63 @@
 package at.ac.univie.mminf.qskos4j.progress;
 
-public class StreamProgressMonitor implements IProgressMonitor {
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-    private int prevPercentage = 0, prevTenPercentage = 0;
+/**
+ * Prints the progress of running tasks as separate lines, one line per task and ten percent of progress, so the
+ * output can be redirected to a file or a pipe.
+ */
+public class StreamProgressMonitor extends AggregatingProgressMonitor {
+
+    private final static long RENDER_INTERVAL_MILLIS = 1000;
+
+    private final Map<Task, Integer> printedTenPercentages = new ConcurrentHashMap<>();
+
+    public StreamProgressMonitor() {
+        super(RENDER_INTERVAL_MILLIS);
+    }
 
     @Override
-    public void onUpdateProgress(float progress) {
-        int percentage = Math.round(progress * 100);
-        int tenPercentage = (int) Math.floor(progress * 10);
-        if (percentage > prevPercentage) {
-            if (tenPercentage > prevTenPercentage) {
-                System.out.print(tenPercentage * 10 + "%");
-                prevTenPercentage = tenPercentage;
-            }
-            else {
-                System.out.print(".");
+    protected void render() {
+        for (Task task : getActiveTasks()) {
+            int tenPercentage = (int) Math.floor(task.getProgress() * 10);
+            Integer prevTenPercentage = printedTenPercentages.get(task);
+            if (prevTenPercentage == null || tenPercentage > prevTenPercentage) {
+                printedTenPercentages.put(task, tenPercentage);
+                System.out.println(formatTask(task, tenPercentage * 10 + "%"));
             }
-            prevPercentage = percentage;
         }
     }
 
-    @Override
-    public void setTaskDescription(String description) {
-        System.out.println(description);
+    private String formatTask(Task task, String status) {
+        StringBuilder line = new StringBuilder();
+        if (!task.getName().isEmpty()) {
+            line.append(task.getName()).append(": ");
+        }
+        line.append(status);
+        if (task.countsItems()) {
+            line.append(" (").append(task.getCompletedSteps()).append("/").append(task.getTotalSteps());
+            line.append(", ").append(formatThroughput(task.getThroughput()));
+            if (!task.isFinished()) {
+                long etaMillis = task.getEtaMillis();
+                line.append(", ETA ").append(etaMillis < 0 ? "?" : formatDuration(etaMillis));
+            }
+            line.append(")");
+        }
+        return line.toString();
     }
 
     @Override
-    public void reset() {
-        prevPercentage = 0;
+    protected void taskDescriptionChanged(Task task) {
+        System.out.println(task.getName().isEmpty() ?
+            task.getDescription() :
+            task.getName() + ": " + task.getDescription());
     }
 
     @Override
-    public void onFinish() {
-        System.out.println();
+    protected void taskFinished(Task task) {
+        printedTenPercentages.remove(task);
+        System.out.println(formatTask(task, "done in " + formatDuration(task.getElapsedMillis())));
     }
 
 }
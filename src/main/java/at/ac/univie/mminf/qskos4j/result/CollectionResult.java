@@ -1,5 +1,8 @@
 package at.ac.univie.mminf.qskos4j.result;
 
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.Collection;
@@ -7,6 +10,8 @@ import java.util.Iterator;
 
 public class CollectionResult<T> extends Result<Collection<T>> {
 
+    private final static long serialVersionUID = 1L;
+
     public CollectionResult(Collection<T> data) {
         super(data);
     }
@@ -20,7 +25,7 @@ public class CollectionResult<T> extends Result<Collection<T>> {
                 break;
 
             case EXTENSIVE:
-                osw.write(generateExtensiveTextReport());
+                generateExtensiveTextReport(osw);
                 break;
         }
     }
@@ -30,14 +35,40 @@ public class CollectionResult<T> extends Result<Collection<T>> {
         return getData().size();
     }
 
-    public String generateExtensiveTextReport() {
-        StringBuilder report = new StringBuilder();
+    protected void generateExtensiveTextReport(BufferedWriter osw) throws IOException {
         Iterator<T> dataIt = getData().iterator();
         while (dataIt.hasNext()) {
-            report.append(dataIt.next().toString()).append(dataIt.hasNext() ? "\n" : "");
+            osw.write(dataIt.next().toString());
+            if (dataIt.hasNext()) osw.write("\n");
+            endEntry(osw);
         }
-
-        return report.toString();
 	}
 
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        for (T element : getData()) {
+            writer.startFinding();
+            writeJsonFields(writer, element);
+            writer.endRecord();
+        }
+    }
+
+    protected void writeJsonFields(JsonReportWriter writer, T element) throws IOException {
+        if (element instanceof JsonReportable) {
+            ((JsonReportable) element).writeJsonFields(writer);
+        }
+        else if (element instanceof Statement) {
+            Statement statement = (Statement) element;
+            writer.field("subject", statement.getSubject())
+                .field("predicate", statement.getPredicate())
+                .field("object", statement.getObject());
+        }
+        else if (element instanceof Value) {
+            writer.field("resource", element);
+        }
+        else {
+            writer.field("value", element);
+        }
+    }
+
 }
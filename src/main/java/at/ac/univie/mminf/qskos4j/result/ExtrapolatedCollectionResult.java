@@ -6,6 +6,8 @@ import java.util.Collection;
 
 public class ExtrapolatedCollectionResult<T> extends CollectionResult<T> {
 
+	private final static long serialVersionUID = 1L;
+
 	private Float subsetSize_percent;
     private Collection<T> data;
 	
@@ -0,0 +1,124 @@
+package at.ac.univie.mminf.qskos4j.result;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.eclipse.rdf4j.model.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes reports in the JSON Lines format: every record is one JSON object on its own line. Each record has a "type"
+ * (e.g., "finding" or "summary") and the id of the issue it belongs to, followed by fields specific to the record.
+ * Records are passed to the underlying writer while they are generated, so huge reports never need to be held in
+ * memory, neither when written nor when read.
+ */
+public class JsonReportWriter implements Closeable {
+
+    public final static String FINDING_RECORD = "finding";
+    public final static String SUMMARY_RECORD = "summary";
+
+    private final static JsonFactory jsonFactory = new JsonFactory();
+
+    private JsonGenerator generator;
+    private int flushInterval;
+    private String issueId;
+    private long recordCount;
+
+    public JsonReportWriter(Writer out) throws IOException {
+        this(out, ReportWriter.DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param out writer the records are passed on to
+     * @param flushInterval number of records after which the writer is flushed, 0 to flush only when closed
+     */
+    public JsonReportWriter(Writer out, int flushInterval) throws IOException {
+        generator = jsonFactory.createGenerator(out);
+        generator.setRootValueSeparator(null);
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @param issueId id of the issue the following records belong to, may be null
+     */
+    public void setIssueId(String issueId) {
+        this.issueId = issueId;
+    }
+
+    public JsonReportWriter startFinding() throws IOException {
+        return startRecord(FINDING_RECORD);
+    }
+
+    public JsonReportWriter startRecord(String type) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type);
+        if (issueId != null) {
+            generator.writeStringField("issue", issueId);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a field to the current record. RDF values are written by their string value, numbers and booleans as
+     * JSON numbers and booleans, iterables as arrays and all other objects by their string representation.
+     */
+    public JsonReportWriter field(String name, Object value) throws IOException {
+        generator.writeFieldName(name);
+        writeValue(value);
+        return this;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        }
+        else if (value instanceof Value) {
+            generator.writeString(((Value) value).stringValue());
+        }
+        else if (value instanceof Float || value instanceof Double) {
+            generator.writeNumber(((Number) value).doubleValue());
+        }
+        else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).longValue());
+        }
+        else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Iterable) {
+            generator.writeStartArray();
+            for (Object element : (Iterable<?>) value) {
+                writeValue(element);
+            }
+            generator.writeEndArray();
+        }
+        else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    public void endRecord() throws IOException {
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+
+        recordCount++;
+        if (flushInterval > 0 && recordCount % flushInterval == 0) {
+            generator.flush();
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
@@ -0,0 +1,16 @@
+package at.ac.univie.mminf.qskos4j.result;
+
+import java.io.IOException;
+
+/**
+ * Implemented by elements of results that describe a finding by more than one value, e.g., a concept together with
+ * a label.
+ */
+public interface JsonReportable {
+
+    /**
+     * Adds the fields describing this element to the current record of the writer.
+     */
+    void writeJsonFields(JsonReportWriter writer) throws IOException;
+
+}
@@ -5,6 +5,8 @@ import java.io.IOException;
 
 public class NumberResult<T extends Number> extends Result<T> {
 
+    private final static long serialVersionUID = 1L;
+
     public NumberResult(T data) {
         super(data);
     }
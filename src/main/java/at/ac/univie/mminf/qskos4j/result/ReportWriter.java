@@ -0,0 +1,46 @@
+package at.ac.univie.mminf.qskos4j.result;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer for reports that contain many entries. Results announce each written entry by {@link Result#endEntry}, and
+ * the writer is flushed after a configurable number of entries, so that a report is passed on to the underlying
+ * writer while it is generated instead of accumulating in memory.
+ */
+public class ReportWriter extends BufferedWriter {
+
+    public final static int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public final static int DEFAULT_FLUSH_INTERVAL = 1000;
+
+    private int flushInterval;
+    private long entryCount;
+
+    public ReportWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * @param out writer the report is passed on to
+     * @param bufferSize size of the buffer in characters
+     * @param flushInterval number of entries after which the writer is flushed, 0 to flush only when the buffer is
+     * full
+     */
+    public ReportWriter(Writer out, int bufferSize, int flushInterval) {
+        super(out, bufferSize);
+        this.flushInterval = flushInterval;
+    }
+
+    void entryWritten() throws IOException {
+        entryCount++;
+        if (flushInterval > 0 && entryCount % flushInterval == 0) {
+            flush();
+        }
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+}
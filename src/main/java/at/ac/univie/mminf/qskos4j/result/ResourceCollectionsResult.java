@@ -10,6 +10,8 @@ import java.util.Iterator;
 
 public class ResourceCollectionsResult extends CollectionResult<Collection<Resource>> {
 
+    private final static long serialVersionUID = 1L;
+
     private String valueSetName;
 
     public ResourceCollectionsResult(Collection<Collection<Resource>> data, String valueSetName) {
@@ -19,29 +21,42 @@ public class ResourceCollectionsResult extends CollectionResult<Collection<Resou
 
     @Override
     public void generateTextReport(BufferedWriter osw, ReportStyle style) throws IOException {
-        StringBuilder report = new StringBuilder();
         long compCount = 1;
 
         if (style == ReportStyle.SHORT) {
-            report.append("count: ").append(getData().size()).append("\n");
+            osw.write("count: " +getData().size()+ "\n");
         }
 
         Iterator<Collection<Resource>> componentIt = getData().iterator();
         while (componentIt.hasNext()) {
             Collection<Resource> component = componentIt.next();
 
-            report.append(valueSetName +" ").append(compCount).append(", size: ").append(component.size());
+            osw.write(valueSetName +" "+ compCount +", size: "+ component.size());
             if (style == ReportStyle.EXTENSIVE) {
                 for (Value value : component) {
-                    report.append("\n\t").append(value.toString());
+                    osw.write("\n\t" +value.toString());
+                    endEntry(osw);
                 }
             }
             compCount++;
 
-            if (componentIt.hasNext()) report.append("\n");
+            if (componentIt.hasNext()) osw.write("\n");
+            endEntry(osw);
         }
+    }
 
-        osw.write(report.toString());
+    @Override
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+        long compCount = 1;
+
+        for (Collection<Resource> component : getData()) {
+            writer.startFinding()
+                .field("index", compCount)
+                .field("size", component.size())
+                .field("resources", component)
+                .endRecord();
+            compCount++;
+        }
     }
 
 }
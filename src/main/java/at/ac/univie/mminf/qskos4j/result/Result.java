@@ -2,11 +2,14 @@ package at.ac.univie.mminf.qskos4j.result;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Serializable;
 import java.io.StringWriter;
 
-public abstract class Result<T> {
+public abstract class Result<T> implements Serializable {
 
-    public enum ReportFormat {TXT, DOT}
+    private final static long serialVersionUID = 1L;
+
+    public enum ReportFormat {TXT, DOT, JSONL}
     public enum ReportStyle {SHORT, EXTENSIVE}
 
     private T data;
@@ -35,6 +38,12 @@ public abstract class Result<T> {
                 generateDotReport(writer);
                 break;
 
+            case JSONL:
+                JsonReportWriter jsonWriter = new JsonReportWriter(writer);
+                generateJsonReport(jsonWriter);
+                jsonWriter.flush();
+                break;
+
             default:
                 throw new UnsupportedReportFormatException(format);
         }
@@ -48,13 +57,31 @@ public abstract class Result<T> {
         throw new UnsupportedOperationException();
 	}
 
+    /**
+     * Writes one record for each finding. Results without individual findings, e.g., statistical values, write
+     * nothing, they are represented by the summary record of their issue.
+     */
+    public void generateJsonReport(JsonReportWriter writer) throws IOException {
+    }
+
+    /**
+     * Called by text reports after each written entry, so that a {@link ReportWriter} can pass on the report while it
+     * is generated
+     */
+    protected void endEntry(BufferedWriter writer) throws IOException {
+        if (writer instanceof ReportWriter) {
+            ((ReportWriter) writer).entryWritten();
+        }
+    }
+
 	@Override
 	public String toString() {
         try {
-            BufferedWriter textReportStringWriter = new BufferedWriter(new StringWriter());
+            StringWriter shortReport = new StringWriter();
+            BufferedWriter textReportStringWriter = new BufferedWriter(shortReport);
             generateTextReport(textReportStringWriter, ReportStyle.SHORT);
             textReportStringWriter.close();
-            return textReportStringWriter.toString();
+            return shortReport.toString();
         }
         catch (IOException e) {
             return "Could not create short text report (" +e.getMessage()+ ")";
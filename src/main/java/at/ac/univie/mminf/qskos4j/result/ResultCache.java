@@ -0,0 +1,361 @@
+package at.ac.univie.mminf.qskos4j.result;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.rio.ntriples.NTriplesUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Persistent cache of issue results, stored as one file per result in a directory. Results are addressed by their
+ * content: the key combines a hash of the explicit statements in the evaluation repository with the configuration of
+ * the issue (its id and the settings it and the issues it depends on were evaluated with, see
+ * {@link at.ac.univie.mminf.qskos4j.issues.Issue#getConfiguration()}). Evaluating an unchanged vocabulary with the
+ * same settings again thus only requires hashing the statements.
+ * <p>
+ * Results are written with Java serialization, compressed with deflate. RDF values are replaced by a compact form
+ * which is written only once per result, and are read back as values of the {@link SimpleValueFactory}. The hash of
+ * the statements treats all blank nodes as equal, as their ids differ between loads of the same file.
+ * <p>
+ * Cache directories may be shared, e.g., between CI jobs, so only the classes results consist of (qSKOS classes,
+ * java.util collections, boxed primitives and URIs) are deserialized, files containing any other class count as misses.
+ */
+public class ResultCache {
+
+    private final static int MAGIC = 0x51534b52;
+    private final static int FORMAT_VERSION = 2;
+    private final static String FILE_EXTENSION = ".result";
+
+    private final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+
+    private File cacheDir;
+    private Repository hashedRepository;
+    private String vocabularyHash;
+    private AtomicLong hitCount = new AtomicLong(), missCount = new AtomicLong();
+
+    /**
+     * @param cacheDir directory the results are stored in, created if it does not exist
+     */
+    public ResultCache(File cacheDir) throws IOException {
+        this.cacheDir = cacheDir;
+
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new IOException("Unable to create result cache directory " +cacheDir);
+        }
+    }
+
+    /**
+     * @param repCon connection to the evaluation repository, the statements are hashed on the first call for a
+     * repository
+     * @param configuration configuration of the issue
+     * @return key the result of the issue is stored with
+     */
+    public String createKey(RepositoryConnection repCon, String configuration) throws RDF4JException {
+        return toHex(sha256(FORMAT_VERSION + "\n" + getVocabularyHash(repCon) + "\n" + configuration));
+    }
+
+    private synchronized String getVocabularyHash(RepositoryConnection repCon) throws RDF4JException {
+        if (vocabularyHash == null || hashedRepository != repCon.getRepository()) {
+            logger.info("Hashing vocabulary statements for result cache");
+            vocabularyHash = hashStatements(repCon);
+            hashedRepository = repCon.getRepository();
+        }
+        return vocabularyHash;
+    }
+
+    /**
+     * The statements of the repository have changed, they are hashed again when the next key is created.
+     */
+    public synchronized void invalidateVocabularyHash() {
+        vocabularyHash = null;
+    }
+
+    /**
+     * Hashes every statement on its own and adds up the hashes, so that the hash does not depend on the order the
+     * statements are returned in.
+     */
+    private String hashStatements(RepositoryConnection repCon) throws RDF4JException {
+        MessageDigest digest = createDigest();
+        long[] hashSum = new long[4];
+        long statementCount = 0;
+
+        RepositoryResult<Statement> statements = repCon.getStatements(null, null, null, false);
+        try {
+            while (statements.hasNext()) {
+                Statement statement = statements.next();
+                String triple = toNTriples(statement.getSubject()) +" "+
+                    toNTriples(statement.getPredicate()) +" "+
+                    toNTriples(statement.getObject());
+
+                ByteBuffer hash = ByteBuffer.wrap(digest.digest(triple.getBytes(StandardCharsets.UTF_8)));
+                for (int i = 0; i < hashSum.length; i++) {
+                    hashSum[i] += hash.getLong();
+                }
+                statementCount++;
+            }
+        }
+        finally {
+            statements.close();
+        }
+
+        ByteBuffer vocabularyHash = ByteBuffer.allocate(8 * (hashSum.length + 1));
+        for (long hash : hashSum) {
+            vocabularyHash.putLong(hash);
+        }
+        vocabularyHash.putLong(statementCount);
+        return toHex(vocabularyHash.array());
+    }
+
+    private String toNTriples(Value value) {
+        return value instanceof BNode ? "_:" : NTriplesUtil.toNTriplesString(value);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] sha256(String text) {
+        return createDigest().digest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return the cached result or null if there is no (readable) result for the key
+     */
+    public Result<?> get(String key) {
+        File resultFile = getResultFile(key);
+        if (!resultFile.exists()) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(resultFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown file format");
+            }
+
+            ObjectInputStream resultIn = new AllowListInputStream(new InflaterInputStream(in));
+            Result<?> result = (Result<?>) resultIn.readObject();
+            hitCount.incrementAndGet();
+            return result;
+        }
+        catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Ignoring unreadable cached result " +resultFile+ ": " +e.toString());
+            missCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result. The file is replaced atomically, so that concurrent readers never see a partially written
+     * result. Results that can't be serialized are not cached.
+     */
+    public void put(String key, Result<?> result) {
+        File tempFile = null;
+
+        try {
+            tempFile = File.createTempFile("result", ".tmp", cacheDir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+
+                DeflaterOutputStream compressedOut = new DeflaterOutputStream(out);
+                ObjectOutputStream resultOut = new ValueReplacingOutputStream(compressedOut);
+                resultOut.writeObject(result);
+                resultOut.flush();
+                compressedOut.finish();
+            }
+
+            Files.move(tempFile.toPath(), getResultFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            logger.warn("Could not cache result: " +e.toString());
+            if (tempFile != null) tempFile.delete();
+        }
+    }
+
+    private File getResultFile(String key) {
+        return new File(cacheDir, key + FILE_EXTENSION);
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Writes every distinct RDF value only once and independently of the store it comes from. Collections that can't
+     * be serialized, e.g., the values of a map, are written as copies.
+     */
+    private static class ValueReplacingOutputStream extends ObjectOutputStream {
+
+        private Map<Value, SerializedValue> serializedValues = new HashMap<>();
+
+        ValueReplacingOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj instanceof Statement) {
+                return new SerializedStatement((Statement) obj);
+            }
+            if (obj instanceof Value) {
+                return serializedValues.computeIfAbsent((Value) obj, SerializedValue::new);
+            }
+            if (obj instanceof Set && !(obj instanceof Serializable)) {
+                return new LinkedHashSet<>((Set<?>) obj);
+            }
+            if (obj instanceof Collection && !(obj instanceof Serializable)) {
+                return new ArrayList<>((Collection<?>) obj);
+            }
+            if (obj instanceof Map && !(obj instanceof Serializable)) {
+                return new LinkedHashMap<>((Map<?, ?>) obj);
+            }
+            return obj;
+        }
+
+    }
+
+    /**
+     * Only resolves the classes results consist of, so that reading a planted file can't instantiate arbitrary
+     * serializable classes of the class path.
+     */
+    private static class AllowListInputStream extends ObjectInputStream {
+
+        private final static Set<String> ALLOWED_JDK_CLASSES = new HashSet<>(Arrays.asList(
+            "java.lang.Object", "java.io.Serializable", "java.lang.String", "java.lang.Boolean",
+            "java.lang.Character", "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Float", "java.lang.Double", "java.lang.Number", "java.lang.Enum", "java.net.URI"));
+
+        AllowListInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowed(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "Class not allowed in cached results");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes not allowed in cached results");
+        }
+
+        private boolean isAllowed(String className) {
+            if (className.startsWith("[")) {
+                // arrays of primitives or of allowed classes
+                String componentName = className.replaceFirst("^\\[+", "");
+                return componentName.length() == 1 ||
+                    (componentName.startsWith("L") && isAllowed(componentName.substring(1, componentName.length() - 1)));
+            }
+            return className.startsWith("at.ac.univie.mminf.qskos4j.") ||
+                className.startsWith("java.util.") ||
+                ALLOWED_JDK_CLASSES.contains(className);
+        }
+
+    }
+
+    private static class SerializedValue implements Serializable {
+
+        private final static long serialVersionUID = 1L;
+
+        private final static char IRI = 'i', BNODE = 'b', LITERAL = 'l', LANGUAGE_LITERAL = 't';
+
+        private char type;
+        private String value, languageOrDatatype;
+
+        SerializedValue(Value value) {
+            this.value = value.stringValue();
+
+            if (value instanceof Literal) {
+                Literal literal = (Literal) value;
+                if (literal.getLanguage().isPresent()) {
+                    type = LANGUAGE_LITERAL;
+                    languageOrDatatype = literal.getLanguage().get();
+                }
+                else {
+                    type = LITERAL;
+                    languageOrDatatype = literal.getDatatype().stringValue();
+                }
+            }
+            else {
+                type = value instanceof BNode ? BNODE : IRI;
+            }
+        }
+
+        private Object readResolve() {
+            ValueFactory factory = SimpleValueFactory.getInstance();
+
+            switch (type) {
+                case BNODE:
+                    return factory.createBNode(value);
+                case LITERAL:
+                    return factory.createLiteral(value, factory.createIRI(languageOrDatatype));
+                case LANGUAGE_LITERAL:
+                    return factory.createLiteral(value, languageOrDatatype);
+                default:
+                    return factory.createIRI(value);
+            }
+        }
+
+    }
+
+    private static class SerializedStatement implements Serializable {
+
+        private final static long serialVersionUID = 1L;
+
+        private Resource subject, context;
+        private IRI predicate;
+        private Value object;
+
+        SerializedStatement(Statement statement) {
+            subject = statement.getSubject();
+            predicate = statement.getPredicate();
+            object = statement.getObject();
+            context = statement.getContext();
+        }
+
+        private Object readResolve() {
+            return SimpleValueFactory.getInstance().createStatement(subject, predicate, object, context);
+        }
+
+    }
+
+}
@@ -10,6 +10,10 @@ import org.slf4j.LoggerFactory;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Created by christian on 24.06.17.
@@ -22,7 +26,7 @@ public class IssueDescriptor {
     private String id, name, description;
     private IssueType type;
     private URL weblink;
-    private Issue dependentIssue;
+    private List<Issue> dependentIssues;
 
     public static class Builder {
         // required
@@ -31,7 +35,7 @@ public class IssueDescriptor {
 
         // optional
         private URL weblink;
-        private Issue dependentIssue;
+        private List<Issue> dependentIssues = new ArrayList<>();
 
         public Builder(String id, String name, String description, IssueType type) {
             this.id = id;
@@ -50,8 +54,12 @@ public class IssueDescriptor {
             return this;
         }
 
+        /**
+         * Declares an issue whose result is needed to compute this issue. Can be called several times if
+         * more than one issue is needed.
+         */
         public Builder dependentIssue(Issue dependentIssue) {
-            this.dependentIssue = dependentIssue;
+            this.dependentIssues.add(dependentIssue);
             return this;
         }
 
@@ -66,7 +74,7 @@ public class IssueDescriptor {
         this.description = builder.description;
         this.type = builder.type;
         this.weblink = builder.weblink;
-        this.dependentIssue = builder.dependentIssue;
+        this.dependentIssues = Collections.unmodifiableList(new ArrayList<>(builder.dependentIssues));
     }
 
     public String getId() {
@@ -86,7 +94,11 @@ public class IssueDescriptor {
     }
 
     public Issue getDependentIssue() {
-        return dependentIssue;
+        return dependentIssues.isEmpty() ? null : dependentIssues.get(0);
+    }
+
+    public Collection<Issue> getDependentIssues() {
+        return dependentIssues;
     }
 
     public URL getWeblink() {
@@ -1,6 +1,15 @@
 package at.ac.univie.mminf.qskos4j.util;
 
-public class Pair<T> {
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.JsonReportable;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class Pair<T> implements JsonReportable, Serializable {
+
+    private final static long serialVersionUID = 1L;
 
     private T first, second;
 
@@ -40,4 +49,9 @@ public class Pair<T> {
         return second;
     }
 
+    @Override
+    public void writeJsonFields(JsonReportWriter writer) throws IOException {
+        writer.field("resources", Arrays.asList(first, second));
+    }
+
 }
\ No newline at end of file
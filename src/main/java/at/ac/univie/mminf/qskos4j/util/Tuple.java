@@ -1,8 +1,15 @@
 package at.ac.univie.mminf.qskos4j.util;
 
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.JsonReportable;
+
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.*;
 
-public class Tuple<T> {
+public class Tuple<T> implements JsonReportable, Serializable {
+
+    private final static long serialVersionUID = 1L;
 
     private List<T> elements;
 
@@ -62,4 +69,9 @@ public class Tuple<T> {
         return elements;
     }
 
+    @Override
+    public void writeJsonFields(JsonReportWriter writer) throws IOException {
+        writer.field("resources", elements);
+    }
+
 }
\ No newline at end of file
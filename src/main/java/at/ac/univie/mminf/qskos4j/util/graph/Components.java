@@ -0,0 +1,73 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import java.util.*;
+
+/**
+ * Partition of the vertices of an {@link IntGraph} into numbered components.
+ */
+public class Components {
+
+    private int[] componentOfVertex;
+    private int[] componentSizes;
+
+    Components(int[] componentOfVertex, int componentCount) {
+        this.componentOfVertex = componentOfVertex;
+
+        componentSizes = new int[componentCount];
+        for (int component : componentOfVertex) {
+            componentSizes[component]++;
+        }
+    }
+
+    public int getComponentCount() {
+        return componentSizes.length;
+    }
+
+    public int getComponent(int vertexId) {
+        return componentOfVertex[vertexId];
+    }
+
+    public int getSize(int component) {
+        return componentSizes[component];
+    }
+
+    /**
+     * @return the vertex ids of each component, indexed by component
+     */
+    public int[][] getMembers() {
+        int[][] members = new int[componentSizes.length][];
+        int[] filled = new int[componentSizes.length];
+
+        for (int c = 0; c < componentSizes.length; c++) {
+            members[c] = new int[componentSizes[c]];
+        }
+        for (int v = 0; v < componentOfVertex.length; v++) {
+            int c = componentOfVertex[v];
+            members[c][filled[c]++] = v;
+        }
+
+        return members;
+    }
+
+    /**
+     * @return the vertices of each component, mapped back to the vertex objects of the graph
+     */
+    public <V> List<Collection<V>> getVertexSets(IntGraph<V> graph) {
+        List<Collection<V>> vertexSets = new ArrayList<>();
+
+        for (int[] members : getMembers()) {
+            vertexSets.add(toVertexSet(graph, members));
+        }
+
+        return vertexSets;
+    }
+
+    static <V> Collection<V> toVertexSet(IntGraph<V> graph, int[] vertexIds) {
+        Set<V> vertexSet = new HashSet<>();
+        for (int vertexId : vertexIds) {
+            vertexSet.add(graph.getVertex(vertexId));
+        }
+        return vertexSet;
+    }
+
+}
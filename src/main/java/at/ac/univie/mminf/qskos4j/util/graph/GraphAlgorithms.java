@@ -0,0 +1,113 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Connectivity algorithms on {@link IntGraph}s.
+ */
+public class GraphAlgorithms {
+
+    private GraphAlgorithms() {
+    }
+
+    /**
+     * Iterative version of Tarjan's algorithm. Components are numbered in the order they are completed, which is a
+     * reverse topological order of the condensation: every edge between two components leads to the lower number.
+     */
+    public static Components findStronglyConnectedComponents(IntGraph<?> graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] component = new int[vertexCount];
+        Arrays.fill(component, -1);
+
+        int[] index = new int[vertexCount], lowLink = new int[vertexCount], nextEdge = new int[vertexCount];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[vertexCount];
+        int[] stack = new int[vertexCount], callStack = new int[vertexCount];
+        int stackSize = 0, nextIndex = 0, componentCount = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (index[root] != -1) continue;
+
+            int callDepth = 0;
+            callStack[callDepth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            nextEdge[root] = graph.getFirstEdge(root);
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (callDepth > 0) {
+                int v = callStack[callDepth - 1];
+
+                if (nextEdge[v] < graph.getEndEdge(v)) {
+                    int w = graph.getEdgeTarget(nextEdge[v]++);
+                    if (index[w] == -1) {
+                        index[w] = lowLink[w] = nextIndex++;
+                        nextEdge[w] = graph.getFirstEdge(w);
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[callDepth++] = w;
+                    }
+                    else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                callDepth--;
+                if (callDepth > 0) {
+                    int parent = callStack[callDepth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+
+                if (lowLink[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = componentCount;
+                    } while (w != v);
+                    componentCount++;
+                }
+            }
+        }
+
+        return new Components(component, componentCount);
+    }
+
+    /**
+     * Finds the components of the graph when edge directions are ignored, using a union-find structure over the
+     * edges.
+     */
+    public static Components findWeaklyConnectedComponents(IntGraph<?> graph) {
+        UnionFind unionFind = new UnionFind(graph.getVertexCount());
+
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                unionFind.union(v, graph.getEdgeTarget(e));
+            }
+        }
+
+        return unionFind.toComponents();
+    }
+
+    /**
+     * @return the strongly connected components that contain a cycle, i.e., that consist of more than one vertex or
+     * of a vertex with a self loop
+     */
+    public static <V> List<Collection<V>> findCycleContainingComponents(IntGraph<V> graph) {
+        Components components = findStronglyConnectedComponents(graph);
+        List<Collection<V>> cycleContainingComponents = new ArrayList<>();
+
+        for (int[] members : components.getMembers()) {
+            if (members.length > 1 || graph.hasSelfLoop(members[0])) {
+                cycleContainingComponents.add(Components.toVertexSet(graph, members));
+            }
+        }
+
+        return cycleContainingComponents;
+    }
+
+}
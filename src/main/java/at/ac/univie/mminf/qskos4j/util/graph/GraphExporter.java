@@ -1,60 +1,60 @@
 package at.ac.univie.mminf.qskos4j.util.graph;
 
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.Graph;
-import org.jgrapht.ext.DOTExporter;
-import org.jgrapht.ext.IntegerNameProvider;
-import org.jgrapht.ext.StringEdgeNameProvider;
-import org.jgrapht.ext.VertexNameProvider;
-import org.jgrapht.graph.DirectedSubgraph;
 import org.eclipse.rdf4j.model.Resource;
 
-import java.io.StringWriter;
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 public class GraphExporter {
 
-	private DirectedGraph<Resource, NamedEdge> graph;
-	
-	public GraphExporter(DirectedGraph<Resource, NamedEdge> graph) {
+	private IntGraph<Resource> graph;
+
+	public GraphExporter(IntGraph<Resource> graph) {
 		this.graph = graph;
 	}
-	
+
 	public Collection<String> exportDotGraphs(Collection<Collection<Resource>> vertexSubSets) {
 		Set<String> dotGraphs = new HashSet<String>();
 
         for (Collection<Resource> component : vertexSubSets) {
-			Graph<Resource, NamedEdge> componentGraph = getGraphForComponent(component);
-			dotGraphs.add(exportGraph(componentGraph));
+			dotGraphs.add(exportGraph(component));
 		}
-		
+
 		return dotGraphs;
 	}
-	
-	private Graph<Resource, NamedEdge> getGraphForComponent(Collection<Resource> component)
-	{
-		return new DirectedSubgraph<Resource, NamedEdge>(graph, new HashSet<Resource>(component), null);
-	}
-	
-	private String exportGraph(Graph<Resource, NamedEdge> componentGraph) {
-		StringWriter outputWriter = new StringWriter();
-		
-		new DOTExporter<Resource, NamedEdge>(
-			new IntegerNameProvider<Resource>(),
-			new IRIVertexNameProvider(),
-			new StringEdgeNameProvider<NamedEdge>()
-		).export(outputWriter, componentGraph);
-		
-		return outputWriter.toString();
-	}
-			
-	private class IRIVertexNameProvider implements VertexNameProvider<Resource>
-	{
-		@Override
-		public String getVertexName(Resource vertex) {
-			return vertex.stringValue();
-		}	
+
+	/**
+	 * Writes the subgraph induced by the passed vertices in DOT format. Vertices are numbered in iteration order of
+	 * the collection, starting at 1, and labeled with their IRI.
+	 */
+	private String exportGraph(Collection<Resource> component) {
+		Map<Integer, Integer> dotIds = new LinkedHashMap<Integer, Integer>();
+		for (Resource vertex : component) {
+			int vertexId = graph.getVertexId(vertex);
+			if (vertexId != VertexDictionary.UNKNOWN_ID && !dotIds.containsKey(vertexId)) {
+				dotIds.put(vertexId, dotIds.size() + 1);
+			}
+		}
+
+		StringBuilder dot = new StringBuilder("digraph G {\n");
+
+		for (Map.Entry<Integer, Integer> vertex : dotIds.entrySet()) {
+			dot.append("  ").append(vertex.getValue())
+				.append(" [label = \"").append(graph.getVertex(vertex.getKey()).stringValue()).append("\"];\n");
+		}
+
+		for (Map.Entry<Integer, Integer> vertex : dotIds.entrySet()) {
+			int vertexId = vertex.getKey();
+			for (int e = graph.getFirstEdge(vertexId); e < graph.getEndEdge(vertexId); e++) {
+				Integer targetDotId = dotIds.get(graph.getEdgeTarget(e));
+				if (targetDotId == null) continue;
+
+				dot.append("  ").append(vertex.getValue()).append(" -> ").append(targetDotId)
+					.append(" [label = \"").append(graph.getEdgeLabel(e)).append("\"];\n");
+			}
+		}
+
+		dot.append("}\n");
+		return dot.toString();
 	}
+
 }
@@ -0,0 +1,198 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Immutable directed graph whose vertices are identified by consecutive integer ids. The outgoing edges of all
+ * vertices are stored in one array (compressed sparse row layout): the edges of vertex v are the indices from
+ * {@link #getFirstEdge(int)} (inclusive) to {@link #getEndEdge(int)} (exclusive). A {@link VertexDictionary} maps the
+ * ids to the original vertex objects. Instances are created with a {@link Builder}.
+ *
+ * @param <V> type of the vertex objects
+ */
+public class IntGraph<V> implements Serializable {
+
+    private final static long serialVersionUID = 1L;
+
+    private VertexDictionary<V> vertices;
+    private int[] edgeOffsets, edgeTargets, edgeLabelIds;
+    private VertexDictionary<String> edgeLabels;
+    private boolean[] hasSelfLoop;
+
+    private IntGraph(
+        VertexDictionary<V> vertices,
+        int[] edgeOffsets,
+        int[] edgeTargets,
+        int[] edgeLabelIds,
+        VertexDictionary<String> edgeLabels)
+    {
+        this.vertices = vertices;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeLabelIds = edgeLabelIds;
+        this.edgeLabels = edgeLabels;
+
+        hasSelfLoop = new boolean[vertices.size()];
+        for (int v = 0; v < vertices.size(); v++) {
+            for (int e = edgeOffsets[v]; e < edgeOffsets[v + 1]; e++) {
+                if (edgeTargets[e] == v) hasSelfLoop[v] = true;
+            }
+        }
+    }
+
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    public int getEdgeCount() {
+        return edgeTargets.length;
+    }
+
+    public V getVertex(int id) {
+        return vertices.getVertex(id);
+    }
+
+    /**
+     * @return the id of the vertex or {@link VertexDictionary#UNKNOWN_ID} if it is not part of the graph
+     */
+    public int getVertexId(V vertex) {
+        return vertices.getId(vertex);
+    }
+
+    public boolean containsVertex(V vertex) {
+        return vertices.contains(vertex);
+    }
+
+    /**
+     * @return index of the first outgoing edge of the vertex
+     */
+    public int getFirstEdge(int vertexId) {
+        return edgeOffsets[vertexId];
+    }
+
+    /**
+     * @return index after the last outgoing edge of the vertex
+     */
+    public int getEndEdge(int vertexId) {
+        return edgeOffsets[vertexId + 1];
+    }
+
+    public int getOutDegree(int vertexId) {
+        return edgeOffsets[vertexId + 1] - edgeOffsets[vertexId];
+    }
+
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * @return the label of the edge, an empty string if it has no label
+     */
+    public String getEdgeLabel(int edge) {
+        int labelId = edgeLabelIds[edge];
+        return labelId == VertexDictionary.UNKNOWN_ID ? "" : edgeLabels.getVertex(labelId);
+    }
+
+    public boolean hasSelfLoop(int vertexId) {
+        return hasSelfLoop[vertexId];
+    }
+
+    /**
+     * Collects vertices and edges and creates an {@link IntGraph} from them.
+     */
+    public static class Builder<V> {
+
+        private VertexDictionary<V> vertices = new VertexDictionary<>();
+        private VertexDictionary<String> edgeLabels = new VertexDictionary<>();
+        private int[] sources = new int[16], targets = new int[16], labelIds = new int[16];
+        private int edgeCount = 0;
+        private boolean allowParallelEdges;
+
+        /**
+         * @param allowParallelEdges if false, only the first of several edges between the same two vertices is kept
+         */
+        public Builder(boolean allowParallelEdges) {
+            this.allowParallelEdges = allowParallelEdges;
+        }
+
+        public int addVertex(V vertex) {
+            return vertices.add(vertex);
+        }
+
+        public void addEdge(V source, V target) {
+            addEdge(source, target, null);
+        }
+
+        public void addEdge(V source, V target, String label) {
+            if (edgeCount == sources.length) {
+                int newLength = sources.length * 2;
+                sources = Arrays.copyOf(sources, newLength);
+                targets = Arrays.copyOf(targets, newLength);
+                labelIds = Arrays.copyOf(labelIds, newLength);
+            }
+
+            sources[edgeCount] = addVertex(source);
+            targets[edgeCount] = addVertex(target);
+            labelIds[edgeCount] = label == null ? VertexDictionary.UNKNOWN_ID : edgeLabels.add(label);
+            edgeCount++;
+        }
+
+        public IntGraph<V> build() {
+            int vertexCount = vertices.size();
+            int[] edgeOffsets = new int[vertexCount + 1];
+
+            // counting sort by source vertex, keeps the insertion order of the edges of each vertex
+            for (int i = 0; i < edgeCount; i++) {
+                edgeOffsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                edgeOffsets[v + 1] += edgeOffsets[v];
+            }
+
+            int[] nextEdge = Arrays.copyOf(edgeOffsets, vertexCount);
+            int[] sortedTargets = new int[edgeCount], sortedLabelIds = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                int e = nextEdge[sources[i]]++;
+                sortedTargets[e] = targets[i];
+                sortedLabelIds[e] = labelIds[i];
+            }
+
+            if (!allowParallelEdges) {
+                return removeParallelEdges(edgeOffsets, sortedTargets, sortedLabelIds);
+            }
+            return new IntGraph<>(vertices, edgeOffsets, sortedTargets, sortedLabelIds, edgeLabels);
+        }
+
+        private IntGraph<V> removeParallelEdges(int[] edgeOffsets, int[] edgeTargets, int[] edgeLabelIds) {
+            int vertexCount = vertices.size();
+            int[] lastSeenFrom = new int[vertexCount];
+            Arrays.fill(lastSeenFrom, -1);
+
+            int[] newOffsets = new int[vertexCount + 1];
+            int kept = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                newOffsets[v] = kept;
+                for (int e = edgeOffsets[v]; e < edgeOffsets[v + 1]; e++) {
+                    int target = edgeTargets[e];
+                    if (lastSeenFrom[target] == v) continue;
+
+                    lastSeenFrom[target] = v;
+                    edgeTargets[kept] = target;
+                    edgeLabelIds[kept] = edgeLabelIds[e];
+                    kept++;
+                }
+            }
+            newOffsets[vertexCount] = kept;
+
+            return new IntGraph<>(
+                vertices,
+                newOffsets,
+                Arrays.copyOf(edgeTargets, kept),
+                Arrays.copyOf(edgeLabelIds, kept),
+                edgeLabels);
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import at.ac.univie.mminf.qskos4j.util.Pair;
+
+import java.util.*;
+
+/**
+ * Answers reachability queries on a directed graph without traversing it for each query. The strongly connected
+ * components of the graph are condensed into a DAG and, for each component, the sorted list of components reachable
+ * from it is computed in reverse topological order. The graph must not contain parallel edges.
+ *
+ * @param <V> vertex type
+ */
+public class ReachabilityIndex<V> {
+
+    private IntGraph<V> graph;
+    private Components components;
+    private int[][] reachableComponents;
+    private BitSet redundantEdges = new BitSet();
+
+    public ReachabilityIndex(IntGraph<V> graph) {
+        this.graph = graph;
+        components = GraphAlgorithms.findStronglyConnectedComponents(graph);
+        computeReachability();
+    }
+
+    private void computeReachability() {
+        int componentCount = components.getComponentCount();
+        int[][] members = components.getMembers();
+        reachableComponents = new int[componentCount][];
+
+        // stamps avoid clearing the scratch arrays for every component
+        int[] successorStamp = new int[componentCount], edgesToSuccessor = new int[componentCount];
+        int[] indirectStamp = new int[componentCount];
+        int[] visitedStamp = new int[graph.getVertexCount()];
+
+        for (int c = 0; c < componentCount; c++) {
+            int stamp = c + 1;
+            List<Integer> successors = new ArrayList<>();
+
+            for (int v : members[c]) {
+                for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                    int successor = components.getComponent(graph.getEdgeTarget(e));
+                    if (successor == c) continue;
+
+                    if (successorStamp[successor] != stamp) {
+                        successorStamp[successor] = stamp;
+                        edgesToSuccessor[successor] = 0;
+                        successors.add(successor);
+                    }
+                    edgesToSuccessor[successor]++;
+                }
+            }
+
+            // components reachable through at least one intermediate component
+            List<Integer> reachable = new ArrayList<>();
+            for (int successor : successors) {
+                for (int indirect : reachableComponents[successor]) {
+                    if (indirectStamp[indirect] != stamp) {
+                        indirectStamp[indirect] = stamp;
+                        reachable.add(indirect);
+                    }
+                }
+            }
+
+            findRedundantEdges(c, members[c], edgesToSuccessor, indirectStamp, visitedStamp);
+
+            for (int successor : successors) {
+                if (indirectStamp[successor] != stamp) {
+                    indirectStamp[successor] = stamp;
+                    reachable.add(successor);
+                }
+            }
+            reachableComponents[c] = toSortedArray(reachable);
+        }
+    }
+
+    /**
+     * An edge (u, v) leaving the component of u is redundant if the component of v can also be reached through
+     * another component, or through another edge leaving the component of u (u reaches every vertex of its own
+     * component and v reaches every vertex of its component). Edges within a component are checked by a search
+     * restricted to that component, as a path can never leave a component and return to it.
+     */
+    private void findRedundantEdges(
+        int c,
+        int[] members,
+        int[] edgesToSuccessor,
+        int[] indirectStamp,
+        int[] visitedStamp)
+    {
+        int stamp = c + 1;
+
+        for (int v : members) {
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                int target = graph.getEdgeTarget(e);
+                int targetComponent = components.getComponent(target);
+
+                if (targetComponent != c) {
+                    if (edgesToSuccessor[targetComponent] > 1 || indirectStamp[targetComponent] == stamp) {
+                        redundantEdges.set(e);
+                    }
+                }
+                else if (target != v && existsPathWithinComponent(v, target, e, visitedStamp)) {
+                    redundantEdges.set(e);
+                }
+            }
+        }
+    }
+
+    private boolean existsPathWithinComponent(int source, int target, int excludedEdge, int[] visitedStamp) {
+        int stamp = excludedEdge + 1;
+        int sourceComponent = components.getComponent(source);
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        visitedStamp[source] = stamp;
+
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                int w = graph.getEdgeTarget(e);
+                if (e == excludedEdge || components.getComponent(w) != sourceComponent || visitedStamp[w] == stamp) {
+                    continue;
+                }
+                if (w == target) return true;
+
+                visitedStamp[w] = stamp;
+                queue.add(w);
+            }
+        }
+        return false;
+    }
+
+    private int[] toSortedArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) array[i] = values.get(i);
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * @return true if there is a path of at least one edge leading from source to target. Returns false if one of the
+     * vertices is not part of the graph.
+     */
+    public boolean isReachable(V source, V target) {
+        int sourceId = graph.getVertexId(source), targetId = graph.getVertexId(target);
+        if (sourceId == VertexDictionary.UNKNOWN_ID || targetId == VertexDictionary.UNKNOWN_ID) return false;
+
+        int sourceComponent = components.getComponent(sourceId), targetComponent = components.getComponent(targetId);
+        if (sourceComponent == targetComponent) {
+            return sourceId != targetId || components.getSize(sourceComponent) > 1 || graph.hasSelfLoop(sourceId);
+        }
+        return Arrays.binarySearch(reachableComponents[sourceComponent], targetComponent) >= 0;
+    }
+
+    /**
+     * @return true if the vertex is part of the graph
+     */
+    public boolean contains(V vertex) {
+        return graph.containsVertex(vertex);
+    }
+
+    /**
+     * @return all edges (source, target) for which another path from source to target exists. Self loops are never
+     * reported.
+     */
+    public Collection<Pair<V>> getRedundantEdges() {
+        Collection<Pair<V>> edges = new ArrayList<>();
+
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                if (redundantEdges.get(e)) {
+                    edges.add(new Pair<>(graph.getVertex(v), graph.getVertex(graph.getEdgeTarget(e))));
+                }
+            }
+        }
+
+        return edges;
+    }
+
+}
@@ -0,0 +1,64 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+/**
+ * Disjoint-set forest over the integers 0..n-1 with union by size and path halving.
+ */
+public class UnionFind {
+
+    private int[] parent, size;
+
+    public UnionFind(int elementCount) {
+        parent = new int[elementCount];
+        size = new int[elementCount];
+
+        for (int i = 0; i < elementCount; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    public int find(int element) {
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    public void union(int element, int otherElement) {
+        int root = find(element), otherRoot = find(otherElement);
+        if (root == otherRoot) return;
+
+        if (size[root] < size[otherRoot]) {
+            int swap = root;
+            root = otherRoot;
+            otherRoot = swap;
+        }
+
+        parent[otherRoot] = root;
+        size[root] += size[otherRoot];
+    }
+
+    /**
+     * @return the sets of this structure, numbered consecutively
+     */
+    public Components toComponents() {
+        int[] componentOfRoot = new int[parent.length];
+        int[] component = new int[parent.length];
+        int componentCount = 0;
+
+        for (int i = 0; i < parent.length; i++) {
+            componentOfRoot[i] = -1;
+        }
+        for (int i = 0; i < parent.length; i++) {
+            int root = find(i);
+            if (componentOfRoot[root] == -1) {
+                componentOfRoot[root] = componentCount++;
+            }
+            component[i] = componentOfRoot[root];
+        }
+
+        return new Components(component, componentCount);
+    }
+
+}
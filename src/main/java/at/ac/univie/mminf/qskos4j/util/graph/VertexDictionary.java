@@ -0,0 +1,56 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns consecutive integer ids, starting at 0, to objects and maps the ids back to the objects.
+ *
+ * @param <V> type of the objects
+ */
+public class VertexDictionary<V> implements Serializable {
+
+    private final static long serialVersionUID = 1L;
+
+    public final static int UNKNOWN_ID = -1;
+
+    private Map<V, Integer> ids = new HashMap<>();
+    private List<V> vertices = new ArrayList<>();
+
+    /**
+     * @return the id of the vertex, a new id is assigned if the vertex has not been added before
+     */
+    public int add(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = vertices.size();
+            ids.put(vertex, id);
+            vertices.add(vertex);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of the vertex or {@link #UNKNOWN_ID} if it has not been added
+     */
+    public int getId(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? UNKNOWN_ID : id;
+    }
+
+    public V getVertex(int id) {
+        return vertices.get(id);
+    }
+
+    public boolean contains(V vertex) {
+        return ids.containsKey(vertex);
+    }
+
+    public int size() {
+        return vertices.size();
+    }
+
+}
@@ -0,0 +1,192 @@
+package at.ac.univie.mminf.qskos4j.util.url;
+
+import at.ac.univie.mminf.qskos4j.progress.IProgressMonitor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the availability of many URLs concurrently. All requests are sent through one pooled HTTP client. URLs of
+ * the same host are requested one after another, separated by a configurable delay, while different hosts are
+ * contacted in parallel up to a configurable number of concurrent requests. If a {@link LinkStatusCache} is set, only
+ * URLs without an up-to-date cache entry are requested.
+ */
+public class LinkChecker implements Closeable {
+
+    /**
+     * Content type reported for URLs that could be dereferenced but did not provide a content type
+     */
+    public final static String NO_CONTENT_TYPE = "n/a";
+
+    private final Logger logger = LoggerFactory.getLogger(LinkChecker.class);
+
+    private int maxConcurrentRequests;
+    private int hostDelayMillis;
+    private CloseableHttpClient httpClient;
+    private LinkStatusCache linkStatusCache;
+
+    /**
+     * @param maxConcurrentRequests maximum number of requests that are in progress at the same time
+     * @param hostDelayMillis delay in milliseconds between two requests to the same host
+     */
+    public LinkChecker(int maxConcurrentRequests, int hostDelayMillis) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one concurrent request is required");
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.hostDelayMillis = hostDelayMillis;
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConcurrentRequests);
+        connectionManager.setDefaultMaxPerRoute(maxConcurrentRequests);
+        httpClient = HttpClientBuilder.create().setConnectionManager(connectionManager).build();
+    }
+
+    /**
+     * Dereferences all passed URLs.
+     *
+     * @param urls the URLs to check
+     * @param progressMonitor notified after each checked URL
+     * @return the content type of every passed URL, {@link #NO_CONTENT_TYPE} if the response provided none or
+     * null if the URL could not be dereferenced
+     * @throws InterruptedException if the calling thread is interrupted before all URLs are checked, no partial result
+     * is returned
+     */
+    public Map<URL, String> checkLinks(Collection<URL> urls, final IProgressMonitor progressMonitor)
+        throws InterruptedException
+    {
+        final Map<URL, String> contentTypes = Collections.synchronizedMap(new HashMap<URL, String>());
+        final AtomicInteger checkedCount = new AtomicInteger();
+        final int totalCount = urls.size();
+
+        Map<String, List<URL>> urlsByHost = groupByHost(urls);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(maxConcurrentRequests, urlsByHost.size())));
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+
+        try {
+            for (final List<URL> hostUrls : urlsByHost.values()) {
+                completionService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws InterruptedException {
+                        checkHost(hostUrls, contentTypes, checkedCount, totalCount, progressMonitor);
+                        return null;
+                    }
+                });
+            }
+
+            for (int i = 0; i < urlsByHost.size(); i++) {
+                completionService.take().get();
+            }
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Error checking links", e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        progressMonitor.onFinish();
+        return contentTypes;
+    }
+
+    private Map<String, List<URL>> groupByHost(Collection<URL> urls) {
+        Map<String, List<URL>> urlsByHost = new HashMap<>();
+
+        for (URL url : urls) {
+            String host = url.getHost().toLowerCase();
+            List<URL> hostUrls = urlsByHost.get(host);
+            if (hostUrls == null) {
+                hostUrls = new ArrayList<>();
+                urlsByHost.put(host, hostUrls);
+            }
+            hostUrls.add(url);
+        }
+
+        return urlsByHost;
+    }
+
+    private void checkHost(
+        List<URL> hostUrls,
+        Map<URL, String> contentTypes,
+        AtomicInteger checkedCount,
+        int totalCount,
+        IProgressMonitor progressMonitor) throws InterruptedException
+    {
+        Iterator<URL> it = hostUrls.iterator();
+        while (it.hasNext()) {
+            URL url = it.next();
+            boolean requestNeeded = !hasFreshCacheEntry(url);
+            contentTypes.put(url, checkLink(url));
+
+            int checked = checkedCount.incrementAndGet();
+            logger.debug("checked link " +checked+ " of " +totalCount);
+            progressMonitor.onUpdateProgress(checked, totalCount);
+
+            // delay to avoid flooding the host
+            if (requestNeeded && it.hasNext() && hostDelayMillis > 0) {
+                Thread.sleep(hostDelayMillis);
+            }
+        }
+    }
+
+    /**
+     * @return the content type of the URL, {@link #NO_CONTENT_TYPE} if the response provided none or null if the URL
+     * could not be dereferenced
+     */
+    public String checkLink(URL url) {
+        LinkStatus status = getStatus(url);
+
+        if (!status.isAvailable()) {
+            logger.debug("url not dereferencable: " +url.toString());
+            return null;
+        }
+        if (status.getContentType() == null) {
+            logger.debug("no content type in response header for " +url.toString());
+            return NO_CONTENT_TYPE;
+        }
+        return status.getContentType();
+    }
+
+    private boolean hasFreshCacheEntry(URL url) {
+        return linkStatusCache != null && linkStatusCache.isFresh(linkStatusCache.get(url.toString()));
+    }
+
+    private LinkStatus getStatus(URL url) {
+        if (linkStatusCache == null) {
+            return new UrlDereferencer(httpClient).dereference(url, null);
+        }
+
+        LinkStatus cachedStatus = linkStatusCache.get(url.toString());
+        if (linkStatusCache.isFresh(cachedStatus)) {
+            return cachedStatus;
+        }
+
+        LinkStatus status = new UrlDereferencer(httpClient).dereference(url, cachedStatus);
+        linkStatusCache.put(status);
+        return status;
+    }
+
+    /**
+     * @param linkStatusCache cache consulted before a URL is dereferenced, may be null
+     */
+    public void setLinkStatusCache(LinkStatusCache linkStatusCache) {
+        this.linkStatusCache = linkStatusCache;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+}
@@ -0,0 +1,84 @@
+package at.ac.univie.mminf.qskos4j.util.url;
+
+/**
+ * Outcome of dereferencing a URL, including the validators (ETag, Last-Modified) needed to revalidate it later
+ * with a conditional request.
+ */
+public class LinkStatus {
+
+	public final static int NO_RESPONSE = 0;
+
+	private final String url;
+	private final int statusCode;
+	private final String contentType;
+	private final String etag;
+	private final String lastModified;
+	private final long checkedMillis;
+
+	public LinkStatus(
+		String url,
+		int statusCode,
+		String contentType,
+		String etag,
+		String lastModified,
+		long checkedMillis)
+	{
+		this.url = url;
+		this.statusCode = statusCode;
+		this.contentType = contentType;
+		this.etag = etag;
+		this.lastModified = lastModified;
+		this.checkedMillis = checkedMillis;
+	}
+
+	/**
+	 * @return a copy of this status that has been confirmed by the server at the given time
+	 */
+	public LinkStatus revalidated(long checkedMillis) {
+		return new LinkStatus(url, statusCode, contentType, etag, lastModified, checkedMillis);
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * @return the HTTP status code or {@link #NO_RESPONSE} if the server could not be reached
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	public boolean isAvailable() {
+		return statusCode == 200;
+	}
+
+	/**
+	 * @return the content type or null if the response provided none
+	 */
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	public boolean hasValidators() {
+		return etag != null || lastModified != null;
+	}
+
+	public long getCheckedMillis() {
+		return checkedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return url + " (" + statusCode + ", " + contentType + ")";
+	}
+
+}
@@ -0,0 +1,185 @@
+package at.ac.univie.mminf.qskos4j.util.url;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of {@link LinkStatus} entries. Entries younger than the configured time-to-live are used without
+ * contacting the server, expired entries are revalidated with a conditional request if possible. The cache is
+ * stored as a tab-separated text file with one URL per line, backslashes, tabs and line breaks within fields are
+ * escaped.
+ */
+public class LinkStatusCache implements Closeable {
+
+    private final Logger logger = LoggerFactory.getLogger(LinkStatusCache.class);
+
+    private final static String HEADER = "# qSKOS link status cache: url, status, checked, content type, etag, last modified";
+    private final static char SEPARATOR = '\t';
+
+    private File cacheFile;
+    private long ttlMillis;
+    private Map<String, LinkStatus> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache backed by the passed file. Existing entries are loaded from the file if it exists.
+     *
+     * @param cacheFile file the entries are read from and written to
+     * @param ttlMillis time in milliseconds an entry is considered up to date
+     */
+    public LinkStatusCache(File cacheFile, long ttlMillis) throws IOException {
+        this.cacheFile = cacheFile;
+        this.ttlMillis = ttlMillis;
+
+        if (cacheFile.exists()) {
+            load();
+        }
+    }
+
+    private void load() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                LinkStatus status = parseEntry(line);
+                if (status != null) {
+                    entries.put(status.getUrl(), status);
+                }
+            }
+        }
+
+        logger.info("Loaded " +entries.size()+ " entries from link status cache " +cacheFile);
+    }
+
+    private LinkStatus parseEntry(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+        if (fields.length != 6) {
+            logger.warn("Ignoring invalid link status cache entry: " +line);
+            return null;
+        }
+
+        try {
+            return new LinkStatus(
+                unescape(fields[0]),
+                Integer.parseInt(fields[1]),
+                emptyToNull(unescape(fields[3])),
+                emptyToNull(unescape(fields[4])),
+                emptyToNull(unescape(fields[5])),
+                Long.parseLong(fields[2]));
+        }
+        catch (IllegalArgumentException e) {
+            logger.warn("Ignoring invalid link status cache entry: " +line);
+            return null;
+        }
+    }
+
+    private String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value contains an invalid escape sequence
+     */
+    private String unescape(String value) {
+        if (value.indexOf('\\') < 0) return value;
+
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\') {
+                unescaped.append(c);
+                continue;
+            }
+            if (++i == value.length()) {
+                throw new IllegalArgumentException("Incomplete escape sequence");
+            }
+            switch (value.charAt(i)) {
+                case '\\': unescaped.append('\\'); break;
+                case 't': unescaped.append('\t'); break;
+                case 'n': unescaped.append('\n'); break;
+                case 'r': unescaped.append('\r'); break;
+                default: throw new IllegalArgumentException("Invalid escape sequence");
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * @return the cached status of the URL, regardless of its age, or null if the URL has not been checked yet
+     */
+    public LinkStatus get(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * @return true if the passed status has been checked within the time-to-live
+     */
+    public boolean isFresh(LinkStatus status) {
+        return status != null && System.currentTimeMillis() - status.getCheckedMillis() < ttlMillis;
+    }
+
+    public void put(LinkStatus status) {
+        entries.put(status.getUrl(), status);
+    }
+
+    /**
+     * Writes all entries to the cache file. The file is replaced atomically so that an interrupted run does not
+     * leave a truncated cache behind.
+     */
+    public synchronized void save() throws IOException {
+        File directory = cacheFile.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " +directory);
+        }
+
+        File tempFile = File.createTempFile("linkstatus", ".tmp", directory);
+        try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+
+            for (LinkStatus status : entries.values()) {
+                writeEntry(writer, status);
+            }
+        }
+
+        Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Saved " +entries.size()+ " entries to link status cache " +cacheFile);
+    }
+
+    private void writeEntry(Writer writer, LinkStatus status) throws IOException {
+        writer.write(escape(status.getUrl()));
+        writer.write(SEPARATOR);
+        writer.write(Integer.toString(status.getStatusCode()));
+        writer.write(SEPARATOR);
+        writer.write(Long.toString(status.getCheckedMillis()));
+        writer.write(SEPARATOR);
+        writer.write(escape(status.getContentType()));
+        writer.write(SEPARATOR);
+        writer.write(escape(status.getEtag()));
+        writer.write(SEPARATOR);
+        writer.write(escape(status.getLastModified()));
+        writer.write('\n');
+    }
+
+    private String escape(String value) {
+        if (value == null) return "";
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        save();
+    }
+
+}
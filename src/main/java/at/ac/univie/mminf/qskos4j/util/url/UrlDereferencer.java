@@ -6,8 +6,10 @@ import java.net.URL;
 
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -21,32 +23,106 @@ public class UrlDereferencer {
 			.getLogger(UrlDereferencer.class);
 	private final int HTTP_GET_TIMOUT_MILLIS = 60000;
 
+	private final CloseableHttpClient httpClient;
+
+	/**
+	 * Creates a dereferencer that uses a new HTTP client for every request.
+	 */
+	public UrlDereferencer() {
+		this(null);
+	}
+
+	/**
+	 * Creates a dereferencer that sends all requests using the passed
+	 * client. The client is not closed by the dereferencer.
+	 */
+	public UrlDereferencer(final CloseableHttpClient httpClient) {
+		this.httpClient = httpClient;
+	}
+
+	/**
+	 * Requests the passed URL with HEAD first. If the server does not answer
+	 * the HEAD request successfully or omits the content type, a GET request
+	 * is sent.
+	 *
+	 * @throws NoContentTypeProvidedException if the URL could be dereferenced
+	 *             but the response contains no content type
+	 */
 	public String getContentType(final URL url)
 			throws UrlNotDereferencableException {
+		final LinkStatus status = dereference(url, null);
+
+		if (!status.isAvailable()) {
+			throw new UrlNotDereferencableException(url);
+		}
+		if (status.getContentType() == null) {
+			throw new NoContentTypeProvidedException();
+		}
+		return status.getContentType();
+	}
+
+	/**
+	 * Dereferences the passed URL, trying HEAD first and falling back to GET.
+	 * If a previous status with validators is passed, the requests are sent
+	 * conditionally and an unchanged resource is reported by returning the
+	 * previous status with an updated timestamp.
+	 *
+	 * @param url the URL to dereference
+	 * @param previousStatus status of an earlier check of the URL, may be null
+	 */
+	public LinkStatus dereference(final URL url, final LinkStatus previousStatus) {
+		final LinkStatus headStatus = dereference(url, RequestBuilder.head(),
+				previousStatus);
+		if (headStatus.isAvailable() && headStatus.getContentType() != null) {
+			return headStatus;
+		}
+
+		this.logger.debug("HEAD request unsuccessful for " + url.toString()
+				+ ", trying GET");
+		return dereference(url, RequestBuilder.get(), previousStatus);
+	}
+
+	private LinkStatus dereference(final URL url,
+			final RequestBuilder requestBuilder, final LinkStatus previousStatus) {
 		try {
-			final HttpResponse response = sendRequest(url);
+			return sendRequest(url, requestBuilder, previousStatus);
+		} catch (final Exception e) {
+			this.logger.debug("error dereferencing " + url.toString() + ": "
+					+ e.toString());
+			return new LinkStatus(url.toString(), LinkStatus.NO_RESPONSE,
+					null, null, null, System.currentTimeMillis());
+		}
+	}
 
-			if (isValidResponse(response)) {
-				final Header contentType = response
-						.getFirstHeader("Content-Type");
-				if (contentType == null || contentType.getValue().isEmpty()) {
-					throw new NoContentTypeProvidedException();
-				}
+	private LinkStatus sendRequest(final URL url,
+			final RequestBuilder requestBuilder, final LinkStatus previousStatus)
+			throws URISyntaxException, IOException {
+		final CloseableHttpClient client = this.httpClient != null ? this.httpClient
+				: HttpClientBuilder.create().build();
 
-				return contentType.getValue();
+		try {
+			final CloseableHttpResponse response = client
+					.execute(createRequest(url, requestBuilder, previousStatus));
+			try {
+				return createStatus(url, response, previousStatus);
+			} finally {
+				response.close();
+			}
+		} finally {
+			if (client != this.httpClient) {
+				client.close();
 			}
-		} catch (final Exception e) {
-			// fall through
 		}
-		throw new UrlNotDereferencableException(url);
 	}
 
-	private HttpResponse sendRequest(final URL url) throws URISyntaxException,
-			IOException {
-		this.logger.debug("dereferencing: " + url.toString());
+	private HttpUriRequest createRequest(final URL url,
+			final RequestBuilder requestBuilder, final LinkStatus previousStatus)
+			throws URISyntaxException {
+		this.logger.debug("dereferencing (" + requestBuilder.getMethod()
+				+ "): " + url.toString());
 
-		final HttpUriRequest request = RequestBuilder
-				.get(url.toURI())
+		requestBuilder
+				.setUri(url.toURI())
 				.setConfig(
 						RequestConfig
 								.custom()
@@ -57,21 +133,58 @@ public class UrlDereferencer {
 								.setCookieSpec(CookieSpecs.STANDARD).build())
 
 				.setHeader("Accept",
-						"text/html,application/xhtml+xml,application/xml,text/plain,*/*;q=0.5")
-				.build();
+						"text/html,application/xhtml+xml,application/xml,text/plain,*/*;q=0.5");
 
-		final CloseableHttpClient httpClient = HttpClientBuilder.create()
-				.build();
-		final HttpResponse response = httpClient.execute(request);
-		httpClient.close();
+		if (isRevalidatable(previousStatus)) {
+			if (previousStatus.getEtag() != null) {
+				requestBuilder.setHeader("If-None-Match",
+						previousStatus.getEtag());
+			}
+			if (previousStatus.getLastModified() != null) {
+				requestBuilder.setHeader("If-Modified-Since",
+						previousStatus.getLastModified());
+			}
+		}
+
+		return requestBuilder.build();
+	}
 
-		return response;
+	private boolean isRevalidatable(final LinkStatus previousStatus) {
+		return previousStatus != null && previousStatus.isAvailable()
+				&& previousStatus.hasValidators();
 	}
 
-	private boolean isValidResponse(final HttpResponse response) {
+	private LinkStatus createStatus(final URL url,
+			final HttpResponse response, final LinkStatus previousStatus) {
 		final int statusCode = response.getStatusLine().getStatusCode();
+		final long now = System.currentTimeMillis();
 		this.logger.debug("response status: " + statusCode);
 
+		if (statusCode == HttpStatus.SC_NOT_MODIFIED
+				&& isRevalidatable(previousStatus)) {
+			return previousStatus.revalidated(now);
+		}
+
+		if (!isValidResponse(statusCode)) {
+			return new LinkStatus(url.toString(), statusCode, null, null,
+					null, now);
+		}
+
+		return new LinkStatus(url.toString(), statusCode, getHeaderValue(
+				response, "Content-Type"), getHeaderValue(response, "ETag"),
+				getHeaderValue(response, "Last-Modified"), now);
+	}
+
+	private String getHeaderValue(final HttpResponse response,
+			final String headerName) {
+		final Header header = response.getFirstHeader(headerName);
+		if (header == null || header.getValue().isEmpty()) {
+			return null;
+		}
+		return header.getValue();
+	}
+
+	private boolean isValidResponse(final int statusCode) {
 		if (Integer.toString(statusCode).startsWith("4")
 				|| Integer.toString(statusCode).startsWith("5")) {
 			return false;
@@ -80,7 +193,9 @@ public class UrlDereferencer {
 			case 200:
 				return true;
 			default:
-				throw new UnhandledHTTPResponseException(statusCode);
+				this.logger.debug(new UnhandledHTTPResponseException(
+						statusCode).getMessage());
+				return false;
 			}
 		}
 	}
@@ -0,0 +1,83 @@
+package at.ac.univie.mminf.qskos4j.util.vocab;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+/**
+ * Adds the handled statements to a repository in transactions of at most a given number of statements, so that an
+ * inferencing store computes its entailments once per transaction instead of once per statement without keeping an
+ * unbounded amount of uncommitted statements.
+ */
+class BatchingInserter extends AbstractRDFHandler {
+
+    private final RepositoryConnection repCon;
+    private final int transactionSize;
+    private final Resource[] contexts;
+    private int pendingCount;
+    private long statementCount;
+
+    /**
+     * @param repCon connection the statements are added with, must not be used for reading at the same time
+     * @param transactionSize maximum number of statements added in one transaction
+     * @param contexts contexts the statements are added to, the context of each statement if none are given
+     */
+    BatchingInserter(RepositoryConnection repCon, int transactionSize, Resource... contexts) {
+        this.repCon = repCon;
+        this.transactionSize = transactionSize;
+        this.contexts = contexts;
+    }
+
+    @Override
+    public void handleStatement(Statement statement) throws RDFHandlerException {
+        try {
+            if (!repCon.isActive()) {
+                repCon.begin();
+            }
+            repCon.add(statement, contexts);
+            statementCount++;
+
+            if (++pendingCount >= transactionSize) {
+                commit();
+            }
+        }
+        catch (RDF4JException e) {
+            throw new RDFHandlerException("Could not add statement " +statement, e);
+        }
+    }
+
+    @Override
+    public void endRDF() throws RDFHandlerException {
+        try {
+            commit();
+        }
+        catch (RDF4JException e) {
+            throw new RDFHandlerException("Could not commit statements", e);
+        }
+    }
+
+    /**
+     * Discards the statements added since the last commit, to be called if handling failed.
+     */
+    void rollback() throws RDF4JException {
+        if (repCon.isActive()) {
+            repCon.rollback();
+        }
+        pendingCount = 0;
+    }
+
+    long getStatementCount() {
+        return statementCount;
+    }
+
+    private void commit() throws RDF4JException {
+        if (repCon.isActive()) {
+            repCon.commit();
+        }
+        pendingCount = 0;
+    }
+
+}
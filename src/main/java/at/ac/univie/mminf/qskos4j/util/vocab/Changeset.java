@@ -0,0 +1,232 @@
+package at.ac.univie.mminf.qskos4j.util.vocab;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOSXL;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Statements added to and removed from a vocabulary, e.g., the edits made between two versions of a file. A changeset
+ * is applied to an evaluation repository by {@link #applyTo(RepositoryConnection, Resource...)}, after which issues
+ * that support incremental evaluation only re-evaluate the resources affected by the change (see
+ * {@link at.ac.univie.mminf.qskos4j.QSkos#applyChangeset(Changeset)}).
+ * <p>
+ * Blank nodes can't be matched between two versions of a vocabulary, so the changed statements must not contain
+ * them.
+ */
+public class Changeset {
+
+    private final static Set<IRI> SCHEMA_PROPERTIES = new HashSet<>(Arrays.asList(
+        RDFS.SUBPROPERTYOF, RDFS.SUBCLASSOF, RDFS.DOMAIN, RDFS.RANGE, OWL.INVERSEOF));
+
+    private final static List<IRI> SKOSXL_LABEL_PROPERTIES = Arrays.asList(
+        SKOSXL.PREF_LABEL, SKOSXL.ALT_LABEL, SKOSXL.HIDDEN_LABEL);
+
+    private final static Statement REINFERENCING_MARKER = SimpleValueFactory.getInstance().createStatement(
+        SimpleValueFactory.getInstance().createIRI("urn:qskos:changeset"), RDF.TYPE, RDFS.RESOURCE);
+
+    private Model addedStatements, removedStatements;
+    private Set<Resource> labeledResources = new HashSet<>();
+
+    public Changeset(Collection<Statement> addedStatements, Collection<Statement> removedStatements) {
+        this.addedStatements = new LinkedHashModel(addedStatements);
+        this.removedStatements = new LinkedHashModel(removedStatements);
+
+        assertNoBlankNodes(this.addedStatements);
+        assertNoBlankNodes(this.removedStatements);
+    }
+
+    private void assertNoBlankNodes(Model statements) {
+        for (Statement statement : statements) {
+            if (statement.getSubject() instanceof BNode || statement.getObject() instanceof BNode) {
+                throw new IllegalArgumentException("Changed statement contains a blank node: " + statement);
+            }
+        }
+    }
+
+    /**
+     * Creates the changeset that turns one version of a vocabulary into another. Statements containing blank nodes
+     * are compared as a whole: they must be isomorphic in both versions.
+     */
+    public static Changeset diff(Model oldVersion, Model newVersion) {
+        Model oldBlankNodeStatements = new LinkedHashModel(), newBlankNodeStatements = new LinkedHashModel();
+        Collection<Statement> added = new ArrayList<>(), removed = new ArrayList<>();
+
+        for (Statement statement : oldVersion) {
+            if (hasBlankNode(statement)) oldBlankNodeStatements.add(statement);
+            else if (!containsTriple(newVersion, statement)) removed.add(statement);
+        }
+        for (Statement statement : newVersion) {
+            if (hasBlankNode(statement)) newBlankNodeStatements.add(statement);
+            else if (!containsTriple(oldVersion, statement)) added.add(statement);
+        }
+
+        if (!Models.isomorphic(oldBlankNodeStatements, newBlankNodeStatements)) {
+            throw new IllegalArgumentException("Statements containing blank nodes differ between the versions");
+        }
+        return new Changeset(added, removed);
+    }
+
+    /**
+     * Parses both files and creates the changeset that turns the first into the second, see
+     * {@link #diff(Model, Model)}.
+     */
+    public static Changeset diff(File oldVersion, File newVersion) throws RDF4JException, IOException {
+        return diff(parse(oldVersion), parse(newVersion));
+    }
+
+    private static Model parse(File file) throws RDF4JException, IOException {
+        RDFFormat format = Rio.getParserFormatForFileName(file.getName()).orElse(RDFFormat.RDFXML);
+        try (InputStream in = new FileInputStream(file)) {
+            return Rio.parse(in, file.toURI().toString(), format);
+        }
+    }
+
+    private static boolean hasBlankNode(Statement statement) {
+        return statement.getSubject() instanceof BNode || statement.getObject() instanceof BNode;
+    }
+
+    private static boolean containsTriple(Model model, Statement statement) {
+        return model.contains(statement.getSubject(), statement.getPredicate(), statement.getObject());
+    }
+
+    public Model getAddedStatements() {
+        return addedStatements;
+    }
+
+    public Model getRemovedStatements() {
+        return removedStatements;
+    }
+
+    public boolean isEmpty() {
+        return addedStatements.isEmpty() && removedStatements.isEmpty();
+    }
+
+    /**
+     * @return the subjects and the resource objects of all added and removed statements and, once the changeset has
+     * been applied, the resources labeled by SKOS-XL labels whose literal form has changed
+     */
+    public Set<Resource> getAffectedResources() {
+        Set<Resource> affectedResources = new HashSet<>(labeledResources);
+        addAffectedResources(addedStatements, affectedResources);
+        addAffectedResources(removedStatements, affectedResources);
+        return affectedResources;
+    }
+
+    private void addAffectedResources(Model statements, Set<Resource> affectedResources) {
+        for (Statement statement : statements) {
+            affectedResources.add(statement.getSubject());
+            if (statement.getObject() instanceof Resource) {
+                affectedResources.add((Resource) statement.getObject());
+            }
+        }
+    }
+
+    /**
+     * @return the literals of all added and removed statements
+     */
+    public Set<Literal> getAffectedLiterals() {
+        Set<Literal> affectedLiterals = new HashSet<>();
+        affectedLiterals.addAll(Models.objectLiterals(addedStatements));
+        affectedLiterals.addAll(Models.objectLiterals(removedStatements));
+        return affectedLiterals;
+    }
+
+    /**
+     * @return true if the changeset adds or removes schema statements (e.g., rdfs:subPropertyOf), which can change
+     * the entailments of resources that are not mentioned in the changeset
+     */
+    public boolean changesSchema() {
+        for (IRI schemaProperty : SCHEMA_PROPERTIES) {
+            if (addedStatements.contains(null, schemaProperty, null) ||
+                removedStatements.contains(null, schemaProperty, null))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes and adds the statements. Removed statements are deleted from all contexts. Entailments are updated by
+     * the repository's inferencer, so repositories set up with {@link RepositoryBuilder.Inferencing#SKOS} must be
+     * materialized again, see {@link RepositoryBuilder#updateEntailments()}. The resources labeled by SKOS-XL labels
+     * whose literal form changes are looked up and added to the {@link #getAffectedResources() affected resources}.
+     *
+     * @param contexts contexts the added statements are stored in, the default context if none are given
+     */
+    public void applyTo(RepositoryConnection repCon, Resource... contexts) throws RDF4JException {
+        repCon.begin();
+        try {
+            for (Statement statement : removedStatements) {
+                repCon.remove(statement.getSubject(), statement.getPredicate(), statement.getObject());
+            }
+            repCon.add(addedStatements, contexts);
+            if (!removedStatements.isEmpty()) repCon.add(REINFERENCING_MARKER);
+            repCon.commit();
+
+            // Removing statements makes the forward chaining inferencer compute all entailments from scratch, but
+            // it misses removed explicit statements that are still entailed by others (e.g., the type of a concept
+            // that is still the object of a hierarchical relation). Removing the marker triggers the computation
+            // again once the explicit statements are gone.
+            if (!removedStatements.isEmpty()) {
+                repCon.begin();
+                repCon.remove(REINFERENCING_MARKER);
+                repCon.commit();
+            }
+        }
+        catch (RDF4JException e) {
+            if (repCon.isActive()) repCon.rollback();
+            throw e;
+        }
+
+        labeledResources = findLabeledResources(repCon);
+    }
+
+    /**
+     * The lexical labels derived from SKOS-XL labels belong to the labeled resource, which is not part of the changed
+     * statements if only the literal form of a label changes.
+     */
+    private Set<Resource> findLabeledResources(RepositoryConnection repCon) throws RDF4JException {
+        Set<Resource> changedLabels = new HashSet<>();
+        changedLabels.addAll(addedStatements.filter(null, SKOSXL.LITERAL_FORM, null).subjects());
+        changedLabels.addAll(removedStatements.filter(null, SKOSXL.LITERAL_FORM, null).subjects());
+
+        Set<Resource> labeledResources = new HashSet<>();
+        for (Resource label : changedLabels) {
+            for (IRI labelProperty : SKOSXL_LABEL_PROPERTIES) {
+                RepositoryResult<Statement> labelStatements = repCon.getStatements(null, labelProperty, label, false);
+                try {
+                    while (labelStatements.hasNext()) {
+                        labeledResources.add(labelStatements.next().getSubject());
+                    }
+                }
+                finally {
+                    labelStatements.close();
+                }
+            }
+        }
+        return labeledResources;
+    }
+
+    @Override
+    public String toString() {
+        return "+" +addedStatements.size()+ " -" +removedStatements.size()+ " statements";
+    }
+
+}
@@ -0,0 +1,361 @@
+package at.ac.univie.mminf.qskos4j.util.vocab;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Loads RDF files into a repository using several cores. Files in a line-based format (N-Triples, N-Quads) are split
+ * into chunks of lines that are parsed in parallel, files in other formats are parsed as a whole, but in parallel to
+ * each other. Parsed statements are passed in batches through a bounded queue to the calling thread, which adds
+ * each batch to the repository in its own transaction.
+ */
+public class RdfLoader {
+
+    public final static int DEFAULT_CHUNK_LINES = 50000;
+    public final static int DEFAULT_BATCH_SIZE = 10000;
+
+    private final static List<Statement> END_OF_INPUT = new ArrayList<>();
+
+    private final Logger logger = LoggerFactory.getLogger(RdfLoader.class);
+
+    private int parserThreads;
+    private int chunkLines = DEFAULT_CHUNK_LINES;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * @param parserThreads number of files or chunks that are parsed in parallel
+     */
+    public RdfLoader(int parserThreads) {
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("At least one parser thread is required");
+        }
+        this.parserThreads = parserThreads;
+    }
+
+    /**
+     * @param chunkLines number of lines of an N-Triples or N-Quads file that are parsed as one unit of work
+     */
+    public void setChunkLines(int chunkLines) {
+        this.chunkLines = chunkLines;
+    }
+
+    /**
+     * @param batchSize number of statements that are added to the repository in one transaction
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds the statements of all passed files to the repository.
+     *
+     * @param rdfFiles the files to load
+     * @param baseIRI base IRI to resolve relative IRIs against, if null the IRI of the respective file is used
+     * @param dataFormat format of all files, if null it is determined from each file's name (*.xml files are read as
+     * RDF/XML)
+     * @param repCon connection the statements are added with
+     */
+    public void load(List<File> rdfFiles, String baseIRI, RDFFormat dataFormat, RepositoryConnection repCon)
+        throws RDF4JException, IOException
+    {
+        BlockingQueue<List<Statement>> batches = new ArrayBlockingQueue<>(2 * parserThreads);
+        ExecutorService parserExecutor = Executors.newFixedThreadPool(parserThreads);
+        ExecutorService readerExecutor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> reader = readerExecutor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    try {
+                        readFiles(rdfFiles, baseIRI, dataFormat, parserExecutor, batches);
+                    }
+                    finally {
+                        batches.put(END_OF_INPUT);
+                    }
+                    return null;
+                }
+            });
+
+            long statementCount = insertBatches(batches, repCon);
+            reader.get();
+            logger.debug("Loaded " +statementCount+ " statements from " +rdfFiles.size()+ " file(s)");
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading RDF data", e);
+        }
+        catch (ExecutionException e) {
+            throwCause(e);
+        }
+        finally {
+            readerExecutor.shutdownNow();
+            parserExecutor.shutdownNow();
+        }
+    }
+
+    private long insertBatches(BlockingQueue<List<Statement>> batches, RepositoryConnection repCon)
+        throws InterruptedException, RDF4JException
+    {
+        long statementCount = 0;
+
+        List<Statement> batch = batches.take();
+        while (batch != END_OF_INPUT) {
+            repCon.begin();
+            try {
+                repCon.add(batch);
+                repCon.commit();
+            }
+            catch (RDF4JException e) {
+                if (repCon.isActive()) {
+                    repCon.rollback();
+                }
+                throw e;
+            }
+
+            statementCount += batch.size();
+            batch = batches.take();
+        }
+
+        return statementCount;
+    }
+
+    private void readFiles(
+        List<File> rdfFiles,
+        String baseIRI,
+        RDFFormat dataFormat,
+        ExecutorService parserExecutor,
+        BlockingQueue<List<Statement>> batches) throws Exception
+    {
+        // limits the number of chunks held in memory
+        Semaphore pendingChunks = new Semaphore(2 * parserThreads);
+        List<Future<?>> parseResults = new ArrayList<>();
+
+        for (File rdfFile : rdfFiles) {
+            String fileBaseIRI = baseIRI == null ? rdfFile.toURI().toString() : baseIRI;
+            RDFFormat format = dataFormat == null ? getFormatForFileName(rdfFile.getName()) : dataFormat;
+
+            if (isLineBased(format)) {
+                ValueFactory valueFactory = new FileScopedValueFactory("genid-" +UUID.randomUUID()+ "-");
+                readChunks(rdfFile, fileBaseIRI, format, valueFactory, pendingChunks, parserExecutor, batches,
+                    parseResults);
+            }
+            else {
+                pendingChunks.acquire();
+                parseResults.add(parserExecutor.submit(
+                    new ParseTask(rdfFile, null, 1, fileBaseIRI, format, null, pendingChunks, batches)));
+            }
+        }
+
+        for (Future<?> parseResult : parseResults) {
+            try {
+                parseResult.get();
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Rio maps the .xml extension to TriX, but vocabularies named *.xml are usually RDF/XML.
+     */
+    private RDFFormat getFormatForFileName(String fileName) {
+        if (fileName.toLowerCase().endsWith(".xml")) {
+            return RDFFormat.RDFXML;
+        }
+        return Rio.getParserFormatForFileName(fileName).orElseThrow(Rio.unsupportedFormat(fileName));
+    }
+
+    private boolean isLineBased(RDFFormat format) {
+        return format.equals(RDFFormat.NTRIPLES) || format.equals(RDFFormat.NQUADS);
+    }
+
+    private void readChunks(
+        File rdfFile,
+        String baseIRI,
+        RDFFormat format,
+        ValueFactory valueFactory,
+        Semaphore pendingChunks,
+        ExecutorService parserExecutor,
+        BlockingQueue<List<Statement>> batches,
+        List<Future<?>> parseResults) throws IOException, InterruptedException
+    {
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(new FileInputStream(rdfFile), StandardCharsets.UTF_8)))
+        {
+            StringBuilder chunk = new StringBuilder();
+            int lineCount = 0, firstLine = 1;
+
+            String line = reader.readLine();
+            while (line != null) {
+                chunk.append(line).append('\n');
+                lineCount++;
+                line = reader.readLine();
+
+                if (lineCount % chunkLines == 0 || line == null) {
+                    pendingChunks.acquire();
+                    parseResults.add(parserExecutor.submit(new ParseTask(
+                        rdfFile, chunk.toString(), firstLine, baseIRI, format, valueFactory, pendingChunks, batches)));
+
+                    chunk.setLength(0);
+                    firstLine = lineCount + 1;
+                }
+            }
+        }
+    }
+
+    private void throwCause(ExecutionException e) throws RDF4JException, IOException {
+        Throwable cause = e.getCause();
+        if (cause instanceof RDF4JException) {
+            throw (RDF4JException) cause;
+        }
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        throw new IllegalStateException("Error loading RDF data", cause);
+    }
+
+    /**
+     * Parses a whole file or, if text is passed, a chunk of a line-based file.
+     */
+    private class ParseTask implements Callable<Void> {
+
+        private File rdfFile;
+        private String text;
+        private int firstLine;
+        private String baseIRI;
+        private RDFFormat format;
+        private ValueFactory valueFactory;
+        private Semaphore pendingChunks;
+        private BlockingQueue<List<Statement>> batches;
+
+        ParseTask(
+            File rdfFile,
+            String text,
+            int firstLine,
+            String baseIRI,
+            RDFFormat format,
+            ValueFactory valueFactory,
+            Semaphore pendingChunks,
+            BlockingQueue<List<Statement>> batches)
+        {
+            this.rdfFile = rdfFile;
+            this.text = text;
+            this.firstLine = firstLine;
+            this.baseIRI = baseIRI;
+            this.format = format;
+            this.valueFactory = valueFactory;
+            this.pendingChunks = pendingChunks;
+            this.batches = batches;
+        }
+
+        @Override
+        public Void call() throws IOException, RDF4JException {
+            try {
+                RDFParser parser = Rio.createParser(format);
+                parser.setRDFHandler(new BatchingHandler(batches));
+
+                if (text == null) {
+                    try (InputStream in = new BufferedInputStream(new FileInputStream(rdfFile))) {
+                        parser.parse(in, baseIRI);
+                    }
+                }
+                else {
+                    // blank node labels are scoped to the file, not to the chunk
+                    parser.setValueFactory(valueFactory);
+                    parser.getParserConfig().set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+                    parser.parse(new StringReader(text), baseIRI);
+                }
+            }
+            catch (RDFParseException e) {
+                long line = e.getLineNumber() < 0 ? -1 : firstLine + e.getLineNumber() - 1;
+                throw new RDFParseException(
+                    "Error parsing " +rdfFile.getName()+ " near line " +line+ ": " +e.getMessage(), e, line, -1);
+            }
+            finally {
+                pendingChunks.release();
+            }
+            return null;
+        }
+
+    }
+
+    private class BatchingHandler extends AbstractRDFHandler {
+
+        private BlockingQueue<List<Statement>> batches;
+        private List<Statement> batch = new ArrayList<>();
+
+        BatchingHandler(BlockingQueue<List<Statement>> batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public void handleStatement(Statement statement) throws RDFHandlerException {
+            batch.add(statement);
+            if (batch.size() >= batchSize) {
+                putBatch();
+            }
+        }
+
+        @Override
+        public void endRDF() throws RDFHandlerException {
+            if (!batch.isEmpty()) {
+                putBatch();
+            }
+        }
+
+        private void putBatch() throws RDFHandlerException {
+            try {
+                batches.put(batch);
+                batch = new ArrayList<>();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RDFHandlerException("Interrupted while queueing parsed statements", e);
+            }
+        }
+
+    }
+
+    /**
+     * Prefixes the labels of blank nodes, so that the labels of different files do not clash.
+     */
+    private static class FileScopedValueFactory extends SimpleValueFactory {
+
+        private String blankNodePrefix;
+
+        FileScopedValueFactory(String blankNodePrefix) {
+            this.blankNodePrefix = blankNodePrefix;
+        }
+
+        @Override
+        public BNode createBNode(String nodeID) {
+            return super.createBNode(blankNodePrefix + nodeID);
+        }
+
+    }
+
+}
@@ -1,12 +1,11 @@
 package at.ac.univie.mminf.qskos4j.util.vocab;
 
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.junit.Assert;
 import org.eclipse.rdf4j.RDF4JException;
-import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.query.GraphQuery;
-import org.eclipse.rdf4j.query.GraphQueryResult;
 import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
@@ -14,19 +13,106 @@ import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.sail.inferencer.fc.ForwardChainingRDFSInferencer;
+import org.eclipse.rdf4j.sail.NotifyingSail;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public class RepositoryBuilder {
 
-    private final Logger logger = LoggerFactory.getLogger(RepositoryBuilder.class);
+    /**
+     * Storage backend of the evaluation repository. MEMORY keeps all statements (including the inferred ones) on the
+     * heap, NATIVE stores them in B-tree indexes on disk, which is slower but allows for vocabularies that do not fit
+     * into the available memory.
+     */
+    public enum StoreType {MEMORY, NATIVE}
+
+    /**
+     * Entailments added to the evaluation repository. RDFS computes the full RDFS closure while the statements are
+     * loaded, SKOS only materializes the entailments the issues rely on (see {@link SkosMaterializer}) in a single
+     * pass after loading, which results in considerably fewer statements.
+     */
+    public enum Inferencing {RDFS, SKOS}
+
+    /**
+     * Index by subject, by predicate and by object. Issues look up statements by any of these, e.g., HttpURIs scans
+     * all statements, MissingOutLinks looks up a concept as subject and as object.
+     */
+    public final static String DEFAULT_NATIVE_STORE_INDEXES = "spoc,posc,ospc";
+
+    /**
+     * Context of the lexical labels inferred from SKOS-XL labels, which is rebuilt when the labels are updated
+     */
+    public final static IRI SKOSXL_LABELS_CONTEXT = SimpleValueFactory.getInstance().createIRI("urn:qskos:skosxl");
+
+    private final static Logger logger = LoggerFactory.getLogger(RepositoryBuilder.class);
+
+    // data directories of native stores that have not been deleted yet, all removed by a single shutdown hook
+    private final static Set<Path> dataDirs = ConcurrentHashMap.newKeySet();
+    private final static AtomicBoolean deleteOnShutdown = new AtomicBoolean();
 
     private Repository repository;
+    private StoreType storeType = StoreType.MEMORY;
+    private Inferencing inferencing = Inferencing.RDFS;
+    private String nativeStoreIndexes = DEFAULT_NATIVE_STORE_INDEXES;
+    private File dataDirParent;
+    private int loaderThreads = Runtime.getRuntime().availableProcessors();
+    private int transactionSize = RdfLoader.DEFAULT_BATCH_SIZE;
+    private boolean skosXlSupport;
+
+    public void setStoreType(StoreType storeType) {
+        this.storeType = storeType;
+    }
+
+    public void setInferencing(Inferencing inferencing) {
+        this.inferencing = inferencing;
+    }
+
+    /**
+     * @param nativeStoreIndexes comma-separated list of the triple indexes a native store maintains, each a
+     * permutation of the letters s, p, o and c (e.g., "spoc,posc")
+     */
+    public void setNativeStoreIndexes(String nativeStoreIndexes) {
+        this.nativeStoreIndexes = nativeStoreIndexes;
+    }
+
+    /**
+     * @param dataDirParent directory in which the data directory of a native store is created, defaults to the
+     * system's temporary directory
+     */
+    public void setDataDirParent(File dataDirParent) {
+        this.dataDirParent = dataDirParent;
+    }
+
+    /**
+     * @param loaderThreads number of threads that parse the vocabulary files, defaults to the number of available
+     * processors
+     */
+    public void setLoaderThreads(int loaderThreads) {
+        this.loaderThreads = loaderThreads;
+    }
+
+    /**
+     * @param transactionSize maximum number of statements that are added to the repository in one transaction while
+     * loading the vocabulary files, materializing SKOS-XL labels and materializing SKOS entailments
+     */
+    public void setTransactionSize(int transactionSize) {
+        this.transactionSize = transactionSize;
+    }
 
     public Repository setUpFromTestResource(String testFileName) throws RDF4JException, IOException {
         URL conceptsUrl = RepositoryBuilder.class.getResource("/" +testFileName);
@@ -39,14 +125,30 @@ public class RepositoryBuilder {
     public Repository setUpFromFile(File rdfFile, String baseIRI, RDFFormat dataFormat)
         throws RDF4JException, IOException
     {
-        logger.info("Initializing evaluation repository for " +rdfFile.getName()+ "...");
+        return setUpFromFiles(Collections.singletonList(rdfFile), baseIRI, dataFormat);
+    }
+
+    /**
+     * Creates an evaluation repository containing the statements of all passed files. The files are parsed in
+     * parallel, see {@link RdfLoader}.
+     *
+     * @param rdfFiles the vocabulary files
+     * @param baseIRI base IRI to resolve relative IRIs against, if null the IRI of the respective file is used
+     * @param dataFormat format of all files, if null it is determined from each file's name
+     */
+    public Repository setUpFromFiles(List<File> rdfFiles, String baseIRI, RDFFormat dataFormat)
+        throws RDF4JException, IOException
+    {
+        logger.info("Initializing evaluation repository for " +getFileNames(rdfFiles)+ "...");
 
         createRepositoryForFile();
         addSkosOntology();
         RepositoryConnection repCon = repository.getConnection();
 
         try {
-            repCon.add(rdfFile, baseIRI, dataFormat);
+            RdfLoader rdfLoader = new RdfLoader(loaderThreads);
+            rdfLoader.setBatchSize(transactionSize);
+            rdfLoader.load(rdfFiles, baseIRI, dataFormat, repCon);
         }
         catch (Exception e) {
             throw new InvalidRdfException("Could not add RDF data from file to temporary repository");
@@ -55,77 +157,166 @@ public class RepositoryBuilder {
             repCon.close();
         }
 
+        materializeSkosEntailments();
         return repository;
     }
 
-    private void createRepositoryForFile() throws RepositoryException {
-        File tempDir = new File(createDataDirName());
-        repository = new SailRepository(new ForwardChainingRDFSInferencer(new MemoryStore(tempDir)));
+    private String getFileNames(List<File> rdfFiles) {
+        StringBuilder fileNames = new StringBuilder();
+        for (File rdfFile : rdfFiles) {
+            if (fileNames.length() > 0) fileNames.append(", ");
+            fileNames.append(rdfFile.getName());
+        }
+        return fileNames.toString();
+    }
+
+    private void createRepositoryForFile() throws RepositoryException, IOException {
+        NotifyingSail store;
+        skosXlSupport = false;
+
+        if (storeType == StoreType.NATIVE) {
+            File dataDir = createDataDir();
+            logger.info("Storing evaluation repository in " +dataDir+ " (indexes " +nativeStoreIndexes+ ")");
+            store = new NativeStore(dataDir, nativeStoreIndexes);
+        }
+        else {
+            store = new MemoryStore();
+        }
+
+        if (inferencing == Inferencing.SKOS) {
+            repository = new SailRepository(store);
+        }
+        else {
+            repository = new SailRepository(new ForwardChainingRDFSInferencer(store));
+        }
         repository.initialize();
     }
 
-    private void addSkosOntology() throws RDF4JException, IOException {
-        ValueFactory factory = SimpleValueFactory.getInstance();
+    private File createDataDir() throws IOException {
+        Path dataDir = dataDirParent == null
+            ? Files.createTempDirectory("qskos")
+            : Files.createTempDirectory(dataDirParent.toPath(), "qskos");
+
+        if (deleteOnShutdown.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dataDirs.forEach(RepositoryBuilder::deleteRecursively)));
+        }
+        dataDirs.add(dataDir);
+        return dataDir.toFile();
+    }
+
+    /**
+     * Deletes the data directory of a native store created by a RepositoryBuilder, which would otherwise only be
+     * deleted when the JVM exits. Has no effect for other repositories.
+     *
+     * @param repository a repository that has been shut down
+     */
+    public static void deleteDataDir(Repository repository) {
+        File dataDir = repository.getDataDir();
+        if (dataDir != null && dataDirs.remove(dataDir.toPath())) {
+            deleteRecursively(dataDir.toPath());
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        catch (IOException e) {
+            logger.warn("Could not delete repository data directory " + directory);
+        }
+    }
 
-        repository.getConnection().add(
-            new URL(SkosOntology.SKOS_ONTO_IRI),
-            SkosOntology.SKOS_BASE_IRI,
-            RDFFormat.RDFXML,
-            factory.createIRI(SkosOntology.SKOS_ONTO_IRI));
+    private void materializeSkosEntailments() throws RDF4JException {
+        if (inferencing == Inferencing.SKOS) {
+            createSkosMaterializer().materialize();
+        }
     }
 
-    private String createDataDirName() {
-        return System.getProperty("java.io.tmpdir") +
-                File.separator +
-                System.currentTimeMillis();
+    /**
+     * Brings the statements that are not maintained by the repository's inferencer up to date after the repository
+     * has been changed, e.g., by {@link Changeset#applyTo(RepositoryConnection, org.eclipse.rdf4j.model.Resource...)}:
+     * labels inferred from SKOS-XL labels are added if {@link #enableSkosXlSupport()} has been called, and with
+     * {@link Inferencing#SKOS} the inferred statements are removed and materialized again.
+     *
+     * @throws org.eclipse.rdf4j.RDF4JException if the repository could not be updated
+     */
+    public void updateEntailments() throws RDF4JException {
+        if (skosXlSupport) {
+            addSkosXlLabels();
+        }
+        if (inferencing == Inferencing.SKOS) {
+            createSkosMaterializer().rematerialize();
+        }
+    }
+
+    private SkosMaterializer createSkosMaterializer() {
+        return new SkosMaterializer(((SailRepository) repository).getSail(), transactionSize);
+    }
+
+    private void addSkosOntology() throws RDF4JException {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+
+        // added in a single transaction
+        try (RepositoryConnection repCon = repository.getConnection()) {
+            repCon.add(SkosOntology.getInstance().getModel(), factory.createIRI(SkosOntology.SKOS_ONTO_IRI));
+        }
     }
 
     /**
      * If this is called, the local repository is complemented with SKOS lexical labels inferred from SKOSXL definitions
      * as described in the SKOS <a href="http://www.w3.org/TR/skos-reference/#S55">reference document</a> by the axioms
-     * S55-S57
+     * S55-S57. The labels of all three label properties are constructed by a single query whose results are streamed
+     * into the repository in transactions of at most {@link #setTransactionSize(int) transactionSize} statements.
+     * Labels that are not stated explicitly are added to the {@link #SKOSXL_LABELS_CONTEXT}, so that they can be
+     * replaced when the SKOS-XL labels change (see {@link #updateEntailments()}).
      *
      * @throws org.eclipse.rdf4j.RDF4JException if errors when initializing local repository
      */
     public void enableSkosXlSupport()
             throws RDF4JException
     {
-        addSkosXlLabels("skosxl:prefLabel", "skos:prefLabel");
-        addSkosXlLabels("skosxl:altLabel", "skos:altLabel");
-        addSkosXlLabels("skosxl:hiddenLabel", "skos:hiddenLabel");
+        skosXlSupport = true;
+        addSkosXlLabels();
+        materializeSkosEntailments();
     }
 
-    private void addSkosXlLabels(String skosXlProperty, String skosProperty) throws RDF4JException
-    {
-        RepositoryConnection repCon = repository.getConnection();
-
-        try {
-            GraphQuery graphQuery = createSkosXlGraphQuery(repCon, skosXlProperty, skosProperty);
-            GraphQueryResult result = graphQuery.evaluate();
+    private void addSkosXlLabels() throws RDF4JException {
+        try (RepositoryConnection queryCon = repository.getConnection();
+             RepositoryConnection insertCon = repository.getConnection())
+        {
+            // labels of removed or changed SKOS-XL labels must not remain
+            insertCon.clear(SKOSXL_LABELS_CONTEXT);
 
-            while (result.hasNext()) {
-                Statement statement = result.next();
-                repCon.add(statement);
+            BatchingInserter inserter = new BatchingInserter(insertCon, transactionSize, SKOSXL_LABELS_CONTEXT);
+            try {
+                GraphQuery skosXlGraphQuery = createSkosXlGraphQuery(queryCon);
+                skosXlGraphQuery.setIncludeInferred(false);
+                skosXlGraphQuery.evaluate(inserter);
             }
-        }
-        finally {
-            repCon.close();
+            catch (RDF4JException e) {
+                inserter.rollback();
+                throw e;
+            }
+            logger.debug("Added " +inserter.getStatementCount()+ " labels inferred from SKOS-XL labels");
         }
     }
 
-    private GraphQuery createSkosXlGraphQuery(
-            RepositoryConnection connection,
-            String skosXlProperty,
-            String skosProperty) throws RDF4JException
+    private GraphQuery createSkosXlGraphQuery(RepositoryConnection connection) throws RDF4JException
     {
         return connection.prepareGraphQuery(
                 QueryLanguage.SPARQL,
 
                 SparqlPrefix.SKOS +" "+ SparqlPrefix.SKOSXL+
-                        "CONSTRUCT { ?concept "+skosProperty+" ?label }"+
+                        "CONSTRUCT { ?concept ?skosProperty ?label }"+
                         "WHERE {"+
-                        "?concept " +skosXlProperty+ " ?xLabel ."+
-                        "?xLabel skosxl:literalForm ?label"+
+                        "VALUES (?skosXlProperty ?skosProperty) {"+
+                            "(skosxl:prefLabel skos:prefLabel)"+
+                            "(skosxl:altLabel skos:altLabel)"+
+                            "(skosxl:hiddenLabel skos:hiddenLabel)"+
+                        "}"+
+                        "?concept ?skosXlProperty ?xLabel ."+
+                        "?xLabel skosxl:literalForm ?label "+
+                        "FILTER NOT EXISTS {?concept ?skosProperty ?label}"+
                         "}"
         );
     }
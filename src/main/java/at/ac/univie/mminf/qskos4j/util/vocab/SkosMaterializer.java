@@ -0,0 +1,255 @@
+package at.ac.univie.mminf.qskos4j.util.vocab;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.sail.Sail;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.inferencer.InferencerConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Materializes the subset of the RDFS entailments the quality issues rely on, as a cheaper alternative to full RDFS
+ * forward chaining:
+ * <ul>
+ *     <li>reflexive and transitive closure of rdfs:subPropertyOf and rdfs:subClassOf</li>
+ *     <li>statements entailed by super properties, e.g., skos:broader entails skos:broaderTransitive and
+ *     skos:semanticRelation, skos:prefLabel entails rdfs:label</li>
+ *     <li>types entailed by rdfs:domain, rdfs:range and rdfs:subClassOf, e.g., resources in a semantic relation are
+ *     skos:Concepts</li>
+ * </ul>
+ * Typing of every resource as rdfs:Resource and of every predicate as rdf:Property is left out, as are inverse
+ * properties, which RDFS does not entail either.
+ * <p>
+ * The schema is read first, then the explicit statements are processed in a single pass. Entailed statements are
+ * added as inferred statements, so queries that exclude inferred statements are not affected.
+ */
+public class SkosMaterializer {
+
+    private final Logger logger = LoggerFactory.getLogger(SkosMaterializer.class);
+
+    private Sail sail;
+    private int transactionSize;
+    private Map<IRI, Set<IRI>> superProperties, superClasses;
+    private Map<IRI, Set<IRI>> domains = new HashMap<>(), ranges = new HashMap<>();
+    private long inferredCount;
+
+    /**
+     * @param sail store whose connections support adding inferred statements, e.g., a MemoryStore or NativeStore
+     * @param transactionSize maximum number of inferred statements that are added in one transaction
+     */
+    public SkosMaterializer(Sail sail, int transactionSize) {
+        this.sail = sail;
+        this.transactionSize = transactionSize;
+    }
+
+    /**
+     * @return the number of inferred statements added to the store, including already existing ones
+     */
+    public long materialize() throws SailException {
+        return materialize(false);
+    }
+
+    /**
+     * Removes all inferred statements from the store and materializes the entailments of the current statements,
+     * so that entailments of removed statements do not remain.
+     *
+     * @return the number of inferred statements added to the store
+     */
+    public long rematerialize() throws SailException {
+        return materialize(true);
+    }
+
+    private long materialize(boolean clearInferred) throws SailException {
+        inferredCount = 0;
+
+        try (SailConnection readConnection = sail.getConnection()) {
+            readSchema(readConnection);
+
+            InferencerConnection writeConnection = (InferencerConnection) sail.getConnection();
+            try {
+                writeConnection.begin();
+                if (clearInferred) {
+                    writeConnection.clearInferred();
+                }
+                writeSchemaClosure(writeConnection);
+                materializeStatements(readConnection, writeConnection);
+                writeConnection.commit();
+            }
+            finally {
+                writeConnection.close();
+            }
+        }
+
+        logger.info("Materialized " +inferredCount+ " SKOS entailments");
+        return inferredCount;
+    }
+
+    private void readSchema(SailConnection connection) throws SailException {
+        superProperties = computeClosure(readSchemaStatements(connection, RDFS.SUBPROPERTYOF));
+        superClasses = computeClosure(readSchemaStatements(connection, RDFS.SUBCLASSOF));
+
+        for (Map.Entry<IRI, Set<IRI>> domain : readSchemaStatements(connection, RDFS.DOMAIN).entrySet()) {
+            domains.put(domain.getKey(), getSuperClasses(domain.getValue()));
+        }
+        for (Map.Entry<IRI, Set<IRI>> range : readSchemaStatements(connection, RDFS.RANGE).entrySet()) {
+            ranges.put(range.getKey(), getSuperClasses(range.getValue()));
+        }
+    }
+
+    private Map<IRI, Set<IRI>> readSchemaStatements(SailConnection connection, IRI schemaProperty)
+        throws SailException
+    {
+        Map<IRI, Set<IRI>> schema = new HashMap<>();
+
+        try (CloseableIteration<? extends Statement, SailException> statements =
+                 connection.getStatements(null, schemaProperty, null, false))
+        {
+            while (statements.hasNext()) {
+                Statement statement = statements.next();
+                if (statement.getSubject() instanceof IRI && statement.getObject() instanceof IRI) {
+                    IRI subject = (IRI) statement.getSubject(), object = (IRI) statement.getObject();
+                    addToSetMap(schema, subject, object);
+                }
+            }
+        }
+
+        return schema;
+    }
+
+    /**
+     * @return for every resource occurring in the relation, the resources reachable from it, including itself
+     */
+    private Map<IRI, Set<IRI>> computeClosure(Map<IRI, Set<IRI>> relation) {
+        Set<IRI> resources = new HashSet<>(relation.keySet());
+        for (Set<IRI> objects : relation.values()) {
+            resources.addAll(objects);
+        }
+
+        Map<IRI, Set<IRI>> closure = new HashMap<>();
+        for (IRI resource : resources) {
+            Set<IRI> reachable = new LinkedHashSet<>();
+            Deque<IRI> queue = new ArrayDeque<>();
+            reachable.add(resource);
+            queue.add(resource);
+
+            while (!queue.isEmpty()) {
+                Set<IRI> successors = relation.get(queue.poll());
+                if (successors == null) continue;
+
+                for (IRI successor : successors) {
+                    if (reachable.add(successor)) queue.add(successor);
+                }
+            }
+            closure.put(resource, reachable);
+        }
+
+        return closure;
+    }
+
+    private Set<IRI> getSuperClasses(Collection<IRI> classes) {
+        Set<IRI> allClasses = new LinkedHashSet<>();
+        for (IRI clazz : classes) {
+            Set<IRI> closure = superClasses.get(clazz);
+            if (closure == null) {
+                allClasses.add(clazz);
+            }
+            else {
+                allClasses.addAll(closure);
+            }
+        }
+        return allClasses;
+    }
+
+    private void writeSchemaClosure(InferencerConnection connection) throws SailException {
+        writeClosure(connection, superProperties, RDFS.SUBPROPERTYOF);
+        writeClosure(connection, superClasses, RDFS.SUBCLASSOF);
+    }
+
+    private void writeClosure(InferencerConnection connection, Map<IRI, Set<IRI>> closure, IRI schemaProperty)
+        throws SailException
+    {
+        for (Map.Entry<IRI, Set<IRI>> entry : closure.entrySet()) {
+            for (IRI superResource : entry.getValue()) {
+                addInferredStatement(connection, entry.getKey(), schemaProperty, superResource);
+            }
+        }
+    }
+
+    private void materializeStatements(SailConnection readConnection, InferencerConnection writeConnection)
+        throws SailException
+    {
+        try (CloseableIteration<? extends Statement, SailException> statements =
+                 readConnection.getStatements(null, null, null, false))
+        {
+            while (statements.hasNext()) {
+                Statement statement = statements.next();
+                materializeStatement(writeConnection, statement.getSubject(), statement.getPredicate(),
+                    statement.getObject());
+            }
+        }
+    }
+
+    private void materializeStatement(InferencerConnection connection, Resource subject, IRI predicate, Value object)
+        throws SailException
+    {
+        Set<IRI> predicates = superProperties.get(predicate);
+        if (predicates == null) {
+            predicates = Collections.singleton(predicate);
+        }
+
+        for (IRI superProperty : predicates) {
+            if (!superProperty.equals(predicate)) {
+                addInferredStatement(connection, subject, superProperty, object);
+            }
+            if (superProperty.equals(RDF.TYPE) && object instanceof IRI) {
+                addTypes(connection, subject, getSuperClasses(Collections.singleton((IRI) object)));
+            }
+
+            Set<IRI> domainClasses = domains.get(superProperty);
+            if (domainClasses != null) {
+                addTypes(connection, subject, domainClasses);
+            }
+            Set<IRI> rangeClasses = ranges.get(superProperty);
+            if (rangeClasses != null && object instanceof Resource) {
+                addTypes(connection, (Resource) object, rangeClasses);
+            }
+        }
+    }
+
+    private void addTypes(InferencerConnection connection, Resource resource, Set<IRI> types) throws SailException {
+        for (IRI type : types) {
+            addInferredStatement(connection, resource, RDF.TYPE, type);
+        }
+    }
+
+    private void addInferredStatement(InferencerConnection connection, Resource subject, IRI predicate, Value object)
+        throws SailException
+    {
+        connection.addInferredStatement(subject, predicate, object);
+
+        // keeps the size of uncommitted changes bounded for large vocabularies
+        if (++inferredCount % transactionSize == 0) {
+            connection.commit();
+            connection.begin();
+        }
+    }
+
+    private void addToSetMap(Map<IRI, Set<IRI>> map, IRI key, IRI value) {
+        Set<IRI> values = map.get(key);
+        if (values == null) {
+            values = new HashSet<>();
+            map.put(key, values);
+        }
+        values.add(value);
+    }
+
+}
@@ -1,6 +1,7 @@
 package at.ac.univie.mminf.qskos4j.util.vocab;
 
 import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -9,51 +10,52 @@ import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
 
+/**
+ * Provides the SKOS ontology. It is bundled as a classpath resource in binary RDF format, parsed once per JVM and
+ * shared as an immutable model, so no network access is needed.
+ */
 public class SkosOntology {
 
-    private final static Logger logger = LoggerFactory.getLogger(SkosOntology.class);
-
     public final static String SKOS_BASE_IRI = "http://www.w3.org/2004/02/skos/core";
     public final static String SKOS_ONTO_IRI = "http://www.w3.org/2009/08/skos-reference/skos.rdf";
+    public final static String SKOS_ONTO_RESOURCE = "/skos.brf";
+
+    private final static SkosOntology ourInstance = new SkosOntology();
 
-    private static SkosOntology ourInstance = new SkosOntology();
-    private static Repository skosRepo;
+    private final Model skosModel;
+    private Repository skosRepo;
 
     public static SkosOntology getInstance() {
-        if (skosRepo == null) {
-            try {
-                ourInstance.createSkosRepo();
-            }
-            catch (Exception e) {
-                logger.error("Error creating SKOS repository", e);
-            }
-        }
         return ourInstance;
     }
 
-    private void createSkosRepo() throws RDF4JException, IOException {
-        skosRepo = new SailRepository(new MemoryStore());
-        skosRepo.initialize();
+    private SkosOntology() {
+        skosModel = parseSkosModel();
+    }
 
-        RepositoryConnection repCon = skosRepo.getConnection();
-        try {
-            repCon.add(new URL(SKOS_ONTO_IRI),
-                SKOS_BASE_IRI,
-                RDFFormat.RDFXML);
+    private Model parseSkosModel() {
+        try (InputStream skosOnto = SkosOntology.class.getResourceAsStream(SKOS_ONTO_RESOURCE)) {
+            if (skosOnto == null) {
+                throw new IllegalStateException("SKOS ontology resource " +SKOS_ONTO_RESOURCE+ " not found");
+            }
+            return Rio.parse(skosOnto, SKOS_BASE_IRI, RDFFormat.BINARY).unmodifiable();
         }
-        finally {
-            repCon.close();
+        catch (IOException e) {
+            throw new IllegalStateException("Could not read SKOS ontology resource " +SKOS_ONTO_RESOURCE, e);
         }
     }
 
-    private SkosOntology() {
+    /**
+     * @return the statements of the SKOS ontology, the returned model cannot be modified
+     */
+    public Model getModel() {
+        return skosModel;
     }
 
     public IRI getUri(String element) {
@@ -61,7 +63,23 @@ public class SkosOntology {
         return factory.createIRI(SKOS_BASE_IRI +"#"+ element);
     }
 
-    public Repository getRepository() {
+    /**
+     * @return an in-memory repository containing the SKOS ontology, created from the shared model on first access
+     */
+    public synchronized Repository getRepository() throws RDF4JException {
+        if (skosRepo == null) {
+            Repository repository = new SailRepository(new MemoryStore());
+            repository.initialize();
+
+            RepositoryConnection repCon = repository.getConnection();
+            try {
+                repCon.add(skosModel);
+            }
+            finally {
+                repCon.close();
+            }
+            skosRepo = repository;
+        }
         return skosRepo;
     }
 
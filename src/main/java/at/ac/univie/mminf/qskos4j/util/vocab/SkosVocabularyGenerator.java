@@ -0,0 +1,453 @@
+package at.ac.univie.mminf.qskos4j.util.vocab;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
+
+import java.io.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes synthetic SKOS vocabularies of arbitrary size, e.g., to test the quality issues for correctness and
+ * scalability. The concepts of each concept scheme are arranged in trees of the configured depth and branching
+ * factor, are labeled in the configured number of languages and are mapped to external resources at the configured
+ * density. Apart from that the vocabulary is free of quality problems unless defects are injected by
+ * {@link #setDefectRate(Defect, double)}. Statements are written one after another, so the size of the vocabulary is
+ * not limited by the available memory. The output is reproducible for the same settings and random seed.
+ */
+public class SkosVocabularyGenerator {
+
+    /**
+     * Quality problems that can be injected into the generated vocabulary, each associated with the id of the issue
+     * that detects it. A defect's rate refers to the concepts (or concept schemes) that are eligible for it, e.g.,
+     * hierarchical redundancy can only be injected into concepts on the third level or below.
+     */
+    public enum Defect {
+        OMITTED_LANGUAGE_TAGS("oilt"),
+        INCOMPLETE_LANGUAGE_COVERAGE("ilc"),
+        UNDOCUMENTED_CONCEPTS("uc"),
+        MISSING_LABELS("ml"),
+        OVERLAPPING_LABELS("ol"),
+        ORPHAN_CONCEPTS("oc"),
+        DISCONNECTED_CONCEPT_CLUSTERS("dcc"),
+        HIERARCHICAL_CYCLES("chr"),
+        VALUELESS_ASSOCIATIVE_RELATIONS("var"),
+        SOLELY_TRANSITIVELY_RELATED_CONCEPTS("strc"),
+        OMITTED_TOP_CONCEPTS("otc"),
+        TOP_CONCEPTS_HAVING_BROADER_CONCEPTS("tchbc"),
+        HIERARCHICAL_REDUNDANCY("hr"),
+        MAPPING_RELATIONS_MISUSE("mri"),
+        REFLEXIVELY_RELATED_CONCEPTS("rrc"),
+        AMBIGUOUS_NOTATION_REFERENCES("anr"),
+        UNPRINTABLE_CHARACTERS_IN_LABELS("ucil"),
+        MISSING_OUT_LINKS("mol"),
+        UNDEFINED_SKOS_RESOURCES("usr"),
+        UNIDIRECTIONALLY_RELATED_CONCEPTS("urc"),
+        HTTP_URI_SCHEME_VIOLATIONS("husv"),
+        RELATION_CLASHES("rc"),
+        MAPPING_CLASHES("mc"),
+        INCONSISTENT_PREF_LABELS("ipl"),
+        DISJOINT_LABELS_VIOLATIONS("dlv"),
+        EMPTY_LABELS("el");
+
+        private String issueId;
+
+        Defect(String issueId) {
+            this.issueId = issueId;
+        }
+
+        public String getIssueId() {
+            return issueId;
+        }
+    }
+
+    public final static String DEFAULT_BASE_IRI = "http://vocab.example.org/";
+    public final static String EXTERNAL_BASE_IRI = "http://external.example.com/";
+
+    private final static String[] LANGUAGES = {"en", "de", "fr", "es", "it", "nl", "pt", "sv", "pl", "cs", "fi", "hu"};
+
+    private final ValueFactory factory = SimpleValueFactory.getInstance();
+
+    private String baseIRI = DEFAULT_BASE_IRI;
+    private int conceptCount = 1000, hierarchyDepth = 4, branchingFactor = 5, languageCount = 2, schemeCount = 1;
+    private double mappingDensity = 0.5;
+    private long randomSeed = 0;
+    private Map<Defect, Double> defectRates = new EnumMap<>(Defect.class);
+
+    private RDFWriter writer;
+
+    public void setBaseIRI(String baseIRI) {
+        this.baseIRI = baseIRI;
+    }
+
+    public String getBaseIRI() {
+        return baseIRI;
+    }
+
+    public void setConceptCount(int conceptCount) {
+        this.conceptCount = conceptCount;
+    }
+
+    /**
+     * @param hierarchyDepth number of levels below the top concepts. Additional top concepts are created if the
+     * concepts of a concept scheme do not fit into a single tree of this depth.
+     */
+    public void setHierarchyDepth(int hierarchyDepth) {
+        if (hierarchyDepth < 0) {
+            throw new IllegalArgumentException("Hierarchy depth must not be negative");
+        }
+        this.hierarchyDepth = hierarchyDepth;
+    }
+
+    public void setBranchingFactor(int branchingFactor) {
+        if (branchingFactor < 1) {
+            throw new IllegalArgumentException("Branching factor must be at least 1");
+        }
+        this.branchingFactor = branchingFactor;
+    }
+
+    public void setLanguageCount(int languageCount) {
+        this.languageCount = languageCount;
+    }
+
+    public void setSchemeCount(int schemeCount) {
+        this.schemeCount = schemeCount;
+    }
+
+    /**
+     * @param mappingDensity share of the concepts that are linked to an external resource by skos:exactMatch
+     */
+    public void setMappingDensity(double mappingDensity) {
+        this.mappingDensity = mappingDensity;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * @param rate share of the eligible concepts (or concept schemes) the defect is injected into, between 0 and 1
+     */
+    public void setDefectRate(Defect defect, double rate) {
+        defectRates.put(defect, rate);
+    }
+
+    /**
+     * Writes the vocabulary to a file, choosing the format from the file name extension (e.g., .ttl or .nt).
+     */
+    public void write(File file) throws IOException, RDFHandlerException {
+        RDFFormat format = Rio.getWriterFormatForFileName(file.getName()).orElseThrow(
+            Rio.unsupportedFormat(file.getName()));
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(out, format);
+        }
+    }
+
+    public void write(OutputStream out, RDFFormat format) throws RDFHandlerException, UnsupportedRDFormatException {
+        writer = Rio.createWriter(format, out);
+
+        writer.startRDF();
+        writer.handleNamespace("skos", SKOS.NAMESPACE);
+        writer.handleNamespace("dcterms", DCTERMS.NAMESPACE);
+
+        int firstConcept = 0;
+        for (int scheme = 0; scheme < schemeCount; scheme++) {
+            int schemeConceptCount = conceptCount / schemeCount + (scheme < conceptCount % schemeCount ? 1 : 0);
+            writeScheme(scheme, firstConcept, schemeConceptCount);
+            firstConcept += schemeConceptCount;
+        }
+
+        writer.endRDF();
+    }
+
+    private void writeScheme(int scheme, int firstConcept, int schemeConceptCount) {
+        IRI schemeIri = factory.createIRI(baseIRI + "scheme/" + scheme);
+        writeStatement(schemeIri, RDF.TYPE, SKOS.CONCEPT_SCHEME);
+        writeStatement(schemeIri, DCTERMS.TITLE, factory.createLiteral("Concept scheme " + scheme, LANGUAGES[0]));
+
+        boolean omitTopConcepts = inject(Defect.OMITTED_TOP_CONCEPTS, scheme);
+        int treeSize = getTreeSize(schemeConceptCount);
+
+        for (int position = 0; position < schemeConceptCount; position++) {
+            ConceptPosition concept = new ConceptPosition(firstConcept, schemeConceptCount, treeSize, position);
+            writeStatement(concept.iri, RDF.TYPE, SKOS.CONCEPT);
+            writeStatement(concept.iri, SKOS.IN_SCHEME, schemeIri);
+
+            if (concept.isTopConcept() && !omitTopConcepts) {
+                writeStatement(schemeIri, SKOS.HAS_TOP_CONCEPT, concept.iri);
+                writeStatement(concept.iri, SKOS.TOP_CONCEPT_OF, schemeIri);
+            }
+
+            writeLabels(concept);
+            writeDocumentation(concept);
+            writeRelations(concept);
+        }
+    }
+
+    /**
+     * @return number of concepts in a tree of the configured depth. Stops counting once the tree holds all concepts of
+     * the scheme, as every larger tree results in the same hierarchy, so that deep or wide trees can't overflow.
+     */
+    private int getTreeSize(int schemeConceptCount) {
+        long treeSize = 1, levelSize = 1;
+        for (int level = 1; level <= hierarchyDepth && treeSize < schemeConceptCount; level++) {
+            levelSize *= branchingFactor;
+            treeSize += levelSize;
+        }
+        return (int) Math.min(treeSize, Integer.MAX_VALUE);
+    }
+
+    private void writeLabels(ConceptPosition concept) {
+        String firstLanguage = LANGUAGES[0];
+        String label = "concept " + concept.number;
+
+        if (!inject(Defect.MISSING_LABELS, concept.number)) {
+            int labeledLanguages = languageCount > 1 && inject(Defect.INCOMPLETE_LANGUAGE_COVERAGE, concept.number)
+                ? languageCount - 1
+                : languageCount;
+
+            for (int language = 0; language < labeledLanguages; language++) {
+                writeStatement(concept.iri, SKOS.PREF_LABEL, factory.createLiteral(
+                    label + " " + getLanguage(language), getLanguage(language)));
+            }
+
+            if (concept.number > 0 && inject(Defect.OVERLAPPING_LABELS, concept.number)) {
+                writeStatement(concept.iri, SKOS.ALT_LABEL, factory.createLiteral(
+                    "concept " + (concept.number - 1) + " " + firstLanguage, firstLanguage));
+            }
+            if (inject(Defect.INCONSISTENT_PREF_LABELS, concept.number)) {
+                writeStatement(concept.iri, SKOS.PREF_LABEL, factory.createLiteral(label + " variant", firstLanguage));
+            }
+            if (inject(Defect.DISJOINT_LABELS_VIOLATIONS, concept.number)) {
+                writeStatement(concept.iri, SKOS.ALT_LABEL, factory.createLiteral(
+                    label + " " + firstLanguage, firstLanguage));
+            }
+        }
+
+        if (inject(Defect.OMITTED_LANGUAGE_TAGS, concept.number)) {
+            writeStatement(concept.iri, SKOS.ALT_LABEL, factory.createLiteral("term " + concept.number));
+        }
+        else {
+            writeStatement(concept.iri, SKOS.ALT_LABEL, factory.createLiteral(
+                "term " + concept.number, firstLanguage));
+        }
+
+        if (inject(Defect.UNPRINTABLE_CHARACTERS_IN_LABELS, concept.number)) {
+            writeStatement(concept.iri, SKOS.HIDDEN_LABEL, factory.createLiteral(
+                "term\u0007" + concept.number, firstLanguage));
+        }
+        if (inject(Defect.EMPTY_LABELS, concept.number)) {
+            writeStatement(concept.iri, SKOS.HIDDEN_LABEL, factory.createLiteral("", firstLanguage));
+        }
+    }
+
+    private String getLanguage(int language) {
+        return language < LANGUAGES.length ? LANGUAGES[language] : "x-lang" + language;
+    }
+
+    private void writeDocumentation(ConceptPosition concept) {
+        if (!inject(Defect.UNDOCUMENTED_CONCEPTS, concept.number)) {
+            writeStatement(concept.iri, SKOS.DEFINITION, factory.createLiteral(
+                "Definition of concept " + concept.number, LANGUAGES[0]));
+        }
+
+        int notation = concept.number > 0 && inject(Defect.AMBIGUOUS_NOTATION_REFERENCES, concept.number)
+            ? concept.number - 1
+            : concept.number;
+        writeStatement(concept.iri, SKOS.NOTATION, factory.createLiteral("N" + notation));
+    }
+
+    private void writeRelations(ConceptPosition concept) {
+        boolean isLeaf = concept.isLeaf();
+
+        if (isLeaf && !concept.isTopConcept() && inject(Defect.ORPHAN_CONCEPTS, concept.number)) {
+            writeStatement(concept.iri, RDFS.SEEALSO, externalPage(concept));
+            return;
+        }
+        if (isLeaf && !concept.isTopConcept() && inject(Defect.DISCONNECTED_CONCEPT_CLUSTERS, concept.number)) {
+            writeStatement(concept.iri, SKOS.EXACT_MATCH, externalResource(concept));
+            return;
+        }
+
+        if (!concept.isTopConcept()) {
+            writeStatement(concept.iri, SKOS.BROADER, concept.parent);
+            if (!inject(Defect.UNIDIRECTIONALLY_RELATED_CONCEPTS, concept.number)) {
+                writeStatement(concept.parent, SKOS.NARROWER, concept.iri);
+            }
+        }
+        else {
+            // connects the trees of all concept schemes, which would otherwise be disconnected clusters
+            writeStatement(concept.iri, SKOS.CLOSE_MATCH, factory.createIRI(EXTERNAL_BASE_IRI + "topic"));
+
+            if (concept.previousTopConcept != null &&
+                inject(Defect.TOP_CONCEPTS_HAVING_BROADER_CONCEPTS, concept.number))
+            {
+                writeStatement(concept.iri, SKOS.BROADER, concept.previousTopConcept);
+                writeStatement(concept.previousTopConcept, SKOS.NARROWER, concept.iri);
+            }
+        }
+
+        if (concept.grandParent != null && inject(Defect.HIERARCHICAL_CYCLES, concept.number)) {
+            writeStatement(concept.parent, SKOS.BROADER, concept.iri);
+            writeStatement(concept.iri, SKOS.NARROWER, concept.parent);
+        }
+        if (concept.parent != null && inject(Defect.RELATION_CLASHES, concept.number)) {
+            writeSymmetricStatement(concept.iri, SKOS.RELATED, concept.parent);
+        }
+        if (concept.grandParent != null && inject(Defect.HIERARCHICAL_REDUNDANCY, concept.number)) {
+            writeStatement(concept.iri, SKOS.BROADER, concept.grandParent);
+            writeStatement(concept.grandParent, SKOS.NARROWER, concept.iri);
+        }
+        if (concept.parent != null &&
+            concept.otherTreeTopConcept != null &&
+            inject(Defect.SOLELY_TRANSITIVELY_RELATED_CONCEPTS, concept.number))
+        {
+            writeStatement(concept.iri, SKOS.BROADER_TRANSITIVE, concept.otherTreeTopConcept);
+            writeStatement(concept.otherTreeTopConcept, SKOS.NARROWER_TRANSITIVE, concept.iri);
+        }
+        if (concept.previousSibling != null && inject(Defect.VALUELESS_ASSOCIATIVE_RELATIONS, concept.number)) {
+            writeSymmetricStatement(concept.iri, SKOS.RELATED, concept.previousSibling);
+        }
+        if (concept.previousSibling != null && inject(Defect.MAPPING_RELATIONS_MISUSE, concept.number)) {
+            writeSymmetricStatement(concept.iri, SKOS.EXACT_MATCH, concept.previousSibling);
+        }
+        if (inject(Defect.REFLEXIVELY_RELATED_CONCEPTS, concept.number)) {
+            writeStatement(concept.iri, SKOS.RELATED, concept.iri);
+        }
+        if (inject(Defect.UNDEFINED_SKOS_RESOURCES, concept.number)) {
+            writeStatement(concept.iri, factory.createIRI(SKOS.NAMESPACE, "subject"), concept.iri);
+        }
+        if (inject(Defect.HTTP_URI_SCHEME_VIOLATIONS, concept.number)) {
+            IRI urn = factory.createIRI("urn:x-vocab:concept:" + concept.number);
+            writeSymmetricStatement(concept.iri, SKOS.CLOSE_MATCH, urn);
+        }
+
+        writeMappings(concept);
+    }
+
+    private void writeMappings(ConceptPosition concept) {
+        if (inject(Defect.MISSING_OUT_LINKS, concept.number)) {
+            return;
+        }
+
+        boolean mapped = draw(0, concept.number) < mappingDensity;
+        if (mapped) {
+            writeStatement(concept.iri, SKOS.EXACT_MATCH, externalResource(concept));
+        }
+        if (inject(Defect.MAPPING_CLASHES, concept.number)) {
+            IRI external = externalResource(concept);
+            if (!mapped) {
+                writeStatement(concept.iri, SKOS.EXACT_MATCH, external);
+            }
+            writeStatement(concept.iri, SKOS.RELATED_MATCH, external);
+        }
+        if (!mapped) {
+            writeStatement(concept.iri, RDFS.SEEALSO, externalPage(concept));
+        }
+    }
+
+    private IRI externalResource(ConceptPosition concept) {
+        return factory.createIRI(EXTERNAL_BASE_IRI + "concept/" + concept.number);
+    }
+
+    private IRI externalPage(ConceptPosition concept) {
+        return factory.createIRI(EXTERNAL_BASE_IRI + "page/" + concept.number);
+    }
+
+    /**
+     * Decides whether a defect is injected into a concept (or concept scheme) by hashing the random seed, the defect
+     * and the concept number. Decisions are therefore independent of each other, so changing the rate of one defect
+     * does not move the others to different concepts.
+     */
+    private boolean inject(Defect defect, int number) {
+        Double rate = defectRates.get(defect);
+        return rate != null && draw(defect.ordinal() + 1, number) < rate;
+    }
+
+    private double draw(int stream, int number) {
+        long hash = randomSeed + stream * 0x9E3779B97F4A7C15L + number * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private void writeSymmetricStatement(IRI subject, IRI predicate, IRI object) {
+        writeStatement(subject, predicate, object);
+        writeStatement(object, predicate, subject);
+    }
+
+    private void writeStatement(IRI subject, IRI predicate, Value object) {
+        writer.handleStatement(factory.createStatement(subject, predicate, object));
+    }
+
+    /**
+     * Location of a concept in the trees of its concept scheme. The trees are stored like heaps: the children of the
+     * concept at position p of a tree are at positions p * branchingFactor + 1 to p * branchingFactor +
+     * branchingFactor.
+     */
+    private class ConceptPosition {
+        private int number, treePosition, treeSize, schemeConceptCount, position;
+        private IRI iri, parent, grandParent, previousSibling, previousTopConcept, otherTreeTopConcept;
+
+        private ConceptPosition(int firstConcept, int schemeConceptCount, int treeSize, int position) {
+            this.schemeConceptCount = schemeConceptCount;
+            this.treeSize = treeSize;
+            this.position = position;
+
+            number = firstConcept + position;
+            iri = conceptIri(number);
+
+            int treeStart = position - position % treeSize;
+            treePosition = position % treeSize;
+
+            if (treePosition > 0) {
+                int parentPosition = (treePosition - 1) / branchingFactor;
+                parent = conceptIri(firstConcept + treeStart + parentPosition);
+
+                if (parentPosition > 0) {
+                    grandParent = conceptIri(firstConcept + treeStart + (parentPosition - 1) / branchingFactor);
+                }
+                if ((treePosition - 1) % branchingFactor > 0) {
+                    previousSibling = conceptIri(number - 1);
+                }
+            }
+            else if (treeStart > 0) {
+                previousTopConcept = conceptIri(firstConcept + treeStart - treeSize);
+            }
+
+            if (treeStart > 0) {
+                otherTreeTopConcept = conceptIri(firstConcept + treeStart - treeSize);
+            }
+            else if (treeSize < schemeConceptCount) {
+                otherTreeTopConcept = conceptIri(firstConcept + treeSize);
+            }
+        }
+
+        private boolean isTopConcept() {
+            return treePosition == 0;
+        }
+
+        private boolean isLeaf() {
+            long firstChild = (long) treePosition * branchingFactor + 1;
+            return firstChild >= treeSize || position - treePosition + firstChild >= schemeConceptCount;
+        }
+
+        private IRI conceptIri(int number) {
+            return factory.createIRI(baseIRI + "concept/" + number);
+        }
+    }
+
+}
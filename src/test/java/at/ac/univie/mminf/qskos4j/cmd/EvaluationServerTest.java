@@ -0,0 +1,142 @@
+package at.ac.univie.mminf.qskos4j.cmd;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.eclipse.rdf4j.RDF4JException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+
+public class EvaluationServerTest {
+
+	@Rule
+	public TemporaryFolder storeDir = new TemporaryFolder();
+
+	private EvaluationServer server;
+	private String response;
+
+	@Before
+	public void startServer() throws RDF4JException, IOException {
+		this.server = new EvaluationServer(
+				files -> new RepositoryBuilder().setUpFromFiles(files, null,
+						null));
+		this.server.addVocabulary("concepts", Collections.singletonList(new File(
+				getClass().getResource("/concepts.rdf").getFile())));
+		this.server.start(0);
+	}
+
+	@After
+	public void stopServer() {
+		this.server.stop();
+	}
+
+	@Test
+	public void evaluatedResultsCanBeFetched() throws IOException {
+		Assert.assertEquals(404, request("GET", "/vocabularies/concepts/results/c"));
+
+		Assert.assertEquals(200, request("POST", "/vocabularies/concepts/evaluate?issues=c,oc"));
+		Assert.assertTrue(this.response.contains("\"type\":\"summary\",\"issue\":\"c\""));
+		Assert.assertTrue(this.response.contains("\"type\":\"summary\",\"issue\":\"oc\""));
+
+		Assert.assertEquals(200, request("GET", "/vocabularies/concepts/results/oc"));
+		Assert.assertTrue(this.response.startsWith("{\"type\":\"finding\",\"issue\":\"oc\""));
+
+		Assert.assertEquals(200, request("GET", "/vocabularies/concepts/results"));
+		Assert.assertEquals(2, this.response.split("\n").length);
+	}
+
+	@Test
+	public void reloadDiscardsResults() throws IOException {
+		request("POST", "/vocabularies/concepts/evaluate?issues=c");
+
+		Assert.assertEquals(200, request("POST", "/vocabularies/concepts/reload"));
+		Assert.assertTrue(this.response.startsWith("{\"type\":\"vocabulary\",\"id\":\"concepts\""));
+		Assert.assertEquals(404, request("GET", "/vocabularies/concepts/results/c"));
+	}
+
+	@Test
+	public void reloadDeletesDataOfOldNativeStore() throws RDF4JException,
+			IOException {
+		final EvaluationServer nativeStoreServer = new EvaluationServer(
+				files -> {
+					final RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+					repositoryBuilder
+							.setStoreType(RepositoryBuilder.StoreType.NATIVE);
+					repositoryBuilder.setDataDirParent(this.storeDir.getRoot());
+					return repositoryBuilder.setUpFromFiles(files, null, null);
+				});
+		nativeStoreServer.addVocabulary("concepts", Collections
+				.singletonList(new File(getClass().getResource(
+						"/concepts.rdf").getFile())));
+		nativeStoreServer.start(0);
+		try {
+			Assert.assertEquals(1, this.storeDir.getRoot().list().length);
+			final String oldDataDir = this.storeDir.getRoot().list()[0];
+
+			Assert.assertEquals(200, request(nativeStoreServer, "POST",
+					"/vocabularies/concepts/reload"));
+			Assert.assertEquals(1, this.storeDir.getRoot().list().length);
+			Assert.assertFalse(oldDataDir.equals(this.storeDir.getRoot()
+					.list()[0]));
+		} finally {
+			nativeStoreServer.stop();
+		}
+		Assert.assertEquals(0, this.storeDir.getRoot().list().length);
+	}
+
+	@Test
+	public void serverListensOnLoopbackByDefault() {
+		Assert.assertTrue(this.server.getAddress().getAddress()
+				.isLoopbackAddress());
+	}
+
+	@Test
+	public void invalidRequestsAreAnsweredWithErrors() throws IOException {
+		Assert.assertEquals(404, request("GET", "/vocabularies/unknown/results"));
+		Assert.assertEquals(404, request("POST", "/vocabularies/concepts/evaluate?issues=unknown"));
+		Assert.assertEquals(400, request("POST", "/vocabularies/concepts/evaluate"));
+		Assert.assertEquals(405, request("GET", "/vocabularies/concepts/evaluate?issues=c"));
+		Assert.assertTrue(this.response.startsWith("{\"type\":\"error\",\"status\":405"));
+	}
+
+	private int request(final String method, final String path)
+			throws IOException {
+		return request(this.server, method, path);
+	}
+
+	private int request(final EvaluationServer server, final String method,
+			final String path) throws IOException {
+		final HttpURLConnection connection = (HttpURLConnection) new URL(
+				"http://" + EvaluationServer.DEFAULT_HOST + ":"
+				+ server.getPort() + path)
+				.openConnection();
+		connection.setRequestMethod(method);
+
+		final int statusCode = connection.getResponseCode();
+		try (InputStream in = statusCode < 400 ? connection.getInputStream()
+				: connection.getErrorStream()) {
+			final ByteArrayOutputStream body = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				body.write(buffer, 0, length);
+			}
+			this.response = new String(body.toByteArray(),
+					StandardCharsets.UTF_8);
+		}
+		return statusCode;
+	}
+
+}
@@ -0,0 +1,81 @@
+package at.ac.univie.mminf.qskos4j.issues;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class IssueSchedulerTest {
+
+    private Repository repository;
+    private RepositoryConnection sequentialRepCon, parallelRepCon;
+    private QSkos sequentialQSkos, parallelQSkos;
+
+    @Before
+    public void setUp() throws RDF4JException, IOException {
+        repository = new RepositoryBuilder().setUpFromTestResource("components_1.rdf");
+        sequentialRepCon = repository.getConnection();
+        parallelRepCon = repository.getConnection();
+
+        sequentialQSkos = new QSkos();
+        sequentialQSkos.setRepositoryConnection(sequentialRepCon);
+        sequentialQSkos.setAuthResourceIdentifier("concept");
+
+        parallelQSkos = new QSkos();
+        parallelQSkos.setRepositoryConnection(parallelRepCon);
+        parallelQSkos.setAuthResourceIdentifier("concept");
+    }
+
+    @After
+    public void tearDown() throws RDF4JException {
+        sequentialRepCon.close();
+        parallelRepCon.close();
+        repository.shutDown();
+    }
+
+    @Test
+    public void parallelEvaluationMatchesSequentialEvaluation() throws RDF4JException {
+        List<Issue> sequentialIssues = getLocalIssues(sequentialQSkos);
+        List<Issue> parallelIssues = getLocalIssues(parallelQSkos);
+
+        new IssueScheduler(1).evaluate(sequentialIssues);
+        new IssueScheduler(4).evaluate(parallelIssues);
+
+        for (int i = 0; i < sequentialIssues.size(); i++) {
+            Assert.assertEquals(
+                sequentialIssues.get(i).getIssueDescriptor().getId(),
+                describeResult(sequentialIssues.get(i)),
+                describeResult(parallelIssues.get(i)));
+        }
+    }
+
+    private String describeResult(Issue issue) throws RDF4JException {
+        try {
+            return Long.toString(issue.getResult().occurrenceCount());
+        }
+        catch (UnsupportedOperationException e) {
+            return Boolean.toString(issue.getResult().isProblematic());
+        }
+    }
+
+    private List<Issue> getLocalIssues(QSkos qSkos) {
+        List<Issue> localIssues = new ArrayList<>();
+        Collection<Issue> remoteIssues = qSkos.getIssues("bl,mil");
+
+        for (Issue issue : qSkos.getAllIssues()) {
+            if (!remoteIssues.contains(issue)) localIssues.add(issue);
+        }
+        return localIssues;
+    }
+
+}
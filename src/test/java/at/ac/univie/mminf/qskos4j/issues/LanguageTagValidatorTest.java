@@ -0,0 +1,35 @@
+package at.ac.univie.mminf.qskos4j.issues;
+
+import at.ac.univie.mminf.qskos4j.issues.language.util.LanguageTagValidator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LanguageTagValidatorTest {
+
+    private LanguageTagValidator validator = LanguageTagValidator.getInstance();
+
+    @Test
+    public void validTags() {
+        Assert.assertTrue(validator.isValid("en"));
+        Assert.assertTrue(validator.isValid("de-AT"));
+        Assert.assertTrue(validator.isValid("zh-Hant-TW"));
+        Assert.assertTrue(validator.isValid("EN-gb"));
+    }
+
+    @Test
+    public void invalidTags() {
+        Assert.assertFalse(validator.isValid(""));
+        Assert.assertFalse(validator.isValid("english"));
+        Assert.assertFalse(validator.isValid("en_US"));
+        Assert.assertFalse(validator.isValid("xx"));
+    }
+
+    @Test
+    public void cachedOutcomeIsReturnedAgain() {
+        Assert.assertFalse(validator.isValid("xx-1"));
+        Assert.assertFalse(validator.isValid("xx-1"));
+        Assert.assertTrue(validator.isValid("fr"));
+        Assert.assertTrue(validator.isValid("fr"));
+    }
+
+}
@@ -8,10 +8,27 @@ import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.impl.TupleQueryResultImpl;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.base.RepositoryConnectionWrapper;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.lang.reflect.Proxy;
+import java.util.*;
 
 public class MissingInLinksTest {
 
@@ -59,4 +76,165 @@ public class MissingInLinksTest {
         Collection<Resource> conceptsMissingInLinks = missingInLinks.getResult().getData();
         Assert.assertEquals(1, conceptsMissingInLinks.size());
     }
+
+    @Test
+    public void conceptsAreLookedUpInBatches() throws RDF4JException {
+        MissingInLinks localMissingInLinks = createLocalMissingInLinks(5);
+        localMissingInLinks.setQueryBatchSize(2);
+        CountingConnection endpoint = new CountingConnection(createEndpoint(1, 3, 5), null);
+        localMissingInLinks.addRepositoryConnection(endpoint, "endpoint");
+
+        Collection<Resource> conceptsMissingInLinks = localMissingInLinks.getResult().getData();
+        Assert.assertEquals(new HashSet<>(Arrays.asList(concept(2), concept(4))), conceptsMissingInLinks);
+        Assert.assertEquals(3, endpoint.queries.size());
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertEquals(1, countQueriesContaining(endpoint.queries, "<" +concept(i)+ ">"));
+        }
+        Assert.assertEquals(2, countQueriesContaining(endpoint.queries, "> <"));
+    }
+
+    @Test
+    public void inLinksOfAllEndpointsAreCombined() throws RDF4JException {
+        MissingInLinks localMissingInLinks = createLocalMissingInLinks(3);
+        localMissingInLinks.addRepositoryConnection(createEndpoint(1), "endpoint1");
+        localMissingInLinks.addRepositoryConnection(createEndpoint(2), "endpoint2");
+
+        Assert.assertEquals(Collections.singleton(concept(3)), localMissingInLinks.getResult().getData());
+    }
+
+    @Test
+    public void conceptsOfFailedBatchAreNotReported() throws RDF4JException {
+        MissingInLinks localMissingInLinks = createLocalMissingInLinks(4);
+        localMissingInLinks.setQueryBatchSize(2);
+        CountingConnection endpoint = new CountingConnection(createEndpoint(), concept(3).stringValue());
+        localMissingInLinks.addRepositoryConnection(endpoint, "failing");
+
+        Collection<Resource> conceptsMissingInLinks = localMissingInLinks.getResult().getData();
+        Assert.assertEquals(2, conceptsMissingInLinks.size());
+        for (String query : endpoint.queries) {
+            for (int i = 1; i <= 4; i++) {
+                if (query.contains("<" +concept(i)+ ">")) {
+                    Assert.assertEquals(!query.contains(concept(3).stringValue()),
+                        conceptsMissingInLinks.contains(concept(i)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void interruptionFailsEvaluation() throws RDF4JException {
+        MissingInLinks localMissingInLinks = createLocalMissingInLinks(2);
+        localMissingInLinks.addRepositoryConnection(createEndpoint(), "endpoint");
+
+        Thread.currentThread().interrupt();
+        try {
+            localMissingInLinks.getResult();
+            Assert.fail();
+        }
+        catch (IllegalStateException e) {
+            Assert.assertTrue(Thread.currentThread().isInterrupted());
+        }
+        finally {
+            Thread.interrupted();
+        }
+    }
+
+    private int countQueriesContaining(List<String> queries, String queryPart) {
+        int count = 0;
+        for (String query : queries) {
+            if (query.contains(queryPart)) count++;
+        }
+        return count;
+    }
+
+    private MissingInLinks createLocalMissingInLinks(int conceptCount) throws RDF4JException {
+        Repository repository = createRepository();
+        try (RepositoryConnection repCon = repository.getConnection()) {
+            for (int i = 1; i <= conceptCount; i++) {
+                repCon.add(concept(i), RDF.TYPE, SKOS.CONCEPT);
+            }
+        }
+
+        AuthoritativeConcepts localAuthoritativeConcepts = new AuthoritativeConcepts(new InvolvedConcepts());
+        localAuthoritativeConcepts.setAuthResourceIdentifier("vocab.example.org");
+        MissingInLinks localMissingInLinks = new MissingInLinks(localAuthoritativeConcepts);
+        localMissingInLinks.setRepositoryConnection(repository.getConnection());
+        return localMissingInLinks;
+    }
+
+    /**
+     * @return connection to a repository in which the given concepts are referenced by another dataset and all
+     * concepts are referenced by a resource on their own host
+     */
+    private RepositoryConnection createEndpoint(int... referencedConcepts) throws RDF4JException {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        RepositoryConnection repCon = createRepository().getConnection();
+        for (int i = 1; i <= 5; i++) {
+            repCon.add(factory.createIRI("http://vocab.example.org/other" + i), SKOS.RELATED, concept(i));
+        }
+        for (int referencedConcept : referencedConcepts) {
+            repCon.add(factory.createIRI("http://other.example.org/r" + referencedConcept), SKOS.EXACT_MATCH,
+                concept(referencedConcept));
+        }
+        return repCon;
+    }
+
+    private Repository createRepository() throws RDF4JException {
+        Repository repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+        return repository;
+    }
+
+    private IRI concept(int i) {
+        return SimpleValueFactory.getInstance().createIRI("http://vocab.example.org/concept" + i);
+    }
+
+    /**
+     * Records the queries, the results of those that contain the given string break off while they are read
+     */
+    private static class CountingConnection extends RepositoryConnectionWrapper {
+
+        private final List<String> queries = Collections.synchronizedList(new ArrayList<String>());
+        private final String failingQueryPart;
+
+        CountingConnection(RepositoryConnection delegate, String failingQueryPart) {
+            super(delegate.getRepository(), delegate);
+            this.failingQueryPart = failingQueryPart;
+        }
+
+        @Override
+        public TupleQuery prepareTupleQuery(QueryLanguage ql, String query) throws MalformedQueryException {
+            queries.add(query);
+            TupleQuery tupleQuery = super.prepareTupleQuery(ql, query);
+            if (failingQueryPart != null && query.contains(failingQueryPart)) {
+                return (TupleQuery) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {TupleQuery.class},
+                    (proxy, method, args) -> method.getName().equals("evaluate") && args == null ?
+                        new BrokenOffResult(tupleQuery.evaluate()) :
+                        method.invoke(tupleQuery, args));
+            }
+            return tupleQuery;
+        }
+
+    }
+
+    private static class BrokenOffResult extends TupleQueryResultImpl {
+
+        private boolean first = true;
+
+        BrokenOffResult(TupleQueryResult result) {
+            super(result.getBindingNames(), result);
+        }
+
+        @Override
+        public boolean hasNext() throws QueryEvaluationException {
+            if (first) {
+                first = false;
+                return super.hasNext();
+            }
+            throw new QueryEvaluationException("Connection to endpoint lost");
+        }
+
+    }
+
 }
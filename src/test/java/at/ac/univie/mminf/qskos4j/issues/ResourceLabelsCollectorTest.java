@@ -0,0 +1,113 @@
+package at.ac.univie.mminf.qskos4j.issues;
+
+import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelType;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.LabeledConcept;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.ResourceLabelsCollector;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.SimilarityLiteral;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+public class ResourceLabelsCollectorTest {
+
+    private Repository repository;
+    private RepositoryConnection repCon;
+    private ValueFactory factory;
+    private ResourceLabelsCollector resourceLabelsCollector;
+    private IRI conceptA, conceptB, conceptC;
+
+    @Before
+    public void setUp() throws RDF4JException {
+        repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+        repCon = repository.getConnection();
+        factory = repCon.getValueFactory();
+
+        conceptA = factory.createIRI("http://vocab.example.org/conceptA");
+        conceptB = factory.createIRI("http://vocab.example.org/conceptB");
+        conceptC = factory.createIRI("http://vocab.example.org/conceptC");
+
+        repCon.add(conceptA, SKOS.PREF_LABEL, factory.createLiteral("Tree", "en"));
+        repCon.add(conceptA, SKOS.ALT_LABEL, factory.createLiteral("Baum", "de"));
+        repCon.add(conceptB, SKOS.ALT_LABEL, factory.createLiteral("tree", "en"));
+        repCon.add(conceptB, SKOS.HIDDEN_LABEL, factory.createLiteral("tree", "de"));
+        repCon.add(conceptC, SKOS.PREF_LABEL, factory.createIRI("http://vocab.example.org/label"));
+
+        resourceLabelsCollector = new ResourceLabelsCollector();
+        resourceLabelsCollector.setRepositoryConnection(repCon);
+    }
+
+    @After
+    public void tearDown() throws RDF4JException {
+        repCon.close();
+        repository.shutDown();
+    }
+
+    @Test
+    public void labelsAreIndexedByResource() throws RDF4JException {
+        Assert.assertEquals(4, resourceLabelsCollector.getLabeledConcepts().size());
+        Assert.assertEquals(2, resourceLabelsCollector.getLabeledConcepts(conceptA).size());
+        Assert.assertTrue(resourceLabelsCollector.getLabeledConcepts(conceptC).isEmpty());
+        Assert.assertTrue(resourceLabelsCollector.getLabeledConcepts(factory.createIRI("http://unknown")).isEmpty());
+    }
+
+    @Test
+    public void nonLiteralLabelsCountAsLabels() throws RDF4JException {
+        Assert.assertTrue(resourceLabelsCollector.hasLabel(conceptA, LabelType.PREF_LABEL));
+        Assert.assertTrue(resourceLabelsCollector.hasLabel(conceptC, LabelType.PREF_LABEL));
+        Assert.assertFalse(resourceLabelsCollector.hasLabel(conceptB, LabelType.PREF_LABEL));
+        Assert.assertTrue(resourceLabelsCollector.hasLabel(conceptB, LabelType.HIDDEN_LABEL));
+    }
+
+    @Test
+    public void labelsDifferingInCaseAreGrouped() throws RDF4JException {
+        Map<Literal, Collection<LabeledConcept>> groups = resourceLabelsCollector.getLabeledConceptsBySimilarLiteral();
+        Collection<LabeledConcept> englishTrees = groups.get(
+            new SimilarityLiteral(factory.createLiteral("TREE", "en")));
+
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals(2, englishTrees.size());
+        Assert.assertEquals(1, groups.get(new SimilarityLiteral(factory.createLiteral("Tree", "de"))).size());
+
+        Collection<IRI> labeledResources = new HashSet<>();
+        for (LabeledConcept labeledConcept : englishTrees) {
+            labeledResources.add((IRI) labeledConcept.getConcept());
+        }
+        Assert.assertTrue(labeledResources.contains(conceptA));
+        Assert.assertTrue(labeledResources.contains(conceptB));
+    }
+
+    @Test
+    public void changesetReplacesLabelsOfAffectedResources() throws RDF4JException {
+        resourceLabelsCollector.getLabeledConcepts();
+
+        Changeset changeset = new Changeset(
+            Collections.singleton(factory.createStatement(conceptC, SKOS.PREF_LABEL, factory.createLiteral("TREE", "en"))),
+            Collections.singleton(factory.createStatement(conceptA, SKOS.PREF_LABEL, factory.createLiteral("Tree", "en"))));
+        changeset.applyTo(repCon);
+        resourceLabelsCollector.update(changeset);
+
+        Map<Literal, Collection<LabeledConcept>> groups = resourceLabelsCollector.getLabeledConceptsBySimilarLiteral();
+        Assert.assertFalse(resourceLabelsCollector.hasLabel(conceptA, LabelType.PREF_LABEL));
+        Assert.assertEquals(1, resourceLabelsCollector.getLabeledConcepts(conceptC).size());
+        Assert.assertEquals(2, groups.get(new SimilarityLiteral(factory.createLiteral("tree", "en"))).size());
+        Assert.assertEquals(4, resourceLabelsCollector.getLabeledConcepts().size());
+    }
+
+}
@@ -61,4 +61,16 @@ public class SkosXlTest {
 		Assert.assertEquals(1, overlappingLabels.getResult().getData().size());
 	}
 
+	@Test
+	public void labelsAreAddedInSeveralTransactions() throws RDF4JException, IOException {
+		RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+		repositoryBuilder.setTransactionSize(2);
+		Repository repo = repositoryBuilder.setUpFromTestResource("skosxl.rdf");
+		repositoryBuilder.enableSkosXlSupport();
+
+		LexicalRelations lexicalRelations = new LexicalRelations(new InvolvedConcepts());
+		lexicalRelations.setRepositoryConnection(repo.getConnection());
+		Assert.assertEquals(5, lexicalRelations.getResult().getData().intValue());
+	}
+
 }
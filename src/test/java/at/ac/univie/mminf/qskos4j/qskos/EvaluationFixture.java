@@ -0,0 +1,81 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Assert;
+import org.junit.rules.ExternalResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sets up repositories for tests that compare the results of differently configured evaluations. The connections
+ * and repositories are closed after each test and the data directories of native stores are deleted.
+ */
+public class EvaluationFixture extends ExternalResource {
+
+    private List<Repository> repositories = new ArrayList<>();
+    private List<RepositoryConnection> connections = new ArrayList<>();
+
+    /**
+     * @param format format of the vocabulary file, null to guess it from the file name
+     */
+    public Repository setUpFromFile(RepositoryBuilder repositoryBuilder, File vocabularyFile, RDFFormat format)
+        throws RDF4JException, IOException
+    {
+        Repository repository = repositoryBuilder.setUpFromFile(vocabularyFile, null, format);
+        repositories.add(repository);
+        return repository;
+    }
+
+    public RepositoryConnection getConnection(Repository repository) throws RDF4JException {
+        RepositoryConnection repCon = repository.getConnection();
+        connections.add(repCon);
+        return repCon;
+    }
+
+    /**
+     * @return a QSkos instance evaluating the repository the builder has set up
+     */
+    public QSkos createQSkos(RepositoryBuilder repositoryBuilder, Repository repository) throws RDF4JException {
+        QSkos qSkos = new QSkos();
+        qSkos.setRepositoryConnection(getConnection(repository));
+        qSkos.setRepositoryBuilder(repositoryBuilder);
+        return qSkos;
+    }
+
+    public static void assertSameOccurrenceCounts(QSkos expected, QSkos actual, Iterable<String> issueIds)
+        throws RDF4JException
+    {
+        for (String issueId : issueIds) {
+            Assert.assertEquals(issueId,
+                getIssue(expected, issueId).getResult().occurrenceCount(),
+                getIssue(actual, issueId).getResult().occurrenceCount());
+        }
+    }
+
+    public static Issue<?> getIssue(QSkos qSkos, String issueId) {
+        return qSkos.getIssues(issueId).iterator().next();
+    }
+
+    @Override
+    protected void after() {
+        for (RepositoryConnection repCon : connections) {
+            repCon.close();
+        }
+        for (Repository repository : repositories) {
+            repository.shutDown();
+            RepositoryBuilder.deleteDataDir(repository);
+        }
+        connections.clear();
+        repositories.clear();
+    }
+
+}
@@ -0,0 +1,241 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.labels.util.LabelConflict;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator.Defect;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.model.vocabulary.SKOSXL;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+public class IncrementalEvaluationTest {
+
+    private final static String[] INCREMENTAL_ISSUE_IDS = {"c", "ac", "uc", "ml", "ol", "chr", "hr", "rc"};
+
+    private static File oldVersionFile, newVersionFile, oldSkosXlVersionFile, newSkosXlVersionFile;
+    private static Changeset changeset, skosXlChangeset;
+
+    @Rule
+    public EvaluationFixture fixture = new EvaluationFixture();
+
+    @BeforeClass
+    public static void setUp() throws RDF4JException, IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(300);
+        generator.setLanguageCount(2);
+        for (Defect defect : Defect.values()) {
+            generator.setDefectRate(defect, 0.1);
+        }
+
+        oldVersionFile = createTempFile();
+        generator.write(oldVersionFile);
+
+        Model oldVersion = parse(oldVersionFile);
+        Model newVersion = editVocabulary(oldVersion, generator.getBaseIRI());
+        changeset = Changeset.diff(oldVersion, newVersion);
+
+        newVersionFile = createTempFile();
+        write(newVersion, newVersionFile);
+
+        Model oldSkosXlVersion = toSkosXl(oldVersion);
+        Model newSkosXlVersion = editSkosXlLabels(toSkosXl(newVersion));
+        skosXlChangeset = Changeset.diff(oldSkosXlVersion, newSkosXlVersion);
+
+        oldSkosXlVersionFile = createTempFile();
+        write(oldSkosXlVersion, oldSkosXlVersionFile);
+        newSkosXlVersionFile = createTempFile();
+        write(newSkosXlVersion, newSkosXlVersionFile);
+    }
+
+    /**
+     * Replaces the lexical labels by SKOS-XL labels, whose IRIs don't depend on the version of the vocabulary
+     */
+    private static Model toSkosXl(Model vocabulary) {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        Map<IRI, IRI> xlProperties = new HashMap<>();
+        xlProperties.put(SKOS.PREF_LABEL, SKOSXL.PREF_LABEL);
+        xlProperties.put(SKOS.ALT_LABEL, SKOSXL.ALT_LABEL);
+        xlProperties.put(SKOS.HIDDEN_LABEL, SKOSXL.HIDDEN_LABEL);
+
+        Model skosXlVocabulary = new LinkedHashModel();
+        for (Statement statement : vocabulary) {
+            IRI xlProperty = xlProperties.get(statement.getPredicate());
+            if (xlProperty == null || !(statement.getSubject() instanceof IRI)) {
+                skosXlVocabulary.add(statement);
+                continue;
+            }
+
+            IRI label = factory.createIRI(statement.getSubject().stringValue() + "-" +
+                xlProperty.getLocalName() + "-" + Integer.toHexString(statement.getObject().hashCode()));
+            skosXlVocabulary.add(statement.getSubject(), xlProperty, label);
+            skosXlVocabulary.add(label, RDF.TYPE, SKOSXL.LABEL);
+            skosXlVocabulary.add(label, SKOSXL.LITERAL_FORM, statement.getObject());
+        }
+        return skosXlVocabulary;
+    }
+
+    /**
+     * Changes the literal forms of two labels, only the labels but not the labeled concepts are part of the changes
+     */
+    private static Model editSkosXlLabels(Model skosXlVocabulary) {
+        List<Statement> literalForms = new ArrayList<>(skosXlVocabulary.filter(null, SKOSXL.LITERAL_FORM, null));
+        literalForms.sort(Comparator.comparing(statement -> statement.getSubject().stringValue()));
+
+        Model editedVocabulary = new LinkedHashModel(skosXlVocabulary);
+        for (int i = 0; i < 2; i++) {
+            Statement literalForm = literalForms.get(i * 10);
+            editedVocabulary.remove(literalForm);
+            editedVocabulary.add(literalForm.getSubject(), SKOSXL.LITERAL_FORM,
+                literalForms.get(i * 10 + 5).getObject());
+        }
+        return editedVocabulary;
+    }
+
+    private static Model editVocabulary(Model oldVersion, String baseIRI) {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        Model newVersion = new LinkedHashModel(oldVersion);
+
+        List<Resource> concepts = new ArrayList<>(oldVersion.filter(null, RDF.TYPE, SKOS.CONCEPT).subjects());
+        concepts.sort(Comparator.comparing(Resource::stringValue));
+
+        // delete a concept
+        newVersion.remove(concepts.get(0), null, null);
+
+        // label a concept like another one
+        Literal otherLabel = Models.objectLiteral(oldVersion.filter(concepts.get(2), SKOS.PREF_LABEL, null)).get();
+        newVersion.add(concepts.get(1), SKOS.PREF_LABEL, otherLabel);
+
+        // add a hierarchical cycle
+        newVersion.add(concepts.get(3), SKOS.BROADER, concepts.get(4));
+        newVersion.add(concepts.get(4), SKOS.BROADER, concepts.get(3));
+
+        // remove documentation and labels
+        for (IRI documentationProperty : Arrays.asList(SKOS.DEFINITION, SKOS.NOTE, SKOS.SCOPE_NOTE, SKOS.EXAMPLE)) {
+            newVersion.remove(concepts.get(5), documentationProperty, null);
+        }
+        newVersion.remove(concepts.get(6), SKOS.PREF_LABEL, null);
+
+        // add a new concept
+        IRI newConcept = factory.createIRI(baseIRI + "addedConcept");
+        newVersion.add(newConcept, RDF.TYPE, SKOS.CONCEPT);
+        newVersion.add(newConcept, SKOS.BROADER, concepts.get(7));
+
+        return newVersion;
+    }
+
+    @Test
+    public void changesetContainsEdits() {
+        Assert.assertFalse(changeset.isEmpty());
+        Assert.assertFalse(changeset.changesSchema());
+        Assert.assertEquals(5, changeset.getAddedStatements().size());
+    }
+
+    @Test
+    public void incrementalResultsEqualFullEvaluation() throws RDF4JException, IOException {
+        assertIncrementalResultsEqualFullEvaluation(RepositoryBuilder.Inferencing.RDFS);
+    }
+
+    @Test
+    public void incrementalResultsEqualFullEvaluationWithSkosInferencing() throws RDF4JException, IOException {
+        assertIncrementalResultsEqualFullEvaluation(RepositoryBuilder.Inferencing.SKOS);
+    }
+
+    @Test
+    public void incrementalResultsEqualFullEvaluationWithSkosXl() throws RDF4JException, IOException {
+        for (RepositoryBuilder.Inferencing inferencing : RepositoryBuilder.Inferencing.values()) {
+            assertIncrementalResultsEqualFullEvaluation(inferencing, true);
+        }
+    }
+
+    private void assertIncrementalResultsEqualFullEvaluation(RepositoryBuilder.Inferencing inferencing)
+        throws RDF4JException, IOException
+    {
+        assertIncrementalResultsEqualFullEvaluation(inferencing, false);
+    }
+
+    private void assertIncrementalResultsEqualFullEvaluation(RepositoryBuilder.Inferencing inferencing, boolean skosXl)
+        throws RDF4JException, IOException
+    {
+        List<String> issueIds = new ArrayList<>(Arrays.asList(INCREMENTAL_ISSUE_IDS));
+        for (Defect defect : Defect.values()) {
+            issueIds.add(defect.getIssueId());
+        }
+
+        QSkos incremental = createQSkos(skosXl ? oldSkosXlVersionFile : oldVersionFile, inferencing, skosXl);
+        for (String issueId : issueIds) {
+            EvaluationFixture.getIssue(incremental, issueId).getResult();
+        }
+        incremental.applyChangeset(skosXl ? skosXlChangeset : changeset);
+
+        QSkos full = createQSkos(skosXl ? newSkosXlVersionFile : newVersionFile, inferencing, skosXl);
+        EvaluationFixture.assertSameOccurrenceCounts(full, incremental, issueIds);
+
+        for (String issueId : INCREMENTAL_ISSUE_IDS) {
+            Assert.assertEquals(issueId,
+                normalize(EvaluationFixture.getIssue(full, issueId).getResult().getData()),
+                normalize(EvaluationFixture.getIssue(incremental, issueId).getResult().getData()));
+        }
+    }
+
+    private QSkos createQSkos(File vocabularyFile, RepositoryBuilder.Inferencing inferencing, boolean skosXl)
+        throws RDF4JException, IOException
+    {
+        RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+        repositoryBuilder.setInferencing(inferencing);
+        Repository repository = fixture.setUpFromFile(repositoryBuilder, vocabularyFile, null);
+        if (skosXl) {
+            repositoryBuilder.enableSkosXlSupport();
+        }
+        return fixture.createQSkos(repositoryBuilder, repository);
+    }
+
+    private Object normalize(Object data) {
+        if (data instanceof LabelConflict) {
+            return normalize(((LabelConflict) data).getAffectedResources());
+        }
+        if (data instanceof Collection) {
+            Set<Object> normalized = new HashSet<>();
+            for (Object element : (Collection<?>) data) {
+                normalized.add(normalize(element));
+            }
+            return normalized;
+        }
+        return data.toString();
+    }
+
+    private static File createTempFile() throws IOException {
+        File file = File.createTempFile("version", ".nt");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static Model parse(File file) throws RDF4JException, IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return Rio.parse(in, "", RDFFormat.NTRIPLES);
+        }
+    }
+
+    private static void write(Model vocabulary, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            Rio.write(vocabulary, out, RDFFormat.NTRIPLES);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.metrics.IssueMetrics;
+import at.ac.univie.mminf.qskos4j.metrics.MetricsExporter;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class IssueMetricsTest {
+
+    private QSkos qSkos;
+
+    @Before
+    public void setUp() throws RDF4JException, IOException {
+        qSkos = new QSkos();
+        qSkos.setRepositoryConnection(new RepositoryBuilder().setUpFromTestResource("concepts.rdf").getConnection());
+    }
+
+    @Test
+    public void evaluationIsAccountedToEachIssue() throws RDF4JException {
+        getIssue("oc").getResult();
+
+        // involved concepts are read by getStatements(), orphan concepts by a SPARQL query
+        IssueMetrics involvedConcepts = getIssue("c").getMetrics();
+        Assert.assertEquals(1, involvedConcepts.getEvaluations());
+        Assert.assertEquals(0, involvedConcepts.getQueriesEvaluated());
+        Assert.assertTrue(involvedConcepts.getStatementsScanned() > 0);
+        Assert.assertTrue(involvedConcepts.getWallNanos() > 0);
+
+        IssueMetrics orphanConcepts = getIssue("oc").getMetrics();
+        Assert.assertEquals(1, orphanConcepts.getEvaluations());
+        Assert.assertEquals(1, orphanConcepts.getQueriesEvaluated());
+        Assert.assertTrue(orphanConcepts.getSolutionsRead() > 0);
+        Assert.assertEquals(0, orphanConcepts.getStatementsScanned());
+
+        Assert.assertEquals(0, getIssue("ol").getMetrics().getEvaluations());
+    }
+
+    @Test
+    public void cachedResultIsNotMeasuredAgain() throws RDF4JException {
+        getIssue("c").getResult();
+        getIssue("c").getResult();
+
+        Assert.assertEquals(1, getIssue("c").getMetrics().getEvaluations());
+    }
+
+    @Test
+    public void prometheusTextContainsEveryIssue() throws RDF4JException, IOException {
+        getIssue("c").getResult();
+
+        StringWriter out = new StringWriter();
+        MetricsExporter.writePrometheusText(out, qSkos.getIssueMetrics());
+        String text = out.toString();
+
+        Assert.assertTrue(text.contains("# TYPE qskos_issue_queries_evaluated_total counter"));
+        Assert.assertTrue(text.contains("qskos_issue_evaluations_total{issue=\"c\"} 1\n"));
+        Assert.assertTrue(text.contains("qskos_issue_evaluations_total{issue=\"oc\"} 0\n"));
+    }
+
+    private Issue<?> getIssue(String issueId) {
+        return qSkos.getIssues(issueId).iterator().next();
+    }
+
+}
@@ -0,0 +1,155 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.progress.StubProgressMonitor;
+import at.ac.univie.mminf.qskos4j.util.url.LinkChecker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks links against a local HTTP server, which is reachable by the two host names "127.0.0.1" and "localhost".
+ */
+public class LinkCheckerTest {
+
+    private final static long REQUEST_MILLIS = 100;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<Long> requestMillis = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> runningRequestsByHost = new ConcurrentHashMap<>();
+    private final AtomicInteger runningRequests = new AtomicInteger();
+    private final AtomicInteger maxRequestsPerHost = new AtomicInteger(), maxRequests = new AtomicInteger();
+
+    @Before
+    public void startServer() throws IOException {
+        // all interfaces, "localhost" may resolve to the IPv6 loopback address
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        requests.add(method + " " + path);
+        requestMillis.add(System.currentTimeMillis());
+
+        String host = exchange.getRequestHeaders().getFirst("Host").replaceAll(":\\d+$", "");
+        AtomicInteger runningHostRequests = runningRequestsByHost.computeIfAbsent(host, h -> new AtomicInteger());
+        maxRequestsPerHost.accumulateAndGet(runningHostRequests.incrementAndGet(), Math::max);
+        maxRequests.accumulateAndGet(runningRequests.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(REQUEST_MILLIS);
+
+            if (path.startsWith("/nohead") && method.equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+            }
+            else if (path.startsWith("/missing")) {
+                exchange.sendResponseHeaders(404, -1);
+            }
+            else {
+                exchange.getResponseHeaders().set("Content-Type", "text/turtle");
+                exchange.sendResponseHeaders(200, -1);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            runningHostRequests.decrementAndGet();
+            runningRequests.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    @Test
+    public void hostsAreCheckedInParallelAndTheirUrlsOneAfterAnother() throws Exception {
+        List<URL> urls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            urls.add(url("127.0.0.1", "/a" + i));
+            urls.add(url("localhost", "/b" + i));
+        }
+
+        Map<URL, String> contentTypes = check(new LinkChecker(4, 0), urls);
+
+        Assert.assertEquals(urls.size(), contentTypes.size());
+        Assert.assertEquals(1, maxRequestsPerHost.get());
+        Assert.assertEquals(2, maxRequests.get());
+    }
+
+    @Test
+    public void requestsToSameHostAreDelayed() throws Exception {
+        long delayMillis = 150;
+        check(new LinkChecker(4, (int) delayMillis),
+            Arrays.asList(url("127.0.0.1", "/a"), url("127.0.0.1", "/b"), url("127.0.0.1", "/c")));
+
+        Assert.assertEquals(3, requestMillis.size());
+        for (int i = 1; i < requestMillis.size(); i++) {
+            Assert.assertTrue(requestMillis.get(i) - requestMillis.get(i - 1) >= REQUEST_MILLIS + delayMillis - 10);
+        }
+    }
+
+    @Test
+    public void getIsSentIfHeadFails() throws Exception {
+        URL nohead = url("127.0.0.1", "/nohead"), missing = url("127.0.0.1", "/missing");
+        Map<URL, String> contentTypes = check(new LinkChecker(1, 0), Arrays.asList(nohead, missing));
+
+        Assert.assertEquals("text/turtle", contentTypes.get(nohead));
+        Assert.assertNull(contentTypes.get(missing));
+        Assert.assertTrue(requests.containsAll(Arrays.asList(
+            "HEAD /nohead", "GET /nohead", "HEAD /missing", "GET /missing")));
+    }
+
+    @Test
+    public void interruptionIsPropagated() throws Exception {
+        LinkChecker linkChecker = new LinkChecker(1, 0);
+        Thread.currentThread().interrupt();
+        try {
+            linkChecker.checkLinks(Collections.singleton(url("127.0.0.1", "/a")), new StubProgressMonitor());
+            Assert.fail();
+        }
+        catch (InterruptedException e) {
+            // expected
+        }
+        finally {
+            Thread.interrupted();
+            linkChecker.close();
+        }
+    }
+
+    private URL url(String host, String path) throws IOException {
+        return new URL("http", host, server.getAddress().getPort(), path);
+    }
+
+    private Map<URL, String> check(LinkChecker linkChecker, Collection<URL> urls) throws Exception {
+        try {
+            return linkChecker.checkLinks(urls, new StubProgressMonitor());
+        }
+        finally {
+            linkChecker.close();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatus;
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatusCache;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class LinkStatusCacheTest {
+
+    private final static long TTL_MILLIS = 60000;
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void entriesAreSavedAndLoaded() throws IOException {
+        File cacheFile = new File(tempDir.getRoot(), "links.tsv");
+        LinkStatus available = new LinkStatus(
+            "http://example.org/a\\b", 200, "text/html;\tcharset=utf-8", "\"tag\\t\"", "Mon,\r\n 01 Jan 2018", 1234);
+        LinkStatus unavailable = new LinkStatus("http://example.org/missing", 404, null, null, null, 5678);
+
+        LinkStatusCache cache = new LinkStatusCache(cacheFile, TTL_MILLIS);
+        cache.put(available);
+        cache.put(unavailable);
+        cache.save();
+
+        LinkStatusCache loadedCache = new LinkStatusCache(cacheFile, TTL_MILLIS);
+        Assert.assertEquals(2, loadedCache.size());
+        assertEqualStatus(available, loadedCache.get(available.getUrl()));
+        assertEqualStatus(unavailable, loadedCache.get(unavailable.getUrl()));
+    }
+
+    @Test
+    public void malformedLinesAreIgnored() throws IOException {
+        File cacheFile = new File(tempDir.getRoot(), "links.tsv");
+        Files.write(cacheFile.toPath(), Arrays.asList(
+            "# header",
+            "http://example.org/valid\t200\t1234\ttext/html\t\t",
+            "http://example.org/fields\t200\t1234\ttext/html\t",
+            "http://example.org/status\tOK\t1234\ttext/html\t\t",
+            "http://example.org/checked\t200\tyesterday\ttext/html\t\t",
+            "http://example.org/escape\\x\t200\t1234\ttext/html\t\t",
+            "http://example.org/incomplete\t200\t1234\ttext/html\\\t\t"),
+            StandardCharsets.UTF_8);
+
+        LinkStatusCache cache = new LinkStatusCache(cacheFile, TTL_MILLIS);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals("text/html", cache.get("http://example.org/valid").getContentType());
+    }
+
+    @Test
+    public void entriesAreFreshWithinTtl() throws IOException {
+        LinkStatusCache cache = new LinkStatusCache(new File(tempDir.getRoot(), "links.tsv"), TTL_MILLIS);
+        long now = System.currentTimeMillis();
+
+        Assert.assertTrue(cache.isFresh(new LinkStatus("http://example.org/", 200, null, null, null, now)));
+        Assert.assertTrue(cache.isFresh(
+            new LinkStatus("http://example.org/", 200, null, null, null, now - TTL_MILLIS + 1000)));
+        Assert.assertFalse(cache.isFresh(
+            new LinkStatus("http://example.org/", 200, null, null, null, now - TTL_MILLIS - 1000)));
+        Assert.assertFalse(cache.isFresh(null));
+    }
+
+    private void assertEqualStatus(LinkStatus expected, LinkStatus actual) {
+        Assert.assertEquals(expected.getUrl(), actual.getUrl());
+        Assert.assertEquals(expected.getStatusCode(), actual.getStatusCode());
+        Assert.assertEquals(expected.getContentType(), actual.getContentType());
+        Assert.assertEquals(expected.getEtag(), actual.getEtag());
+        Assert.assertEquals(expected.getLastModified(), actual.getLastModified());
+        Assert.assertEquals(expected.getCheckedMillis(), actual.getCheckedMillis());
+    }
+
+}
@@ -0,0 +1,53 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class NativeStoreTest {
+
+    @Rule
+    public EvaluationFixture fixture = new EvaluationFixture();
+
+    @Test
+    public void nativeStoreYieldsSameResultsAsMemoryStore() throws RDF4JException, IOException {
+        QSkos inMemory = evaluate(createRepositoryBuilder(RepositoryBuilder.StoreType.MEMORY));
+        QSkos onDisk = evaluate(createRepositoryBuilder(RepositoryBuilder.StoreType.NATIVE));
+
+        EvaluationFixture.assertSameOccurrenceCounts(
+            inMemory,
+            onDisk,
+            Arrays.asList("c", "sr", "dcc", "chr", "oc", "ol"));
+    }
+
+    @Test(expected = RDF4JException.class)
+    public void invalidIndexesAreRejected() throws RDF4JException, IOException {
+        RepositoryBuilder repositoryBuilder = createRepositoryBuilder(RepositoryBuilder.StoreType.NATIVE);
+        repositoryBuilder.setNativeStoreIndexes("spoc,xyz");
+        evaluate(repositoryBuilder);
+    }
+
+    private RepositoryBuilder createRepositoryBuilder(RepositoryBuilder.StoreType storeType) {
+        RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+        repositoryBuilder.setStoreType(storeType);
+        return repositoryBuilder;
+    }
+
+    private QSkos evaluate(RepositoryBuilder repositoryBuilder) throws RDF4JException, IOException {
+        File vocabFile = new File(NativeStoreTest.class.getResource("/components_1.rdf").getFile());
+        Repository repository = fixture.setUpFromFile(repositoryBuilder, vocabFile, RDFFormat.RDFXML);
+
+        QSkos qSkos = fixture.createQSkos(repositoryBuilder, repository);
+        qSkos.setAuthResourceIdentifier("concept");
+        return qSkos;
+    }
+
+}
@@ -0,0 +1,103 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.progress.AggregatingProgressMonitor;
+import at.ac.univie.mminf.qskos4j.progress.MonitoredIterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProgressMonitorTest {
+
+    private final static int TASK_COUNT = 4, ITEM_COUNT = 20000;
+
+    @Test
+    public void concurrentTasksAreTrackedSeparately() throws Exception {
+        CountingProgressMonitor progressMonitor = new CountingProgressMonitor();
+        final List<Integer> items = Collections.nCopies(ITEM_COUNT, 0);
+        final CyclicBarrier barrier = new CyclicBarrier(TASK_COUNT + 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(TASK_COUNT);
+        List<Future<Integer>> iterations = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            final AggregatingProgressMonitor.Task task = progressMonitor.forTask("task" + i);
+            iterations.add(executor.submit(() -> {
+                int count = 0;
+                Iterator<Integer> it = new MonitoredIterator<>(items, task);
+                while (it.hasNext()) {
+                    it.next();
+                    count++;
+                    if (count == ITEM_COUNT / 2) {
+                        // wait until the progress of all tasks is checked
+                        barrier.await(10, TimeUnit.SECONDS);
+                        barrier.await(10, TimeUnit.SECONDS);
+                    }
+                }
+                return count;
+            }));
+        }
+
+        // all tasks are half done
+        barrier.await();
+        Assert.assertEquals(TASK_COUNT, progressMonitor.getActiveTasks().size());
+        Assert.assertEquals(0.5, progressMonitor.getProgress(), 0.01);
+        barrier.await();
+
+        for (Future<Integer> iteration : iterations) {
+            Assert.assertEquals(ITEM_COUNT, iteration.get().intValue());
+        }
+        executor.shutdown();
+
+        Assert.assertTrue(progressMonitor.getActiveTasks().isEmpty());
+        Assert.assertEquals(TASK_COUNT, progressMonitor.finishedTasks.get());
+        Assert.assertFalse(progressMonitor.concurrentRendering);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            AggregatingProgressMonitor.Task task = progressMonitor.forTask("task" + i);
+            Assert.assertTrue(task.isFinished());
+            Assert.assertEquals(ITEM_COUNT - 1, task.getCompletedSteps());
+            Assert.assertEquals(ITEM_COUNT, task.getTotalSteps());
+        }
+    }
+
+    @Test
+    public void etaIsEstimatedFromThroughput() throws InterruptedException {
+        AggregatingProgressMonitor.Task task = new CountingProgressMonitor().forTask("task");
+        Assert.assertEquals(-1, task.getEtaMillis());
+
+        task.onUpdateProgress(0, 100);
+        Thread.sleep(50);
+        task.onUpdateProgress(50, 100);
+
+        Assert.assertTrue(task.getThroughput() > 0);
+        Assert.assertTrue(task.getEtaMillis() >= 40);
+        Assert.assertEquals(0.5, task.getProgress(), 0.001);
+    }
+
+    private static class CountingProgressMonitor extends AggregatingProgressMonitor {
+
+        private final AtomicInteger renderingThreads = new AtomicInteger(), finishedTasks = new AtomicInteger();
+        private volatile boolean concurrentRendering;
+
+        CountingProgressMonitor() {
+            super(0);
+        }
+
+        @Override
+        protected void render() {
+            if (renderingThreads.incrementAndGet() > 1) concurrentRendering = true;
+            renderingThreads.decrementAndGet();
+        }
+
+        @Override
+        protected void taskFinished(Task task) {
+            finishedTasks.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.RdfLoader;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+public class RdfLoaderTest {
+
+    private final static String BLANK_NODE_SUBJECT_TRIPLE =
+        "_:note <http://www.w3.org/2004/02/skos/core#note> \"first\" .\n";
+    private final static String BLANK_NODE_OBJECT_TRIPLE =
+        "<http://vocab.example.org/c1> <http://www.w3.org/2000/01/rdf-schema#seeAlso> _:note .\n";
+    private final static String BLANK_NODE_TRIPLES = BLANK_NODE_SUBJECT_TRIPLE + BLANK_NODE_OBJECT_TRIPLE;
+
+    @Test
+    public void chunkedFileIsLoadedCompletely() throws RDF4JException, IOException {
+        // the blank node occurs in the first and in the last chunk
+        File vocabFile = createGeneratedFile(RDFFormat.NTRIPLES, BLANK_NODE_SUBJECT_TRIPLE, BLANK_NODE_OBJECT_TRIPLE);
+
+        Model loaded = load(createRdfLoader(), vocabFile);
+        Assert.assertTrue(Models.isomorphic(parse(vocabFile), loaded));
+        Assert.assertEquals(1, loaded.filter(null, RDFS.SEEALSO, null).objects().stream()
+            .filter(object -> object instanceof BNode).distinct().count());
+    }
+
+    @Test
+    public void multipleFilesAreLoaded() throws RDF4JException, IOException {
+        File turtleFile = createGeneratedFile(RDFFormat.TURTLE, "", "");
+        File nTriplesFile = createFile(".nt", BLANK_NODE_TRIPLES);
+
+        Model expected = new LinkedHashModel(parse(turtleFile));
+        expected.addAll(parse(nTriplesFile));
+        Assert.assertTrue(Models.isomorphic(expected, load(createRdfLoader(), turtleFile, nTriplesFile)));
+    }
+
+    @Test
+    public void blankNodesAreScopedToTheirFile() throws RDF4JException, IOException {
+        File firstFile = createFile(".nt", BLANK_NODE_TRIPLES);
+        File secondFile = createFile(".nt", BLANK_NODE_TRIPLES);
+
+        Model loaded = load(createRdfLoader(), firstFile, secondFile);
+        Assert.assertEquals(4, loaded.size());
+    }
+
+    @Test
+    public void xmlFileIsReadAsRdfXml() throws RDF4JException, IOException {
+        File rdfXmlFile = createGeneratedFile(RDFFormat.RDFXML, "", "");
+        File xmlFile = File.createTempFile("loader", ".xml");
+        xmlFile.deleteOnExit();
+        Files.copy(rdfXmlFile.toPath(), xmlFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        Model loaded = load(createRdfLoader(), xmlFile);
+        Assert.assertFalse(loaded.isEmpty());
+        Assert.assertTrue(Models.isomorphic(parse(rdfXmlFile), loaded));
+    }
+
+    @Test
+    public void parseErrorReportsLineInFile() throws IOException {
+        StringBuilder triples = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            triples.append("<http://vocab.example.org/c").append(i).append("> ")
+                .append("<http://www.w3.org/2004/02/skos/core#notation> \"").append(i).append("\" .\n");
+        }
+        triples.append("<http://vocab.example.org/invalid> .\n");
+
+        try {
+            load(createRdfLoader(), createFile(".nt", triples.toString()));
+            Assert.fail();
+        }
+        catch (RDFParseException e) {
+            Assert.assertEquals(21, e.getLineNumber());
+        }
+    }
+
+    private RdfLoader createRdfLoader() {
+        RdfLoader rdfLoader = new RdfLoader(3);
+        rdfLoader.setChunkLines(7);
+        rdfLoader.setBatchSize(5);
+        return rdfLoader;
+    }
+
+    private File createGeneratedFile(RDFFormat format, String leadingText, String trailingText) throws IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(50);
+
+        ByteArrayOutputStream vocabulary = new ByteArrayOutputStream();
+        generator.write(vocabulary, format);
+        return createFile(
+            "." + format.getDefaultFileExtension(),
+            leadingText + new String(vocabulary.toByteArray(), StandardCharsets.UTF_8) + trailingText);
+    }
+
+    private File createFile(String fileExtension, String text) throws IOException {
+        File file = File.createTempFile("loader", fileExtension);
+        file.deleteOnExit();
+
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(text);
+        }
+        return file;
+    }
+
+    private Model parse(File file) throws RDF4JException, IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return Rio.parse(in, file.toURI().toString(), Rio.getParserFormatForFileName(file.getName()).get());
+        }
+    }
+
+    private Model load(RdfLoader rdfLoader, File... files) throws RDF4JException, IOException {
+        Repository repository = new SailRepository(new MemoryStore());
+        repository.initialize();
+
+        RepositoryConnection repCon = repository.getConnection();
+        try {
+            rdfLoader.load(Arrays.asList(files), null, null, repCon);
+            return QueryResults.asModel(repCon.getStatements(null, null, null, false));
+        }
+        finally {
+            repCon.close();
+            repository.shutDown();
+        }
+    }
+
+}
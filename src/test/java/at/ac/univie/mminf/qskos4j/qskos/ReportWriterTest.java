@@ -0,0 +1,68 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.result.CollectionResult;
+import at.ac.univie.mminf.qskos4j.result.JsonReportWriter;
+import at.ac.univie.mminf.qskos4j.result.ReportWriter;
+import at.ac.univie.mminf.qskos4j.result.Result;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ReportWriterTest {
+
+    @Test
+    public void extensiveReportIsFlushedWhileWritten() throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            entries.add("entry" + i);
+        }
+
+        StringWriter report = new StringWriter();
+        ReportWriter reportWriter = new ReportWriter(report, 1024 * 1024, 1000);
+        new CollectionResult<>(entries).generateReport(
+            reportWriter,
+            Result.ReportFormat.TXT,
+            Result.ReportStyle.EXTENSIVE);
+
+        Assert.assertEquals(2500, reportWriter.getEntryCount());
+        Assert.assertTrue(report.toString().endsWith("entry1999\n"));
+
+        reportWriter.close();
+        Assert.assertEquals(String.join("\n", entries), report.toString());
+    }
+
+    @Test
+    public void jsonReportHasOneRecordPerFinding() throws IOException {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        List<IRI> concepts = Arrays.asList(
+            factory.createIRI("http://example.org/a"),
+            factory.createIRI("http://example.org/b"));
+
+        StringWriter report = new StringWriter();
+        JsonReportWriter jsonWriter = new JsonReportWriter(report);
+        jsonWriter.setIssueId("oc");
+        new CollectionResult<>(concepts).generateJsonReport(jsonWriter);
+        jsonWriter.startRecord(JsonReportWriter.SUMMARY_RECORD).field("occurrences", 2L).endRecord();
+        jsonWriter.close();
+
+        Assert.assertEquals(
+            "{\"type\":\"finding\",\"issue\":\"oc\",\"resource\":\"http://example.org/a\"}\n" +
+            "{\"type\":\"finding\",\"issue\":\"oc\",\"resource\":\"http://example.org/b\"}\n" +
+            "{\"type\":\"summary\",\"issue\":\"oc\",\"occurrences\":2}\n",
+            report.toString());
+    }
+
+    @Test
+    public void toStringReturnsShortReport() {
+        Assert.assertEquals("count: 3", new CollectionResult<>(Arrays.asList("a", "b", "c")).toString());
+    }
+
+}
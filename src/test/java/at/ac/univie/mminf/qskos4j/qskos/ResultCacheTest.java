@@ -0,0 +1,184 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.result.CollectionResult;
+import at.ac.univie.mminf.qskos4j.result.Result;
+import at.ac.univie.mminf.qskos4j.result.ResultCache;
+import at.ac.univie.mminf.qskos4j.util.IssueDescriptor;
+import at.ac.univie.mminf.qskos4j.util.vocab.Changeset;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator.Defect;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResultCacheTest {
+
+    // issues that access the web are left out
+    private final static Collection<String> EXTERNAL_ISSUE_IDS = Arrays.asList("mil", "bl");
+
+    private static File vocabularyFile;
+    private static String baseIRI;
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private ResultCache resultCache;
+
+    @BeforeClass
+    public static void setUpVocabulary() throws IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(200);
+        generator.setLanguageCount(2);
+        for (Defect defect : Defect.values()) {
+            generator.setDefectRate(defect, 0.1);
+        }
+
+        vocabularyFile = File.createTempFile("cached", ".nt");
+        vocabularyFile.deleteOnExit();
+        generator.write(vocabularyFile);
+        baseIRI = generator.getBaseIRI();
+    }
+
+    @Before
+    public void setUpCache() throws IOException {
+        resultCache = new ResultCache(cacheDir.getRoot());
+    }
+
+    @Test
+    public void unchangedVocabularyIsReadFromCache() throws RDF4JException, IOException {
+        Map<String, String> computedReports = evaluate(createQSkos());
+        Assert.assertEquals(0, resultCache.getHitCount());
+
+        Map<String, String> cachedReports = evaluate(createQSkos());
+        Assert.assertEquals(computedReports.size(), resultCache.getHitCount());
+        Assert.assertEquals(computedReports, cachedReports);
+    }
+
+    @Test
+    public void changedSettingsAreNotReadFromCache() throws RDF4JException, IOException {
+        getResult(createQSkos(), "ac");
+
+        QSkos qSkos = createQSkos();
+        qSkos.setAuthResourceIdentifier("example.org");
+        getResult(qSkos, "ac");
+
+        // only the involved concepts the authoritative concepts are extracted from
+        Assert.assertEquals(1, resultCache.getHitCount());
+    }
+
+    @Test
+    public void changedVocabularyIsNotReadFromCache() throws RDF4JException, IOException {
+        QSkos qSkos = createQSkos();
+        long orphanConceptCount = getResult(qSkos, "oc").occurrenceCount();
+
+        ValueFactory factory = SimpleValueFactory.getInstance();
+        IRI addedConcept = factory.createIRI(baseIRI + "addedConcept");
+        qSkos.applyChangeset(new Changeset(
+            Collections.singleton(factory.createStatement(addedConcept, RDF.TYPE, SKOS.CONCEPT)),
+            Collections.emptySet()));
+
+        Assert.assertEquals(orphanConceptCount + 1, getResult(qSkos, "oc").occurrenceCount());
+        Assert.assertEquals(0, resultCache.getHitCount());
+    }
+
+    @Test
+    public void issuesAccessingTheWebAreNotCacheable() throws RDF4JException, IOException {
+        QSkos qSkos = createQSkos();
+        for (String issueId : EXTERNAL_ISSUE_IDS) {
+            Assert.assertFalse(qSkos.getIssues(issueId).iterator().next().isCacheable());
+        }
+        Assert.assertTrue(qSkos.getIssues("oc").iterator().next().isCacheable());
+    }
+
+    @Test
+    public void uncacheableIssueIsEvaluatedAgain() throws RDF4JException, IOException {
+        RepositoryConnection repCon = new RepositoryBuilder().setUpFromFile(vocabularyFile, null, null).getConnection();
+
+        for (boolean cacheable : new boolean[] {true, false}) {
+            AtomicInteger invocations = new AtomicInteger();
+            for (int i = 0; i < 2; i++) {
+                CountingIssue issue = new CountingIssue(cacheable, invocations);
+                issue.setRepositoryConnection(repCon);
+                issue.setResultCache(resultCache);
+                issue.getResult();
+            }
+            Assert.assertEquals(cacheable ? 1 : 2, invocations.get());
+        }
+        Assert.assertEquals(1, resultCache.getHitCount());
+    }
+
+    @Test
+    public void resultsWithOtherClassesAreNotRead() {
+        resultCache.put("allowed", new CollectionResult<>(Arrays.asList("label", 1, new BitSet())));
+        resultCache.put("notAllowed", new CollectionResult<>(Collections.singleton(new File("planted"))));
+
+        Assert.assertNotNull(resultCache.get("allowed"));
+        Assert.assertNull(resultCache.get("notAllowed"));
+        Assert.assertEquals(1, resultCache.getMissCount());
+    }
+
+    private QSkos createQSkos() throws RDF4JException, IOException {
+        QSkos qSkos = new QSkos(vocabularyFile);
+        qSkos.setResultCache(resultCache);
+        return qSkos;
+    }
+
+    private Map<String, String> evaluate(QSkos qSkos) throws RDF4JException {
+        Map<String, String> reports = new HashMap<>();
+        for (Issue<?> issue : qSkos.getAllIssues()) {
+            String issueId = issue.getIssueDescriptor().getId();
+            if (!EXTERNAL_ISSUE_IDS.contains(issueId)) {
+                reports.put(issueId, issue.getResult().toString());
+            }
+        }
+        return reports;
+    }
+
+    private Result<?> getResult(QSkos qSkos, String issueId) throws RDF4JException {
+        return qSkos.getIssues(issueId).iterator().next().getResult();
+    }
+
+    private static class CountingIssue extends Issue<CollectionResult<String>> {
+
+        private final boolean cacheable;
+        private final AtomicInteger invocations;
+
+        CountingIssue(boolean cacheable, AtomicInteger invocations) {
+            super(new IssueDescriptor.Builder(
+                "counting", "Counting", "Counts its invocations", IssueDescriptor.IssueType.STATISTICAL).build());
+            this.cacheable = cacheable;
+            this.invocations = invocations;
+        }
+
+        @Override
+        protected CollectionResult<String> invoke() {
+            invocations.incrementAndGet();
+            return new CollectionResult<>(new ArrayList<>(Collections.singleton("result")));
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator.Defect;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SkosInferencingTest {
+
+    private static File vocabFile;
+
+    @Rule
+    public EvaluationFixture fixture = new EvaluationFixture();
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(300);
+        generator.setSchemeCount(4);
+        generator.setHierarchyDepth(2);
+        generator.setBranchingFactor(4);
+        generator.setLanguageCount(3);
+        for (Defect defect : Defect.values()) {
+            generator.setDefectRate(defect, 0.1);
+        }
+
+        vocabFile = File.createTempFile("generated", ".nt");
+        vocabFile.deleteOnExit();
+        generator.write(vocabFile);
+    }
+
+    @Test
+    public void skosInferencingYieldsSameResultsAsRdfsInferencing() throws RDF4JException, IOException {
+        QSkos rdfs = evaluate(createRepositoryBuilder(RepositoryBuilder.Inferencing.RDFS));
+        QSkos skos = evaluate(createRepositoryBuilder(RepositoryBuilder.Inferencing.SKOS));
+
+        List<String> issueIds = new ArrayList<>();
+        for (Defect defect : Defect.values()) {
+            issueIds.add(defect.getIssueId());
+        }
+        EvaluationFixture.assertSameOccurrenceCounts(rdfs, skos, issueIds);
+    }
+
+    @Test
+    public void skosInferencingMaterializesSuperProperties() throws RDF4JException, IOException {
+        RepositoryBuilder repositoryBuilder = createRepositoryBuilder(RepositoryBuilder.Inferencing.SKOS);
+        RepositoryConnection repCon = fixture.getConnection(
+            fixture.setUpFromFile(repositoryBuilder, vocabFile, RDFFormat.NTRIPLES));
+
+        Assert.assertTrue(repCon.hasStatement(null, SKOS.BROADER_TRANSITIVE, null, true));
+        Assert.assertTrue(repCon.hasStatement(null, SKOS.SEMANTIC_RELATION, null, true));
+        Assert.assertFalse(repCon.hasStatement(null, SKOS.SEMANTIC_RELATION, null, false));
+    }
+
+    @Test
+    public void materializationIsIndependentOfTransactionSize() throws RDF4JException, IOException {
+        RepositoryBuilder smallTransactions = createRepositoryBuilder(RepositoryBuilder.Inferencing.SKOS);
+        smallTransactions.setTransactionSize(7);
+
+        Assert.assertEquals(
+            countStatements(createRepositoryBuilder(RepositoryBuilder.Inferencing.SKOS)),
+            countStatements(smallTransactions));
+    }
+
+    private long countStatements(RepositoryBuilder repositoryBuilder) throws RDF4JException, IOException {
+        RepositoryConnection repCon = fixture.getConnection(
+            fixture.setUpFromFile(repositoryBuilder, vocabFile, RDFFormat.NTRIPLES));
+        return Iterations.asList(repCon.getStatements(null, null, null, true)).size();
+    }
+
+    private RepositoryBuilder createRepositoryBuilder(RepositoryBuilder.Inferencing inferencing) {
+        RepositoryBuilder repositoryBuilder = new RepositoryBuilder();
+        repositoryBuilder.setInferencing(inferencing);
+        return repositoryBuilder;
+    }
+
+    private QSkos evaluate(RepositoryBuilder repositoryBuilder) throws RDF4JException, IOException {
+        Repository repository = fixture.setUpFromFile(repositoryBuilder, vocabFile, RDFFormat.NTRIPLES);
+
+        QSkos qSkos = fixture.createQSkos(repositoryBuilder, repository);
+        qSkos.setAuthResourceIdentifier("vocab.example.org");
+        return qSkos;
+    }
+
+}
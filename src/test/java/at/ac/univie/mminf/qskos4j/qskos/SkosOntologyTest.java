@@ -0,0 +1,44 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosOntology;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SkosOntologyTest {
+
+    @Test
+    public void bundledOntologyIsComplete() {
+        Model skosModel = SkosOntology.getInstance().getModel();
+
+        Assert.assertTrue(skosModel.contains(SKOS.CONCEPT, RDF.TYPE, OWL.CLASS));
+        Assert.assertTrue(skosModel.contains(SKOS.BROADER, RDFS.SUBPROPERTYOF, SKOS.BROADER_TRANSITIVE));
+        Assert.assertTrue(skosModel.contains(SKOS.PREF_LABEL, RDFS.SUBPROPERTYOF, RDFS.LABEL));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void bundledOntologyIsImmutable() {
+        SkosOntology.getInstance().getModel().add(
+            SimpleValueFactory.getInstance().createIRI(SkosOntology.SKOS_BASE_IRI + "#Undefined"),
+            RDF.TYPE,
+            OWL.CLASS);
+    }
+
+    @Test
+    public void repositoryContainsOntology() {
+        RepositoryConnection repCon = SkosOntology.getInstance().getRepository().getConnection();
+        try {
+            Assert.assertEquals(SkosOntology.getInstance().getModel().size(), repCon.size());
+        }
+        finally {
+            repCon.close();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.QSkos;
+import at.ac.univie.mminf.qskos4j.issues.Issue;
+import at.ac.univie.mminf.qskos4j.util.vocab.RepositoryBuilder;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator;
+import at.ac.univie.mminf.qskos4j.util.vocab.SkosVocabularyGenerator.Defect;
+import org.eclipse.rdf4j.RDF4JException;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+public class SkosVocabularyGeneratorTest {
+
+    @Test
+    public void cleanVocabularyHasNoDefects() throws RDF4JException, IOException {
+        QSkos qSkos = evaluate(createGenerator(), ".ttl");
+
+        for (Defect defect : Defect.values()) {
+            Issue issue = qSkos.getIssues(defect.getIssueId()).iterator().next();
+            Assert.assertFalse(defect.getIssueId(), issue.getResult().isProblematic());
+        }
+    }
+
+    @Test
+    public void injectedDefectsAreDetected() throws RDF4JException, IOException {
+        SkosVocabularyGenerator generator = createGenerator();
+        for (Defect defect : Defect.values()) {
+            generator.setDefectRate(defect, 0.2);
+        }
+        generator.setDefectRate(Defect.OMITTED_TOP_CONCEPTS, 0.5);
+        generator.setDefectRate(Defect.TOP_CONCEPTS_HAVING_BROADER_CONCEPTS, 1);
+        QSkos qSkos = evaluate(generator, ".nt");
+
+        for (Defect defect : Defect.values()) {
+            Issue issue = qSkos.getIssues(defect.getIssueId()).iterator().next();
+            Assert.assertTrue(defect.getIssueId(), issue.getResult().isProblematic());
+        }
+    }
+
+    @Test
+    public void outputIsReproducible() throws IOException {
+        SkosVocabularyGenerator generator = createGenerator();
+        generator.setDefectRate(Defect.HIERARCHICAL_CYCLES, 0.1);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream(), second = new ByteArrayOutputStream();
+        generator.write(first, RDFFormat.NTRIPLES);
+        generator.write(second, RDFFormat.NTRIPLES);
+        Assert.assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        ByteArrayOutputStream turtle = new ByteArrayOutputStream();
+        generator.write(turtle, RDFFormat.TURTLE);
+        Model nTriplesModel = Rio.parse(new ByteArrayInputStream(first.toByteArray()), "", RDFFormat.NTRIPLES);
+        Model turtleModel = Rio.parse(new ByteArrayInputStream(turtle.toByteArray()), "", RDFFormat.TURTLE);
+        Assert.assertEquals(nTriplesModel, turtleModel);
+    }
+
+    @Test
+    public void deepHierarchyFitsIntoSingleTree() throws IOException {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(50);
+        generator.setHierarchyDepth(32);
+        generator.setBranchingFactor(2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.write(out, RDFFormat.NTRIPLES);
+        Model model = Rio.parse(new ByteArrayInputStream(out.toByteArray()), "", RDFFormat.NTRIPLES);
+
+        Assert.assertEquals(50, model.filter(null, RDF.TYPE, SKOS.CONCEPT).size());
+        Assert.assertEquals(1, model.filter(null, SKOS.TOP_CONCEPT_OF, null).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void branchingFactorMustBePositive() {
+        new SkosVocabularyGenerator().setBranchingFactor(0);
+    }
+
+    private SkosVocabularyGenerator createGenerator() {
+        SkosVocabularyGenerator generator = new SkosVocabularyGenerator();
+        generator.setConceptCount(300);
+        generator.setSchemeCount(4);
+        generator.setHierarchyDepth(2);
+        generator.setBranchingFactor(4);
+        generator.setLanguageCount(3);
+        return generator;
+    }
+
+    private QSkos evaluate(SkosVocabularyGenerator generator, String fileExtension)
+        throws RDF4JException, IOException
+    {
+        File vocabFile = File.createTempFile("generated", fileExtension);
+        vocabFile.deleteOnExit();
+        generator.write(vocabFile);
+
+        RepositoryConnection repCon = new RepositoryBuilder().setUpFromFile(
+            vocabFile,
+            generator.getBaseIRI(),
+            Rio.getParserFormatForFileName(vocabFile.getName()).get()).getConnection();
+
+        QSkos qSkos = new QSkos();
+        qSkos.setAuthResourceIdentifier("vocab.example.org");
+        qSkos.setRepositoryConnection(repCon);
+        return qSkos;
+    }
+
+}
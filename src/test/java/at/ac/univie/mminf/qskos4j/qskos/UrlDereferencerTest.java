@@ -0,0 +1,96 @@
+package at.ac.univie.mminf.qskos4j.qskos;
+
+import at.ac.univie.mminf.qskos4j.util.url.LinkStatus;
+import at.ac.univie.mminf.qskos4j.util.url.UrlDereferencer;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sends conditional requests to a local HTTP server that answers 304 if the ETag matches.
+ */
+public class UrlDereferencerTest {
+
+    private final static String ETAG = "\"v1\"", LAST_MODIFIED = "Mon, 01 Jan 2018 00:00:00 GMT";
+
+    private HttpServer server;
+    private final List<Headers> requestHeaders = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requestHeaders.add(exchange.getRequestHeaders());
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            }
+            else {
+                exchange.getResponseHeaders().set("Content-Type", "text/turtle");
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void unconditionalRequestReturnsValidators() throws IOException {
+        LinkStatus status = new UrlDereferencer().dereference(url(), null);
+
+        Assert.assertTrue(status.isAvailable());
+        Assert.assertEquals("text/turtle", status.getContentType());
+        Assert.assertEquals(ETAG, status.getEtag());
+        Assert.assertEquals(LAST_MODIFIED, status.getLastModified());
+        Assert.assertNull(requestHeaders.get(0).getFirst("If-None-Match"));
+        Assert.assertNull(requestHeaders.get(0).getFirst("If-Modified-Since"));
+    }
+
+    @Test
+    public void notModifiedRevalidatesPreviousStatus() throws IOException {
+        LinkStatus previousStatus = new LinkStatus(url().toString(), 200, "text/turtle", ETAG, LAST_MODIFIED, 1000);
+        long before = System.currentTimeMillis();
+
+        LinkStatus status = new UrlDereferencer().dereference(url(), previousStatus);
+
+        Assert.assertEquals(1, requestHeaders.size());
+        Assert.assertEquals(ETAG, requestHeaders.get(0).getFirst("If-None-Match"));
+        Assert.assertEquals(LAST_MODIFIED, requestHeaders.get(0).getFirst("If-Modified-Since"));
+
+        Assert.assertTrue(status.isAvailable());
+        Assert.assertEquals("text/turtle", status.getContentType());
+        Assert.assertEquals(ETAG, status.getEtag());
+        Assert.assertTrue(status.getCheckedMillis() >= before);
+    }
+
+    @Test
+    public void unavailablePreviousStatusIsNotRevalidated() throws IOException {
+        LinkStatus previousStatus = new LinkStatus(url().toString(), 404, null, ETAG, LAST_MODIFIED, 1000);
+
+        LinkStatus status = new UrlDereferencer().dereference(url(), previousStatus);
+
+        Assert.assertNull(requestHeaders.get(0).getFirst("If-None-Match"));
+        Assert.assertTrue(status.isAvailable());
+    }
+
+    private URL url() throws IOException {
+        return new URL("http", "127.0.0.1", server.getAddress().getPort(), "/concept");
+    }
+
+}
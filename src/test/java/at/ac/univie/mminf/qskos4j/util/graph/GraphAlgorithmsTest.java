@@ -0,0 +1,153 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+public class GraphAlgorithmsTest {
+
+    @Test
+    public void cycleFormsOneStronglyConnectedComponent() {
+        IntGraph<String> graph = createGraph("a", "b", "b", "c", "c", "a", "c", "d");
+        Components components = GraphAlgorithms.findStronglyConnectedComponents(graph);
+
+        Assert.assertEquals(2, components.getComponentCount());
+        Assert.assertEquals(
+            component(graph, components, "a"),
+            component(graph, components, "c"));
+        Assert.assertEquals(3, components.getSize(component(graph, components, "b")));
+        Assert.assertEquals(1, components.getSize(component(graph, components, "d")));
+    }
+
+    @Test
+    public void dagHasOneComponentPerVertexInReverseTopologicalOrder() {
+        IntGraph<String> graph = createGraph("a", "b", "a", "c", "b", "d", "c", "d");
+        Components components = GraphAlgorithms.findStronglyConnectedComponents(graph);
+
+        Assert.assertEquals(4, components.getComponentCount());
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (int e = graph.getFirstEdge(v); e < graph.getEndEdge(v); e++) {
+                Assert.assertTrue(components.getComponent(v) > components.getComponent(graph.getEdgeTarget(e)));
+            }
+        }
+        Assert.assertTrue(GraphAlgorithms.findCycleContainingComponents(graph).isEmpty());
+    }
+
+    @Test
+    public void selfLoopIsACycle() {
+        IntGraph<String> graph = createGraph("a", "a", "a", "b", "b", "c", "c", "b");
+        List<Collection<String>> cycles = GraphAlgorithms.findCycleContainingComponents(graph);
+
+        Assert.assertEquals(2, cycles.size());
+        Assert.assertTrue(cycles.contains(new HashSet<>(Collections.singletonList("a"))));
+        Assert.assertTrue(cycles.contains(new HashSet<>(Arrays.asList("b", "c"))));
+    }
+
+    @Test
+    public void deepGraphDoesNotOverflowStack() {
+        IntGraph.Builder<Integer> builder = new IntGraph.Builder<>(false);
+        for (int i = 0; i < 100000; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        builder.addEdge(100000, 0);
+        IntGraph<Integer> graph = builder.build();
+
+        Assert.assertEquals(1, GraphAlgorithms.findStronglyConnectedComponents(graph).getComponentCount());
+    }
+
+    @Test
+    public void weaklyConnectedComponentsIgnoreDirection() {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        builder.addEdge("a", "b");
+        builder.addEdge("c", "b");
+        builder.addEdge("d", "e");
+        builder.addVertex("f");
+        IntGraph<String> graph = builder.build();
+
+        Components components = GraphAlgorithms.findWeaklyConnectedComponents(graph);
+        List<Collection<String>> vertexSets = components.getVertexSets(graph);
+
+        Assert.assertEquals(3, components.getComponentCount());
+        Assert.assertTrue(vertexSets.contains(new HashSet<>(Arrays.asList("a", "b", "c"))));
+        Assert.assertTrue(vertexSets.contains(new HashSet<>(Arrays.asList("d", "e"))));
+        Assert.assertTrue(vertexSets.contains(new HashSet<>(Collections.singletonList("f"))));
+    }
+
+    @Test
+    public void emptyGraphHasNoComponents() {
+        IntGraph<String> graph = new IntGraph.Builder<String>(false).build();
+
+        Assert.assertEquals(0, GraphAlgorithms.findStronglyConnectedComponents(graph).getComponentCount());
+        Assert.assertEquals(0, GraphAlgorithms.findWeaklyConnectedComponents(graph).getComponentCount());
+        Assert.assertTrue(GraphAlgorithms.findCycleContainingComponents(graph).isEmpty());
+    }
+
+    @Test
+    public void unionFindMergesSets() {
+        UnionFind unionFind = new UnionFind(6);
+        unionFind.union(0, 1);
+        unionFind.union(2, 3);
+        unionFind.union(1, 3);
+        unionFind.union(3, 0);
+
+        Assert.assertEquals(unionFind.find(0), unionFind.find(2));
+        Assert.assertFalse(unionFind.find(0) == unionFind.find(4));
+
+        Components components = unionFind.toComponents();
+        Assert.assertEquals(3, components.getComponentCount());
+        Assert.assertEquals(0, components.getComponent(0));
+        Assert.assertEquals(4, components.getSize(0));
+        Assert.assertEquals(1, components.getComponent(4));
+        Assert.assertEquals(2, components.getComponent(5));
+    }
+
+    @Test
+    public void unionFindShortensPaths() throws ReflectiveOperationException {
+        // union by size of equally sized sets builds a binomial tree, the last element ends up at depth 4
+        UnionFind unionFind = new UnionFind(16);
+        for (int width = 1; width < 16; width *= 2) {
+            for (int i = 0; i < 16; i += 2 * width) {
+                unionFind.union(i, i + width);
+            }
+        }
+
+        int[] parent = getParents(unionFind);
+        Assert.assertEquals(4, getDepth(parent, 15));
+
+        int root = unionFind.find(15);
+        Assert.assertEquals(0, root);
+        Assert.assertEquals(2, getDepth(parent, 15));
+        Assert.assertEquals(root, unionFind.find(15));
+        Assert.assertEquals(1, getDepth(parent, 15));
+    }
+
+    private IntGraph<String> createGraph(String... edges) {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        for (int i = 0; i < edges.length; i += 2) {
+            builder.addEdge(edges[i], edges[i + 1]);
+        }
+        return builder.build();
+    }
+
+    private int component(IntGraph<String> graph, Components components, String vertex) {
+        return components.getComponent(graph.getVertexId(vertex));
+    }
+
+    private int[] getParents(UnionFind unionFind) throws ReflectiveOperationException {
+        Field parentField = UnionFind.class.getDeclaredField("parent");
+        parentField.setAccessible(true);
+        return (int[]) parentField.get(unionFind);
+    }
+
+    private int getDepth(int[] parent, int element) {
+        int depth = 0;
+        while (parent[element] != element) {
+            element = parent[element];
+            depth++;
+        }
+        return depth;
+    }
+
+}
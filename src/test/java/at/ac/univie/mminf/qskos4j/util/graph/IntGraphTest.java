@@ -0,0 +1,127 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class IntGraphTest {
+
+    @Test
+    public void parallelEdgesAreRemovedIfNotAllowed() {
+        IntGraph<String> graph = createGraphWithParallelEdges(false);
+
+        Assert.assertEquals(3, graph.getVertexCount());
+        Assert.assertEquals(3, graph.getEdgeCount());
+        Assert.assertEquals(Arrays.asList("b", "c"), getTargets(graph, "a"));
+        Assert.assertEquals(Arrays.asList("a"), getTargets(graph, "b"));
+    }
+
+    @Test
+    public void parallelEdgesAreKeptIfAllowed() {
+        IntGraph<String> graph = createGraphWithParallelEdges(true);
+
+        Assert.assertEquals(5, graph.getEdgeCount());
+        Assert.assertEquals(Arrays.asList("b", "c", "b", "b"), getTargets(graph, "a"));
+    }
+
+    @Test
+    public void firstOfParallelEdgesKeepsItsLabel() {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        builder.addEdge("a", "b", "broader");
+        builder.addEdge("a", "b", "related");
+        builder.addEdge("a", "c");
+        IntGraph<String> graph = builder.build();
+
+        int a = graph.getVertexId("a");
+        Assert.assertEquals(2, graph.getOutDegree(a));
+        Assert.assertEquals("broader", graph.getEdgeLabel(graph.getFirstEdge(a)));
+        Assert.assertEquals("", graph.getEdgeLabel(graph.getFirstEdge(a) + 1));
+    }
+
+    @Test
+    public void selfLoopsAreDetected() {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        builder.addEdge("a", "a");
+        builder.addEdge("a", "b");
+        builder.addEdge("b", "a");
+        IntGraph<String> graph = builder.build();
+
+        Assert.assertTrue(graph.hasSelfLoop(graph.getVertexId("a")));
+        Assert.assertFalse(graph.hasSelfLoop(graph.getVertexId("b")));
+        Assert.assertEquals(Arrays.asList("a", "b"), getTargets(graph, "a"));
+    }
+
+    @Test
+    public void verticesWithoutEdgesArePartOfTheGraph() {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        builder.addVertex("isolated");
+        builder.addEdge("a", "b");
+        IntGraph<String> graph = builder.build();
+
+        int isolated = graph.getVertexId("isolated");
+        Assert.assertEquals(3, graph.getVertexCount());
+        Assert.assertEquals(0, graph.getOutDegree(isolated));
+        Assert.assertEquals(0, graph.getOutDegree(graph.getVertexId("b")));
+        Assert.assertFalse(graph.hasSelfLoop(isolated));
+    }
+
+    @Test
+    public void emptyGraph() {
+        IntGraph<String> graph = new IntGraph.Builder<String>(false).build();
+
+        Assert.assertEquals(0, graph.getVertexCount());
+        Assert.assertEquals(0, graph.getEdgeCount());
+        Assert.assertFalse(graph.containsVertex("a"));
+        Assert.assertEquals(VertexDictionary.UNKNOWN_ID, graph.getVertexId("a"));
+    }
+
+    @Test
+    public void builderGrowsBeyondInitialCapacity() {
+        IntGraph.Builder<Integer> builder = new IntGraph.Builder<>(true);
+        for (int i = 0; i < 1000; i++) {
+            builder.addEdge(i % 10, i);
+        }
+        IntGraph<Integer> graph = builder.build();
+
+        Assert.assertEquals(1000, graph.getVertexCount());
+        Assert.assertEquals(1000, graph.getEdgeCount());
+        Assert.assertEquals(100, graph.getOutDegree(graph.getVertexId(3)));
+    }
+
+    @Test
+    public void vertexDictionaryAssignsConsecutiveIds() {
+        VertexDictionary<String> dictionary = new VertexDictionary<>();
+
+        Assert.assertEquals(0, dictionary.add("a"));
+        Assert.assertEquals(1, dictionary.add("b"));
+        Assert.assertEquals(0, dictionary.add("a"));
+        Assert.assertEquals(2, dictionary.size());
+        Assert.assertEquals("b", dictionary.getVertex(1));
+        Assert.assertEquals(1, dictionary.getId("b"));
+        Assert.assertEquals(VertexDictionary.UNKNOWN_ID, dictionary.getId("c"));
+        Assert.assertFalse(dictionary.contains("c"));
+    }
+
+    private IntGraph<String> createGraphWithParallelEdges(boolean allowParallelEdges) {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(allowParallelEdges);
+        builder.addEdge("a", "b");
+        builder.addEdge("a", "c");
+        builder.addEdge("b", "a");
+        builder.addEdge("a", "b");
+        builder.addEdge("a", "b");
+        return builder.build();
+    }
+
+    private List<String> getTargets(IntGraph<String> graph, String source) {
+        int sourceId = graph.getVertexId(source);
+        List<String> targets = new ArrayList<>();
+        for (int e = graph.getFirstEdge(sourceId); e < graph.getEndEdge(sourceId); e++) {
+            targets.add(graph.getVertex(graph.getEdgeTarget(e)));
+        }
+        return targets;
+    }
+
+}
@@ -0,0 +1,112 @@
+package at.ac.univie.mminf.qskos4j.util.graph;
+
+import at.ac.univie.mminf.qskos4j.util.Pair;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class ReachabilityIndexTest {
+
+    @Test
+    public void shortcutOverIntermediateComponentIsRedundant() {
+        ReachabilityIndex<String> index = createIndex("a", "b", "b", "c", "a", "c");
+
+        Assert.assertEquals(edges("a", "c"), getRedundantEdges(index));
+    }
+
+    @Test
+    public void severalEdgesIntoSameComponentAreRedundant() {
+        // a1 and a2 form a cycle, both have an edge to x
+        ReachabilityIndex<String> index = createIndex("a1", "a2", "a2", "a1", "a1", "x", "a2", "x");
+
+        Assert.assertEquals(edges("a1", "x", "a2", "x"), getRedundantEdges(index));
+    }
+
+    @Test
+    public void singleEdgeIntoComponentIsNotRedundant() {
+        // x and y form a cycle, so the edges a -> x and a -> y lead into the same component
+        ReachabilityIndex<String> index = createIndex("x", "y", "y", "x", "a", "x", "b", "y");
+
+        Assert.assertTrue(getRedundantEdges(index).isEmpty());
+    }
+
+    @Test
+    public void shortcutWithinComponentIsRedundant() {
+        ReachabilityIndex<String> index = createIndex("a", "b", "b", "c", "c", "a", "a", "c");
+
+        Assert.assertEquals(edges("a", "c"), getRedundantEdges(index));
+    }
+
+    @Test
+    public void searchWithinComponentDoesNotLeaveIt() {
+        // a -> c can only be bypassed through d, which is not part of the cycle
+        ReachabilityIndex<String> index = createIndex("a", "c", "c", "a", "a", "d", "d", "e");
+
+        Assert.assertTrue(getRedundantEdges(index).isEmpty());
+    }
+
+    @Test
+    public void selfLoopsAreNeverRedundant() {
+        ReachabilityIndex<String> index = createIndex("a", "a", "a", "b", "b", "a", "b", "b");
+
+        Assert.assertTrue(getRedundantEdges(index).isEmpty());
+    }
+
+    @Test
+    public void reachabilityFollowsEdgeDirection() {
+        ReachabilityIndex<String> index = createIndex("a", "b", "b", "c", "d", "c");
+
+        Assert.assertTrue(index.isReachable("a", "b"));
+        Assert.assertTrue(index.isReachable("a", "c"));
+        Assert.assertFalse(index.isReachable("c", "a"));
+        Assert.assertFalse(index.isReachable("a", "d"));
+        Assert.assertFalse(index.isReachable("a", "a"));
+    }
+
+    @Test
+    public void verticesOfCycleReachThemselves() {
+        ReachabilityIndex<String> index = createIndex("a", "b", "b", "a", "c", "c", "b", "d");
+
+        Assert.assertTrue(index.isReachable("a", "a"));
+        Assert.assertTrue(index.isReachable("b", "a"));
+        Assert.assertTrue(index.isReachable("a", "d"));
+        Assert.assertTrue(index.isReachable("c", "c"));
+        Assert.assertFalse(index.isReachable("d", "d"));
+    }
+
+    @Test
+    public void unknownVerticesAreNotReachable() {
+        ReachabilityIndex<String> index = createIndex("a", "b");
+
+        Assert.assertTrue(index.contains("a"));
+        Assert.assertFalse(index.contains("x"));
+        Assert.assertFalse(index.isReachable("a", "x"));
+        Assert.assertFalse(index.isReachable("x", "a"));
+    }
+
+    private ReachabilityIndex<String> createIndex(String... edges) {
+        IntGraph.Builder<String> builder = new IntGraph.Builder<>(false);
+        for (int i = 0; i < edges.length; i += 2) {
+            builder.addEdge(edges[i], edges[i + 1]);
+        }
+        return new ReachabilityIndex<>(builder.build());
+    }
+
+    private Set<String> edges(String... vertices) {
+        Set<String> edges = new HashSet<>();
+        for (int i = 0; i < vertices.length; i += 2) {
+            edges.add(vertices[i] + " -> " + vertices[i + 1]);
+        }
+        return edges;
+    }
+
+    private Set<String> getRedundantEdges(ReachabilityIndex<String> index) {
+        Set<String> edges = new HashSet<>();
+        for (Pair<String> edge : index.getRedundantEdges()) {
+            edges.add(edge.getFirst() + " -> " + edge.getSecond());
+        }
+        return edges;
+    }
+
+}